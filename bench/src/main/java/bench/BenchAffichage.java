@@ -0,0 +1,86 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Camera;
+import core.Carte;
+import core.Config;
+import core.GestionnaireGraphiques;
+import core.Heros;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Affichage d'une couche de tuiles ({@link GestionnaireGraphiques#couche}) dans une image hors écran
+ * de la taille de la fenêtre, le héros au centre de la carte.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchAffichage {
+
+	@Param({ "Chateau_Roland_Etage_01", "Arene_Hunter", "Marais_Coacville" })
+	public String carte;
+
+	@Param({ "0", "1", "2" })
+	public int couche;
+
+	private Carte c;
+	private Graphics2D g;
+	private GestionnaireGraphiques dessiner;
+
+	@Setup
+	public void preparer() {
+		c = Donnees.monde().getCarte(carte);
+		if (c == null) throw new IllegalArgumentException("Carte inconnue : " + carte);
+		c.activer(); // chipset décodé avant la mesure
+		final Heros heros = Donnees.heros(c, c.getLargeur() / 2, c.getHauteur() / 2);
+		final Camera camera = new Camera();
+		camera.setCible(heros);
+
+		final BufferedImage ecran = new BufferedImage(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+		g = ecran.createGraphics();
+		final Font police = new Font(Font.DIALOG, Font.PLAIN, 16);
+		final BufferedImage texture = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		dessiner = new GestionnaireGraphiques(camera, heros, police, police, texture, texture);
+	}
+
+	@TearDown
+	public void terminer() {
+		g.dispose();
+		c.desactiver();
+	}
+
+	@Benchmark
+	public void couche() { dessiner.couche(g, couche); }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Carte;
+import core.Chipset;
+import core.Util;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ressources.ChargerCartes;
+
+/**
+ * Chargement : lecture et construction de toutes les cartes du dépôt ({@link ChargerCartes}, chipsets déjà
+ * construits), construction d'un chipset (lecture de l'en-tête de son image) et décodage complet de son image.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchChargement {
+
+	@Param({ "marais2.png" })
+	public String chipset;
+
+	private Donnees.CatalogueBench catalogue;
+
+	@Setup
+	public void preparer() {
+		catalogue = Donnees.monde(); // chipsets, musique et bruitage créés une fois
+		if (catalogue.getChipset(chipset) == null) throw new IllegalArgumentException("Chipset inconnu : " + chipset);
+	}
+
+	@Benchmark
+	public Map<String, Carte> chargerCartes() { return ChargerCartes.get(catalogue); }
+
+	@Benchmark
+	public Chipset construireChipset() { return new Chipset(chipset, Donnees.TAILLE_TUILE); }
+
+	@Benchmark
+	public BufferedImage decoderImageChipset() { return Util.chargerImage("img/" + chipset); }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Carte;
+import core.Chemins;
+import core.Config;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Recherche de chemins sur les plus grandes cartes du dépôt, entre des paires de cases libres reliées tirées au hasard :
+ * recherche complète (cache vidé), chemin déjà en cache, et tick du mode réparti (file toujours pleine,
+ * {@link Config#BUDGET_CHEMINS} nœuds par tick) dont la durée doit rester bornée quelle que soit la demande.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchChemins {
+
+	private static final int NB_PAIRES = 256; // puissance de 2
+	private static final int DEMANDES_PAR_TICK = 64;
+
+	@Param({ "Marais_Coacville", "Sarosa", "Coacville_Marecage_Nord", "Chateau_Roland_Exterieur" })
+	public String carte;
+
+	@Param({ "ASTAR", "JPS" })
+	public Chemins.Algorithme algorithme;
+
+	private Chemins chemins;
+	private final int[] paires = new int[4 * NB_PAIRES]; // xDep, yDep, xArr, yArr
+	private int index = 0, prochaineDemande = 0;
+
+	@Setup
+	public void preparer() {
+		final Carte c = Donnees.monde().getCarte(carte);
+		if (c == null) throw new IllegalArgumentException("Carte inconnue : " + carte);
+		chemins = c.getChemins();
+		chemins.setAlgorithme(algorithme);
+		final Random hasard = new Random(42L);
+		int n = 0;
+		while (n < NB_PAIRES) { // cases libres, arrivée accessible
+			final int x0 = hasard.nextInt(c.getLargeur()), y0 = hasard.nextInt(c.getHauteur());
+			final int x1 = hasard.nextInt(c.getLargeur()), y1 = hasard.nextInt(c.getHauteur());
+			if (c.estMur(y0, x0) || c.estMur(y1, x1) || chemins.trouver(x0, y0, x1, y1) == Chemins.INTROUVABLE) continue;
+			paires[4 * n] = x0; paires[4 * n + 1] = y0; paires[4 * n + 2] = x1; paires[4 * n + 3] = y1;
+			n++;
+		}
+	}
+
+	private int suivante() { return 4 * (index = (index + 1) & (NB_PAIRES - 1)); }
+
+	/** Recherche complète, sans cache **/
+	@Benchmark
+	public int recherche() {
+		final int p = suivante();
+		chemins.vider();
+		final int entree = chemins.trouver(paires[p], paires[p + 1], paires[p + 2], paires[p + 3]);
+		return chemins.getLongueur(entree);
+	}
+
+	/** Paires toutes trouvées lors de la préparation : la plupart restent en cache **/
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public int cache() {
+		final int p = suivante();
+		return chemins.chercher(paires[p], paires[p + 1], paires[p + 2], paires[p + 3]);
+	}
+
+	/** Un tick du mode réparti, la file étant réalimentée à chaque tick **/
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	public int tick() {
+		for (int k = 0; k < DEMANDES_PAR_TICK; k++) {
+			final int p = 4 * (prochaineDemande = (prochaineDemande + 1) & (NB_PAIRES - 1));
+			chemins.chercher(paires[p], paires[p + 1], paires[p + 2], paires[p + 3]);
+		}
+		chemins.mettreAJour(Config.BUDGET_CHEMINS);
+		if (chemins.getNbDemandesEnAttente() == 0) chemins.vider(); // tout résolu : tout redemander
+		return chemins.getNbDemandesEnAttente();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Carte;
+import core.Config;
+import core.EnsembleEvents;
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Détection des collisions d'une hitbox de héros avec les murs et les events d'une carte,
+ * pour des positions parcourant toute la carte (à cheval sur quatre cases, comme en cours de déplacement).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchCollisions {
+
+	@Param({ "Chateau_Roland_Etage_01", "Arene_Hunter", "Marais_Coacville" })
+	public String carte;
+
+	private Carte c;
+	private Rectangle[] hitboxes;
+	private int index = 0;
+
+	@Setup
+	public void preparer() {
+		c = Donnees.monde().getCarte(carte);
+		if (c == null) throw new IllegalArgumentException("Carte inconnue : " + carte);
+		final int taille = Config.TAILLE_CASES, demi = taille / 2;
+		hitboxes = new Rectangle[(c.getLargeur() - 1) * (c.getHauteur() - 1)];
+		int n = 0;
+		for (int i = 0; i < c.getHauteur() - 1; i++) {
+			for (int j = 0; j < c.getLargeur() - 1; j++) hitboxes[n++] = new Rectangle(j * taille + demi, i * taille + demi, taille, taille);
+		}
+	}
+
+	private Rectangle suivante() {
+		final Rectangle r = hitboxes[index];
+		if (++index == hitboxes.length) index = 0;
+		return r;
+	}
+
+	@Benchmark
+	public boolean murs() { return c.detecterCollisionsMurs(suivante()); }
+
+	@Benchmark
+	public EnsembleEvents events() { return c.detecterCollisionsEvents(suivante()); }
+}
\ No newline at end of file
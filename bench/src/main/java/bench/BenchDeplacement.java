@@ -0,0 +1,68 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Carte;
+import core.Directions;
+import core.Heros;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Déplacement du héros ({@link Heros#deplacer}) : un carré de 8 pas par côté autour du centre de la carte,
+ * avec les tests de bords et de murs d'un vrai déplacement (certains pas sont bloqués).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchDeplacement {
+
+	private static final int PAS_PAR_COTE = 8;
+	private static final Directions[] CARRE = { Directions.DROITE, Directions.BAS, Directions.GAUCHE, Directions.HAUT };
+
+	@Param({ "Chateau_Roland_Etage_01", "Arene_Hunter", "Marais_Coacville" })
+	public String carte;
+
+	private Heros heros;
+	private int pas = 0;
+
+	@Setup
+	public void preparer() {
+		final Carte c = Donnees.monde().getCarte(carte);
+		if (c == null) throw new IllegalArgumentException("Carte inconnue : " + carte);
+		heros = Donnees.heros(c, c.getLargeur() / 2, c.getHauteur() / 2);
+	}
+
+	@Benchmark
+	public boolean deplacer() {
+		final Directions d = CARRE[(pas / PAS_PAR_COTE) & 3];
+		pas = (pas + 1) % (PAS_PAR_COTE * CARRE.length);
+		return heros.deplacer(d);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Carte;
+import core.Config;
+import core.Entites;
+import core.GrilleSpatiale;
+import core.Skin;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Requêtes de la grille spatiale des entités (hitbox de l'épée, rayon, plus proche voisine) de 10 à 10 000 entités,
+ * à densité constante (une entité pour deux cases, carte agrandie avec le nombre d'entités) : le coût doit rester plat.
+ * Le balayage de toutes les entités (sans grille) sert de point de comparaison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsPrepend = "-Dslayers.tailleCarteMax=1000") // Prepend : le Lanceur remplace jvmArgsAppend
+public class BenchGrilleSpatiale {
+
+	private static final int NB_POINTS = 1024; // puissance de 2
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int nbEntites;
+
+	private Entites entites;
+	private GrilleSpatiale grille;
+	private int[] xs, ys;
+	private int index = 0, nbTrouvees;
+	private final GrilleSpatiale.Visiteur compteur = handle -> { nbTrouvees++; return true; };
+
+	@Setup
+	public void preparer() {
+		final Donnees.CatalogueBench monde = Donnees.monde();
+		final Carte modele = new TreeMap<>(monde.getCartes()).firstEntry().getValue(); // chipset et musique de n'importe quelle carte
+		final Skin skin = monde.getSkin(Donnees.SKIN);
+		final int cote = Math.max(10, (int) Math.ceil(Math.sqrt(2.0 * nbEntites)));
+		final Carte carte = Carte.newCarteVide("Grille_" + nbEntites, cote, cote, modele.getChipset(), modele.getMusique());
+		final Random hasard = new Random(42L);
+		final int t = Config.TAILLE_CASES;
+		entites = carte.getEntites();
+		grille = entites.getGrille();
+		for (int e = 0; e < nbEntites; e++) {
+			final int h = carte.ajouterEntite(skin, hasard.nextInt(cote), hasard.nextInt(cote), 10, Entites.IA.IMMOBILE);
+			final int i = entites.indice(h);
+			entites.modifierPosition(h, Math.min((cote - 1) * t, entites.getX(i) + hasard.nextInt(t)), Math.min((cote - 1) * t, entites.getY(i) + hasard.nextInt(t)));
+		}
+		xs = new int[NB_POINTS];
+		ys = new int[NB_POINTS];
+		for (int p = 0; p < NB_POINTS; p++) {
+			xs[p] = hasard.nextInt(cote * t);
+			ys[p] = hasard.nextInt(cote * t);
+		}
+	}
+
+	private int suivant() { return index = (index + 1) & (NB_POINTS - 1); }
+
+	@Benchmark
+	public int rectangleEpee() {
+		final int p = suivant(), t = Config.TAILLE_CASES;
+		nbTrouvees = 0;
+		grille.rectangle(xs[p], ys[p], t, t / 2, compteur);
+		return nbTrouvees;
+	}
+
+	@Benchmark
+	public int rayon() {
+		final int p = suivant();
+		nbTrouvees = 0;
+		grille.rayon(xs[p], ys[p], 2 * Config.TAILLE_CASES, compteur);
+		return nbTrouvees;
+	}
+
+	@Benchmark
+	public int plusProche() {
+		final int p = suivant();
+		return grille.plusProche(xs[p], ys[p], 10 * Config.TAILLE_CASES, Entites.AUCUNE);
+	}
+
+	/** Même requête que rectangleEpee sur toutes les entités, sans grille **/
+	@Benchmark
+	public int balayage() {
+		final int p = suivant(), t = Config.TAILLE_CASES, x = xs[p], y = ys[p], l = t, h = t / 2;
+		int nb = 0;
+		for (int i = 0, n = entites.getNb(); i < n; i++) {
+			final int ex = (int) entites.getX(i), ey = (int) entites.getY(i);
+			if (ex < x + l && x < ex + t && ey < y + h && y < ey + t) nb++;
+		}
+		return nb;
+	}
+}
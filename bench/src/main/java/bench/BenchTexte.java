@@ -0,0 +1,76 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Util;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mesure du texte des bulles de message ({@link Util#calculateTextHeight}, {@link Util#getWrappedTextWidth}),
+ * appelée à chaque frame tant qu'un message est affiché.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchTexte {
+
+	private static final String PHRASE = "Bienvenue au château de Roland, voyageur ! Les gardes de la cour intérieure t'attendent. ";
+
+	@Param({ "20", "80", "400" })
+	public int longueur;
+
+	@Param({ "300" })
+	public int largeurMax;
+
+	private Graphics2D g;
+	private FontMetrics fm;
+	private String texte;
+
+	@Setup
+	public void preparer() {
+		g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+		fm = g.getFontMetrics(new Font(Font.DIALOG, Font.PLAIN, 20));
+		texte = PHRASE.repeat(longueur / PHRASE.length() + 1).substring(0, longueur).trim();
+	}
+
+	@TearDown
+	public void terminer() { g.dispose(); }
+
+	@Benchmark
+	public int hauteur() { return Util.calculateTextHeight(texte, fm, largeurMax); }
+
+	@Benchmark
+	public int largeur() { return Util.getWrappedTextWidth(texte, fm, largeurMax); }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import core.Bruitage;
+import core.Carte;
+import core.Chipset;
+import core.Heros;
+import core.HerosClasses;
+import core.Musique;
+import core.Skin;
+import core.Config;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.imageio.ImageIO;
+import ressources.Catalogue;
+import ressources.ChargerCartes;
+import ressources.ChargerEvents;
+
+/**
+ * Données des bancs de mesure : les cartes du dépôt, accompagnées de ressources synthétiques
+ * (les images et les sons du jeu se téléchargent à part) : un chipset par chipset référencé par les cartes,
+ * assez grand pour toutes leurs tuiles, un skin et un son. Créées une seule fois dans le dossier racine des ressources,
+ * recréées si les cartes changent (autre dossier, monde synthétique régénéré par {@link GenerateurMonde}).
+ */
+public final class Donnees {
+
+	private Donnees() { throw new AssertionError("La classe Donnees ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	public static final int TAILLE_TUILE = 16;
+	public static final String SKIN = "bench_skin.png", SON = "bench.wav";
+	private static final int COLONNES_CHIPSET = 8;
+	private static final String MARQUEUR = ".bench-pret";
+
+	/** Catalogue des bancs : chipsets synthétiques, même musique, même bruitage et même skin pour tous les noms **/
+	public static final class CatalogueBench implements Catalogue {
+		private final Map<String, Chipset> chipsets = new HashMap<>();
+		private final Map<String, Carte> cartes = new HashMap<>();
+		private Musique musique;
+		private Bruitage bruitage;
+		private Skin skin;
+
+		@Override public synchronized Chipset getChipset(String nom) { return chipsets.computeIfAbsent(nom, n -> new Chipset(n, TAILLE_TUILE)); }
+		@Override public synchronized Musique getMusique(String nom) { if (musique == null) musique = new Musique(SON); return musique; }
+		@Override public synchronized Bruitage getBruitage(String nom) { if (bruitage == null) bruitage = new Bruitage(SON); return bruitage; }
+		@Override public synchronized Skin getSkin(String nom) { if (skin == null) skin = new Skin(SKIN); return skin; }
+		@Override public synchronized Carte getCarte(String nom) { return cartes.get(nom); }
+		public synchronized Map<String, Carte> getCartes() { return Map.copyOf(cartes); }
+	}
+
+	/** Méthodes static **/
+	/** Toutes les cartes du dépôt avec leurs events, chargées comme au lancement du jeu **/
+	public static CatalogueBench monde() {
+		verifierLancement();
+		final CatalogueBench catalogue = new CatalogueBench();
+		catalogue.cartes.putAll(ChargerCartes.get(catalogue));
+		ChargerEvents.inject(catalogue);
+		return catalogue;
+	}
+
+	/** Les JVM de mesure doivent être lancées par {@link Lanceur} (données préparées, propriétés slayers.*) **/
+	static void verifierLancement() {
+		if (Config.RACINE_RESSOURCES.isEmpty()) throw new IllegalStateException("Bancs à lancer avec : java -jar target/benchmarks.jar (bench.Lanceur)");
+	}
+
+	public static Heros heros(Carte carte, int xCase, int yCase) {
+		return new Heros("Bench", new Skin(SKIN), HerosClasses.VOLEUR, 1, 0, xCase, yCase, carte, 10);
+	}
+
+	/** Crée les données dans racine si elles n'y sont pas déjà (cartes copiées depuis dossierCartes) **/
+	public static synchronized void preparer(Path racine, Path dossierCartes) {
+		try {
+			final Path marqueur = racine.resolve(MARQUEUR);
+			final String source = signature(dossierCartes);
+			if (Files.exists(marqueur) && Files.readString(marqueur).equals(source)) return;
+			for (String dossier : new String[] { "cartes", "img", "musiques", "bruitages" }) Files.createDirectories(racine.resolve(dossier));
+			try (DirectoryStream<Path> anciennes = Files.newDirectoryStream(racine.resolve("cartes"), "*.json")) { // cartes d'un autre dossier
+				for (Path fichier : anciennes) Files.delete(fichier);
+			}
+
+			final Map<String, Integer> tuilesMax = new TreeMap<>(); // chipset -> plus grand numéro de tuile utilisé
+			try (DirectoryStream<Path> fichiers = Files.newDirectoryStream(dossierCartes, "*.json")) {
+				for (Path fichier : fichiers) {
+					Files.copy(fichier, racine.resolve("cartes").resolve(fichier.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+					if (!fichier.getFileName().toString().endsWith("_BC.json")) continue;
+					final JsonObject racineJson = JsonParser.parseString(Files.readString(fichier)).getAsJsonObject();
+					int max = 0;
+					for (String couche : new String[] { "couche0", "couche1", "couche2" }) {
+						for (JsonElement ligne : racineJson.getAsJsonArray(couche)) {
+							for (JsonElement tuile : ligne.getAsJsonArray()) max = Math.max(max, tuile.getAsInt());
+						}
+					}
+					tuilesMax.merge(racineJson.get("chipset").getAsString(), max, Math::max);
+				}
+			}
+			if (tuilesMax.isEmpty()) throw new IllegalStateException("Aucune carte trouvée dans " + dossierCartes.toAbsolutePath());
+
+			for (Map.Entry<String, Integer> e : tuilesMax.entrySet()) ecrireChipset(racine.resolve("img").resolve(e.getKey()), e.getValue());
+			ecrireSkin(racine.resolve("img").resolve(SKIN));
+			final byte[] wav = wavSilence(4410);
+			Files.write(racine.resolve("musiques").resolve(SON), wav);
+			Files.write(racine.resolve("bruitages").resolve(SON), wav);
+			Files.writeString(marqueur, source);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Préparation des données de bancs dans " + racine.toAbsolutePath(), e);
+		}
+	}
+
+	/** Dossier des cartes, nom, taille et date de chaque fichier : les données sont à recréer si elle change **/
+	private static String signature(Path dossierCartes) throws IOException {
+		final Map<String, String> fichiers = new TreeMap<>();
+		try (DirectoryStream<Path> jsons = Files.newDirectoryStream(dossierCartes, "*.json")) {
+			for (Path f : jsons) fichiers.put(f.getFileName().toString(), Files.size(f) + " " + Files.getLastModifiedTime(f).toMillis());
+		}
+		return dossierCartes.toAbsolutePath().normalize() + "\n" + fichiers;
+	}
+
+	/** Tuiles de couleurs différentes, un coin transparent (comme les couches supérieures d'un vrai chipset) **/
+	private static void ecrireChipset(Path fichier, int nbTuiles) throws IOException {
+		final int lignes = Math.max(1, (nbTuiles + COLONNES_CHIPSET - 1) / COLONNES_CHIPSET);
+		final BufferedImage image = new BufferedImage(COLONNES_CHIPSET * TAILLE_TUILE, lignes * TAILLE_TUILE, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D g = image.createGraphics();
+		try {
+			for (int t = 0; t < lignes * COLONNES_CHIPSET; t++) {
+				final int x = (t % COLONNES_CHIPSET) * TAILLE_TUILE, y = (t / COLONNES_CHIPSET) * TAILLE_TUILE;
+				g.setColor(new Color(Color.HSBtoRGB((t * 0.137f) % 1f, 0.6f, 0.8f)));
+				g.fillRect(x, y, TAILLE_TUILE, TAILLE_TUILE);
+				g.setComposite(AlphaComposite.Clear);
+				g.fillRect(x, y, TAILLE_TUILE / 2, TAILLE_TUILE / 2);
+				g.setComposite(AlphaComposite.SrcOver);
+			}
+		} finally {
+			g.dispose();
+		}
+		ImageIO.write(image, "png", fichier.toFile());
+	}
+
+	private static void ecrireSkin(Path fichier) throws IOException {
+		final BufferedImage image = new BufferedImage(3 * 48, 4 * 48, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D g = image.createGraphics();
+		try {
+			g.setColor(Color.ORANGE);
+			for (int r = 0; r < 12; r++) g.fillOval((r % 3) * 48 + 8, (r / 3) * 48 + 4, 32, 40);
+		} finally {
+			g.dispose();
+		}
+		ImageIO.write(image, "png", fichier.toFile());
+	}
+
+	/** WAV PCM 16 bits stéréo 44,1 kHz silencieux **/
+	private static byte[] wavSilence(int nbTrames) throws IOException {
+		final int donnees = nbTrames * 4;
+		final ByteBuffer entete = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+		entete.put("RIFF".getBytes()).putInt(36 + donnees).put("WAVE".getBytes()).put("fmt ".getBytes())
+			.putInt(16).putShort((short) 1).putShort((short) 2).putInt(44100).putInt(44100 * 4).putShort((short) 4).putShort((short) 16)
+			.put("data".getBytes()).putInt(donnees);
+		final ByteArrayOutputStream sortie = new ByteArrayOutputStream(44 + donnees);
+		sortie.write(entete.array());
+		sortie.write(new byte[donnees]);
+		return sortie.toByteArray();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,319 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import audio.CachePCM;
+import audio.Mixeur;
+import com.google.gson.GsonBuilder;
+import core.Bruitage;
+import core.Camera;
+import core.Carte;
+import core.Config;
+import core.ControleurMusique;
+import core.Directions;
+import core.GestionnaireGraphiques;
+import core.GestionnaireTextures;
+import core.Heros;
+import core.Musique;
+import core.Spatialisation;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Mixer;
+
+/**
+ * Banc d'endurance, sans fenêtre : des milliers de cycles téléportation vers une carte au hasard, changement de musique,
+ * rafale de bruitages et quelques ticks et frames, pour détecter ce qui s'accumule au fil d'une longue session
+ * (bornes en libre-service allumées 12 h).
+ *
+ * Le son passe par la sortie "vide" par défaut (mixeur cadencé en temps réel, blocs jetés : musiques et bruitages
+ * suivent le même chemin qu'avec une carte son), ou par une vraie carte son (--audio javasound).
+ * Tous les {@code --mesure-tous} cycles, après GC : tas occupé, threads vivants, lignes audio ouvertes,
+ * descripteurs de fichiers et tampons hors tas (directs et projetés).
+ *
+ * Après l'échauffement (premier quart des mesures), les mesures sont découpées en {@link #NB_TRANCHES} tranches :
+ * une grandeur dont la médiane augmente à chaque tranche et dont la hausse totale dépasse sa tolérance est une fuite.
+ * Mesures écrites dans resultats/endurance-AAAAMMJJ-HHMMSS.json ; code de sortie 1 si une fuite est détectée, 2 en cas d'erreur.
+ *
+ * Usage : java -cp target/benchmarks.jar bench.Endurance [--cycles n | --minutes m] [--mesure-tous n]
+ *         [--audio vide|javasound|nulle] [--graine n] [--pause-ms n]
+ */
+public final class Endurance {
+
+	private Endurance() { throw new AssertionError("La classe Endurance ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final int NB_MUSIQUES = 4, NB_BRUITAGES = 3, BRUITAGES_MAX_PAR_CYCLE = 8;
+	private static final int TICKS_PAR_CYCLE = 6;
+	private static final int NB_TRANCHES = 4, MESURES_MIN = 2 * NB_TRANCHES; // mesures après échauffement
+	private static final Directions[] DIRECTIONS = Directions.values();
+
+	/** Une grandeur suivie et la hausse tolérée sur toute la session (absolue, ou relative à la première tranche si plus grande) **/
+	private enum Grandeur {
+		TAS_KO("tas après GC (Ko)", 2048, 5.0),
+		THREADS("threads vivants", 2, 0.0),
+		LIGNES_AUDIO("lignes audio ouvertes", 0, 0.0),
+		DESCRIPTEURS("descripteurs de fichiers", 4, 0.0),
+		HORS_TAS_KO("tampons hors tas (Ko)", 1024, 5.0);
+
+		final String libelle;
+		final long toleranceAbsolue;
+		final double tolerancePct;
+
+		Grandeur(String libelle, long toleranceAbsolue, double tolerancePct) {
+			this.libelle = libelle;
+			this.toleranceAbsolue = toleranceAbsolue;
+			this.tolerancePct = tolerancePct;
+		}
+
+		long tolerance(long reference) { return Math.max(toleranceAbsolue, Math.round(reference * tolerancePct / 100.0)); }
+	}
+
+	/** Une mesure (-1 : grandeur indisponible sur cette plateforme) **/
+	record Mesure(int cycle, long secondes, long tasKo, long threads, long lignesAudio, long descripteurs, long horsTasKo, long pcmEnCacheKo, long texturesKo) {
+		long valeur(Grandeur g) {
+			return switch (g) {
+				case TAS_KO -> tasKo;
+				case THREADS -> threads;
+				case LIGNES_AUDIO -> lignesAudio;
+				case DESCRIPTEURS -> descripteurs;
+				case HORS_TAS_KO -> horsTasKo;
+			};
+		}
+	}
+
+	/** Verdict d'une grandeur : médianes des tranches après échauffement **/
+	record Verdict(String grandeur, long[] medianes, long hausse, long tolerance, boolean fuite) {}
+
+	/** Contenu du fichier de résultats **/
+	record Rapport(String date, String java, String os, String audio, long graine, int cycles, List<Mesure> mesures, List<Verdict> verdicts) {}
+
+	private static final class Options {
+		int cycles = 3000;
+		long minutes = 0; // > 0 : durée plutôt que nombre de cycles
+		int mesureTous = 100;
+		String audio = "vide";
+		long graine = 42L;
+		int pauseMs = 10; // laisse les threads audio suivre entre deux cycles
+	}
+
+	public static void main(String[] args) {
+		final Options options;
+		try {
+			options = lireOptions(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println("[ERREUR] " + e.getMessage());
+			System.err.println("Usage : bench.Endurance [--cycles n | --minutes m] [--mesure-tous n] [--audio vide|javasound|nulle] [--graine n] [--pause-ms n]");
+			System.exit(2);
+			return;
+		}
+
+		try {
+			Harnais.preparer(options.audio);
+			final Rapport rapport = new Session(options).executer();
+			final Path fichier = Path.of("resultats").resolve("endurance-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+			Files.createDirectories(fichier.getParent());
+			try (Writer w = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) { new GsonBuilder().setPrettyPrinting().create().toJson(rapport, w); }
+			System.out.println("Résultats : " + fichier.toAbsolutePath());
+
+			final long nbFuites = rapport.verdicts().stream().filter(Verdict::fuite).count();
+			System.out.println(nbFuites == 0 ? "Aucune croissance continue." : nbFuites + " grandeur(s) en croissance continue.");
+			System.exit(nbFuites == 0 ? 0 : 1);
+		} catch (RuntimeException | IOException e) {
+			System.err.println("[ERREUR] Banc d'endurance : " + e);
+			System.exit(2);
+		}
+	}
+
+	private static Options lireOptions(String[] args) {
+		final Options o = new Options();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--cycles" -> o.cycles = Harnais.entier(Harnais.valeur(args, i + 1), args[i++]);
+				case "--minutes" -> o.minutes = Harnais.entier(Harnais.valeur(args, i + 1), args[i++]);
+				case "--mesure-tous" -> o.mesureTous = Harnais.entier(Harnais.valeur(args, i + 1), args[i++]);
+				case "--audio" -> {
+					o.audio = Harnais.valeur(args, ++i);
+					if (!List.of("vide", "javasound", "nulle").contains(o.audio)) throw new IllegalArgumentException("--audio : vide, javasound ou nulle attendu (" + o.audio + ")");
+				}
+				case "--graine" -> {
+					try { o.graine = Long.parseLong(Harnais.valeur(args, ++i)); }
+					catch (NumberFormatException e) { throw new IllegalArgumentException("--graine : entier attendu (" + args[i] + ")"); }
+				}
+				case "--pause-ms" -> o.pauseMs = Harnais.entier(Harnais.valeur(args, i + 1), args[i++]);
+				default -> throw new IllegalArgumentException("Option inconnue : " + args[i]);
+			}
+		}
+		return o;
+	}
+
+	/** Une session : monde chargé une fois, cycles jusqu'au nombre ou à la durée demandés **/
+	private static final class Session {
+		private final Options options;
+		private final Random hasard;
+		private final Donnees.CatalogueBench monde = Donnees.monde();
+		private final List<Carte> cartes = new ArrayList<>(new java.util.TreeMap<>(monde.getCartes()).values());
+		private final List<Musique> musiques = new ArrayList<>();
+		private final List<Bruitage> bruitages = new ArrayList<>();
+		private final ControleurMusique controleurMusique = new ControleurMusique();
+		private final Camera camera = new Camera();
+		private final BufferedImage ecran = new BufferedImage(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+		private final List<Mesure> mesures = new ArrayList<>();
+		private final long debut = System.nanoTime();
+		private Heros heros;
+		private GestionnaireGraphiques dessiner;
+
+		Session(Options options) {
+			this.options = options;
+			this.hasard = new Random(options.graine);
+			for (int m = 0; m < NB_MUSIQUES; m++) musiques.add(new Musique(Donnees.SON)); // instances distinctes : chaque changement redémarre une musique
+			for (int b = 0; b < NB_BRUITAGES; b++) bruitages.add(new Bruitage(Donnees.SON));
+		}
+
+		Rapport executer() {
+			final Carte depart = cartes.get(0);
+			heros = Donnees.heros(depart, 1, 1);
+			depart.activer();
+			camera.setCible(heros);
+			dessiner = Harnais.dessinateur(camera, heros);
+			System.out.println("Sortie audio : " + Mixeur.getInstance().getNomSortie() + ", " + cartes.size() + " cartes, graine " + options.graine);
+			System.out.printf(Locale.ROOT, "%8s %8s %10s %8s %7s %12s %12s %10s %10s%n", "cycle", "s", "tas Ko", "threads", "lignes", "descripteurs", "hors tas Ko", "PCM Ko", "textures Ko");
+
+			final Graphics2D g = ecran.createGraphics();
+			final long fin = (options.minutes > 0) ? debut + options.minutes * 60_000_000_000L : Long.MAX_VALUE;
+			int cycle = 0;
+			try {
+				mesurer(cycle);
+				while ((options.minutes > 0) ? System.nanoTime() < fin : cycle < options.cycles) {
+					cycle(g);
+					cycle++;
+					if (cycle % options.mesureTous == 0) mesurer(cycle);
+					LockSupport.parkNanos(options.pauseMs * 1_000_000L);
+				}
+			} finally {
+				g.dispose();
+				controleurMusique.close();
+				bruitages.forEach(Bruitage::close);
+				heros.getCarteActuelle().desactiver();
+			}
+			final List<Verdict> verdicts = juger();
+			Mixeur.shutdown();
+			return new Rapport(LocalDateTime.now().toString(), System.getProperty("java.version"), System.getProperty("os.name") + " " + System.getProperty("os.arch"),
+				options.audio, options.graine, cycle, mesures, verdicts);
+		}
+
+		/** Téléportation vers une carte au hasard (comme Jeu.executeEvent_TP), musique, bruitages, puis quelques ticks et frames **/
+		private void cycle(Graphics2D g) {
+			final Carte source = heros.getCarteActuelle(), destination = cartes.get(hasard.nextInt(cartes.size()));
+			destination.activer(); // avant de libérer la source (même chipset : pas de re-décodage)
+			heros.setCarteActuelle(destination);
+			source.desactiver();
+			final int i = hasard.nextInt(destination.getHauteur()), j = hasard.nextInt(destination.getLargeur());
+			heros.modifierPosition(j * Config.TAILLE_CASES, i * Config.TAILLE_CASES);
+			camera.update();
+			camera.sync();
+
+			if (hasard.nextInt(3) == 0) controleurMusique.changer(hasard.nextInt(8) == 0 ? null : musiques.get(hasard.nextInt(NB_MUSIQUES)));
+
+			Spatialisation.placerAuditeur(heros.getX() + Config.TAILLE_CASES / 2, heros.getY() + Config.TAILLE_CASES / 2);
+			final int nbBruitages = hasard.nextInt(BRUITAGES_MAX_PAR_CYCLE + 1);
+			for (int b = 0; b < nbBruitages; b++) {
+				final Bruitage bruitage = bruitages.get(hasard.nextInt(NB_BRUITAGES));
+				if (hasard.nextBoolean()) bruitage.play();
+				else bruitage.jouerA(heros.getX() + (hasard.nextInt(21) - 10) * Config.TAILLE_CASES, heros.getY() + (hasard.nextInt(21) - 10) * Config.TAILLE_CASES);
+			}
+
+			for (int t = 0; t < TICKS_PAR_CYCLE; t++) {
+				heros.deplacer(DIRECTIONS[hasard.nextInt(DIRECTIONS.length)]);
+				camera.update();
+				destination.mettreAJourSourcesSonores();
+				destination.mettreAJourEntites(heros.getX(), heros.getY());
+				camera.interpolate(1.0);
+				Harnais.rendre(dessiner, g);
+			}
+		}
+
+		private void mesurer(int cycle) {
+			for (int i = 0; i < 3; i++) System.gc(); // plusieurs passes : objets à finaliser, références faibles
+			final long tasKo = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1024;
+			long horsTas = 0L;
+			for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) horsTas += Math.max(0L, pool.getMemoryUsed());
+			final Mesure m = new Mesure(cycle, (System.nanoTime() - debut) / 1_000_000_000L, tasKo, threadsVivants(),
+				lignesAudio(), descripteurs(), horsTas / 1024, CachePCM.getMemoireTotale() / 1024, GestionnaireTextures.getMemoireTotale() / 1024);
+			mesures.add(m);
+			System.out.printf(Locale.ROOT, "%8d %8d %10d %8d %7d %12d %12d %10d %10d%n", m.cycle(), m.secondes(), m.tasKo(), m.threads(), m.lignesAudio(),
+				m.descripteurs(), m.horsTasKo(), m.pcmEnCacheKo(), m.texturesKo());
+		}
+
+		/** Croissance continue : médiane de chaque tranche supérieure à la précédente et hausse totale au-delà de la tolérance **/
+		private List<Verdict> juger() {
+			final List<Mesure> retenues = mesures.subList(mesures.size() / 4, mesures.size()); // échauffement : JIT, chipsets, cache PCM
+			final List<Verdict> verdicts = new ArrayList<>();
+			if (retenues.size() < MESURES_MIN) {
+				System.out.println("[AVERTISSEMENT] " + retenues.size() + " mesures après échauffement (" + MESURES_MIN + " nécessaires) : aucun verdict, allonger la session ou mesurer plus souvent");
+				return verdicts;
+			}
+			for (Grandeur grandeur : Grandeur.values()) {
+				if (retenues.get(0).valeur(grandeur) < 0) continue; // indisponible
+				final long[] medianes = new long[NB_TRANCHES];
+				boolean croissante = true;
+				for (int t = 0; t < NB_TRANCHES; t++) {
+					final List<Mesure> tranche = retenues.subList(t * retenues.size() / NB_TRANCHES, (t + 1) * retenues.size() / NB_TRANCHES);
+					final long[] valeurs = tranche.stream().mapToLong(m -> m.valeur(grandeur)).sorted().toArray();
+					medianes[t] = valeurs[valeurs.length / 2];
+					if (t > 0 && medianes[t] <= medianes[t - 1]) croissante = false;
+				}
+				final long hausse = medianes[NB_TRANCHES - 1] - medianes[0], tolerance = grandeur.tolerance(medianes[0]);
+				final boolean fuite = croissante && hausse > tolerance;
+				verdicts.add(new Verdict(grandeur.libelle, medianes, hausse, tolerance, fuite));
+				System.out.printf(Locale.ROOT, "%s %-26s médianes %s  hausse %d (tolérance %d)%n", fuite ? "[FUITE]" : "  ok   ", grandeur.libelle, Arrays.toString(medianes), hausse, tolerance);
+			}
+			return verdicts;
+		}
+	}
+
+	/** Mesures du processus **/
+	private static long threadsVivants() { return ManagementFactory.getThreadMXBean().getThreadCount(); }
+
+	/** Lignes ouvertes sur tous les mélangeurs Java Sound (0 sans carte son) **/
+	private static long lignesAudio() {
+		long nb = 0;
+		try {
+			for (Mixer.Info info : AudioSystem.getMixerInfo()) nb += AudioSystem.getMixer(info).getSourceLines().length;
+		} catch (RuntimeException e) { return -1; } // Java Sound indisponible
+		return nb;
+	}
+
+	private static long descripteurs() {
+		final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+		return (os instanceof com.sun.management.UnixOperatingSystemMXBean unix) ? unix.getOpenFileDescriptorCount() : -1;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,339 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Entites;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Génère un monde synthétique de cartes (paires *_BC.json / *_ME.json au format des cartes du dépôt) pour éprouver
+ * le chargement, le rendu et les collisions bien au-delà des cartes livrées : taille (au-delà de 100 cases avec
+ * -Dslayers.tailleCarteMax), remplissage de chaque couche, densité de murs, nombre d'events, graphe des téléportations
+ * et chipset. Le même jeu de paramètres et la même graine donnent toujours les mêmes fichiers.
+ *
+ * Les events et les entités (PNJ et monstres, IA au hasard) sont posés sur des cases sans mur,
+ * chaque téléportation arrive sur une case sans mur de la carte destination.
+ * Les cartes générées se chargent dans les bancs (-Dbench.cartes=dossier) comme dans le jeu (copiées dans cartes,
+ * avec un chipset et une musique existants).
+ *
+ * Usage : java -cp target/benchmarks.jar bench.GenerateurMonde [--dossier d] [--prefixe p] [--cartes n]
+ *         [--largeur n] [--hauteur n] [--couches 1,0.3,0.1] [--murs 0.15] [--events n]
+ *         [--topologie chaine|anneau|etoile|grille|aleatoire|complet] [--degre n] [--chipset nom] [--tuiles n]
+ *         [--musique nom] [--entites n] [--skin nom] [--graine n]
+ */
+public final class GenerateurMonde {
+
+	private GenerateurMonde() { throw new AssertionError("La classe GenerateurMonde ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final int NB_COUCHES = 3;
+	private static final int TAILLE_CARTE_MAX_PAR_DEFAUT = 100; // Config.TAILLE_CARTE_MAX sans -Dslayers.tailleCarteMax
+
+	/** Graphe des téléportations entre les cartes (arêtes dans les deux sens, sauf ALEATOIRE au-delà de l'arbre couvrant) **/
+	public enum Topologie {
+		CHAINE, // 0 <-> 1 <-> 2 ...
+		ANNEAU, // chaîne refermée
+		ETOILE, // 0 <-> chacune des autres
+		GRILLE, // voisines droite et bas sur une grille carrée
+		ALEATOIRE, // arbre couvrant au hasard, puis des arcs au hasard jusqu'à {@code degre} sorties par carte
+		COMPLET // chaque carte vers toutes les autres
+	}
+
+	/**
+	 * Paramètres d'un monde
+	 * @param densites probabilité, pour chaque couche, qu'une case porte une tuile (sinon tuile vide)
+	 * @param densiteMurs probabilité qu'une case soit un mur
+	 * @param nbEvents events par carte, téléportations comprises (davantage si le graphe en demande plus)
+	 * @param degre sorties par carte visées en topologie ALEATOIRE
+	 * @param nbTuiles tuiles tirées dans [1, nbTuiles] (0 : tuile vide)
+	 * @param nbEntites entités par carte, toutes avec le même skin
+	 */
+	public record Parametres(String prefixe, int nbCartes, int largeur, int hauteur, double[] densites, double densiteMurs,
+		int nbEvents, Topologie topologie, int degre, String chipset, int nbTuiles, String musique, int nbEntites, String skin, long graine) {
+
+		public Parametres {
+			if (prefixe == null || prefixe.isBlank()) throw new IllegalArgumentException("préfixe null ou vide");
+			if (nbCartes < 1) throw new IllegalArgumentException("nombre de cartes < 1");
+			if (largeur < 1 || hauteur < 1) throw new IllegalArgumentException("largeur ou hauteur < 1");
+			if (densites == null || densites.length != NB_COUCHES) throw new IllegalArgumentException(NB_COUCHES + " densités de couches attendues");
+			for (double d : densites) if (!(d >= 0.0 && d <= 1.0)) throw new IllegalArgumentException("densité de couche hors de [0, 1] : " + d);
+			if (!(densiteMurs >= 0.0 && densiteMurs < 1.0)) throw new IllegalArgumentException("densité de murs hors de [0, 1[ : " + densiteMurs);
+			if (nbEvents < 0) throw new IllegalArgumentException("nombre d'events < 0");
+			if (degre < 1) throw new IllegalArgumentException("degré < 1");
+			if (chipset == null || chipset.isBlank() || musique == null || musique.isBlank()) throw new IllegalArgumentException("chipset ou musique null ou vide");
+			if (nbTuiles < 1) throw new IllegalArgumentException("nombre de tuiles < 1");
+			if (nbEntites < 0) throw new IllegalArgumentException("nombre d'entités < 0");
+			if (skin == null || skin.isBlank()) throw new IllegalArgumentException("skin null ou vide");
+			densites = densites.clone();
+		}
+
+		/** 8 cartes de 250 x 250, couche 0 pleine, 200 events, téléportations au hasard, 1000 entités (chipset et musique d'Arene_Hunter, skin du héros) **/
+		public static Parametres parDefaut() {
+			return new Parametres("Stress", 8, 250, 250, new double[] { 1.0, 0.3, 0.1 }, 0.15, 200, Topologie.ALEATOIRE, 3, "HunterArene.png", 400, "hunter.ogg",
+				1000, "Evil.png", 42L);
+		}
+
+		public String nomCarte(int index) { return String.format(Locale.ROOT, "%s_%03d", prefixe, index); }
+	}
+
+	/** Téléportation d'une carte vers une autre **/
+	private record Arc(int source, int destination) {}
+
+	/** Méthodes static **/
+	public static void main(String[] args) {
+		Path dossier = Path.of("target/monde-stress");
+		Parametres p = Parametres.parDefaut();
+		String prefixe = p.prefixe(), chipset = p.chipset(), musique = p.musique(), skin = p.skin();
+		int nbCartes = p.nbCartes(), largeur = p.largeur(), hauteur = p.hauteur(), nbEvents = p.nbEvents(), degre = p.degre(), nbTuiles = p.nbTuiles();
+		int nbEntites = p.nbEntites();
+		double[] densites = p.densites();
+		double densiteMurs = p.densiteMurs();
+		Topologie topologie = p.topologie();
+		long graine = p.graine();
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+					case "--dossier" -> dossier = Path.of(valeur(args, ++i));
+					case "--prefixe" -> prefixe = valeur(args, ++i);
+					case "--cartes" -> nbCartes = Integer.parseInt(valeur(args, ++i));
+					case "--largeur" -> largeur = Integer.parseInt(valeur(args, ++i));
+					case "--hauteur" -> hauteur = Integer.parseInt(valeur(args, ++i));
+					case "--couches" -> {
+						final String[] valeurs = valeur(args, ++i).split(",");
+						densites = new double[valeurs.length];
+						for (int c = 0; c < valeurs.length; c++) densites[c] = Double.parseDouble(valeurs[c].trim());
+					}
+					case "--murs" -> densiteMurs = Double.parseDouble(valeur(args, ++i));
+					case "--events" -> nbEvents = Integer.parseInt(valeur(args, ++i));
+					case "--topologie" -> topologie = Topologie.valueOf(valeur(args, ++i).toUpperCase(Locale.ROOT));
+					case "--degre" -> degre = Integer.parseInt(valeur(args, ++i));
+					case "--chipset" -> chipset = valeur(args, ++i);
+					case "--tuiles" -> nbTuiles = Integer.parseInt(valeur(args, ++i));
+					case "--musique" -> musique = valeur(args, ++i);
+					case "--entites" -> nbEntites = Integer.parseInt(valeur(args, ++i));
+					case "--skin" -> skin = valeur(args, ++i);
+					case "--graine" -> graine = Long.parseLong(valeur(args, ++i));
+					default -> throw new IllegalArgumentException("Option inconnue : " + args[i]);
+				}
+			}
+			p = new Parametres(prefixe, nbCartes, largeur, hauteur, densites, densiteMurs, nbEvents, topologie, degre, chipset, nbTuiles, musique, nbEntites, skin, graine);
+		} catch (IllegalArgumentException e) { // NumberFormatException comprise
+			System.err.println("[ERREUR] " + e.getMessage());
+			System.err.println("Usage : bench.GenerateurMonde [--dossier d] [--prefixe p] [--cartes n] [--largeur n] [--hauteur n] [--couches 1,0.3,0.1] [--murs 0.15]"
+				+ " [--events n] [--topologie chaine|anneau|etoile|grille|aleatoire|complet] [--degre n] [--chipset nom] [--tuiles n] [--musique nom] [--entites n] [--skin nom] [--graine n]");
+			System.exit(2);
+			return;
+		}
+
+		try {
+			final long debut = System.nanoTime();
+			final List<Path> fichiers = generer(p, dossier);
+			System.out.printf(Locale.ROOT, "%d cartes %d x %d (%s) écrites dans %s en %.1f s%n", p.nbCartes(), p.largeur(), p.hauteur(),
+				p.topologie().name().toLowerCase(Locale.ROOT), dossier.toAbsolutePath(), (System.nanoTime() - debut) / 1e9);
+			long octets = 0L;
+			for (Path f : fichiers) octets += Files.size(f);
+			System.out.printf(Locale.ROOT, "%d fichiers, %.1f Mo%n", fichiers.size(), octets / (1024.0 * 1024.0));
+			if (Math.max(p.largeur(), p.hauteur()) > TAILLE_CARTE_MAX_PAR_DEFAUT) {
+				System.out.println("Cartes de plus de " + TAILLE_CARTE_MAX_PAR_DEFAUT + " cases : lancer avec -Dslayers.tailleCarteMax=" + Math.max(p.largeur(), p.hauteur()));
+			}
+		} catch (IOException e) {
+			System.err.println("[ERREUR] Écriture du monde dans " + dossier.toAbsolutePath() + " : " + e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	private static String valeur(String[] args, int i) {
+		if (i >= args.length) throw new IllegalArgumentException("Valeur manquante après " + args[i - 1]);
+		return args[i];
+	}
+
+	/**
+	 * Écrit les cartes du monde dans le dossier (créé si besoin)
+	 * @return les fichiers écrits (BC puis ME de chaque carte)
+	 */
+	public static List<Path> generer(Parametres p, Path dossier) throws IOException {
+		Files.createDirectories(dossier);
+		final Random hasard = new Random(p.graine());
+
+		final boolean[][][] murs = new boolean[p.nbCartes()][][];
+		final int[][] casesLibres = new int[p.nbCartes()][]; // indices i * largeur + j des cases sans mur
+		for (int c = 0; c < p.nbCartes(); c++) {
+			murs[c] = genererMurs(p, hasard);
+			casesLibres[c] = casesLibres(murs[c], p.largeur(), p.hauteur());
+			if (casesLibres[c].length == 0) throw new IllegalArgumentException("Carte " + p.nomCarte(c) + " sans case libre : baisser la densité de murs");
+		}
+		final List<Arc>[] sorties = sorties(p, hasard);
+
+		final List<Path> fichiers = new ArrayList<>(2 * p.nbCartes());
+		for (int c = 0; c < p.nbCartes(); c++) {
+			final Path bc = dossier.resolve(p.nomCarte(c) + "_BC.json"), me = dossier.resolve(p.nomCarte(c) + "_ME.json");
+			try (Writer w = Files.newBufferedWriter(bc, StandardCharsets.UTF_8)) { ecrireBC(w, p, casesLibres[c], hasard); }
+			try (Writer w = Files.newBufferedWriter(me, StandardCharsets.UTF_8)) { ecrireME(w, p, c, murs[c], casesLibres, sorties[c], hasard); }
+			fichiers.add(bc);
+			fichiers.add(me);
+		}
+		return fichiers;
+	}
+
+	private static boolean[][] genererMurs(Parametres p, Random hasard) {
+		final boolean[][] murs = new boolean[p.hauteur()][p.largeur()];
+		for (int i = 0; i < p.hauteur(); i++) {
+			for (int j = 0; j < p.largeur(); j++) murs[i][j] = hasard.nextDouble() < p.densiteMurs();
+		}
+		return murs;
+	}
+
+	private static int[] casesLibres(boolean[][] murs, int largeur, int hauteur) {
+		int nb = 0;
+		for (boolean[] ligne : murs) for (boolean mur : ligne) if (!mur) nb++;
+		final int[] cases = new int[nb];
+		int k = 0;
+		for (int i = 0; i < hauteur; i++) {
+			for (int j = 0; j < largeur; j++) if (!murs[i][j]) cases[k++] = i * largeur + j;
+		}
+		return cases;
+	}
+
+	/** Téléportations sortant de chaque carte selon la topologie **/
+	@SuppressWarnings("unchecked")
+	private static List<Arc>[] sorties(Parametres p, Random hasard) {
+		final int n = p.nbCartes();
+		final List<Arc>[] sorties = new List[n];
+		for (int c = 0; c < n; c++) sorties[c] = new ArrayList<>();
+		switch (p.topologie()) {
+			case CHAINE, ANNEAU -> {
+				for (int c = 0; c + 1 < n; c++) relier(sorties, c, c + 1);
+				if (p.topologie() == Topologie.ANNEAU && n > 2) relier(sorties, n - 1, 0);
+			}
+			case ETOILE -> { for (int c = 1; c < n; c++) relier(sorties, 0, c); }
+			case GRILLE -> {
+				final int colonnes = (int) Math.ceil(Math.sqrt(n));
+				for (int c = 0; c < n; c++) {
+					if ((c % colonnes) + 1 < colonnes && c + 1 < n) relier(sorties, c, c + 1);
+					if (c + colonnes < n) relier(sorties, c, c + colonnes);
+				}
+			}
+			case ALEATOIRE -> {
+				for (int c = 1; c < n; c++) relier(sorties, c, hasard.nextInt(c)); // arbre couvrant : toutes les cartes sont atteignables
+				if (n > 1) {
+					for (int c = 0; c < n; c++) {
+						while (sorties[c].size() < p.degre()) {
+							int d = hasard.nextInt(n - 1);
+							if (d >= c) d++; // jamais vers elle-même
+							sorties[c].add(new Arc(c, d));
+						}
+					}
+				}
+			}
+			case COMPLET -> {
+				for (int c = 0; c < n; c++) {
+					for (int d = 0; d < n; d++) if (d != c) sorties[c].add(new Arc(c, d));
+				}
+			}
+		}
+		return sorties;
+	}
+
+	private static void relier(List<Arc>[] sorties, int a, int b) {
+		sorties[a].add(new Arc(a, b));
+		sorties[b].add(new Arc(b, a));
+	}
+
+	private static void ecrireBC(Writer w, Parametres p, int[] casesLibres, Random hasard) throws IOException {
+		w.write(String.format(Locale.ROOT, "{%n  \"largeur\": %d,%n  \"hauteur\": %d,%n  \"chipset\": \"%s\",%n  \"musique\": \"%s\",%n",
+			p.largeur(), p.hauteur(), echapper(p.chipset()), echapper(p.musique())));
+		final StringBuilder ligne = new StringBuilder(p.largeur() * 5);
+		for (int c = 0; c < NB_COUCHES; c++) {
+			w.write("  \"couche" + c + "\": [\n");
+			for (int i = 0; i < p.hauteur(); i++) {
+				ligne.setLength(0);
+				ligne.append("    [");
+				for (int j = 0; j < p.largeur(); j++) {
+					if (j > 0) ligne.append(", ");
+					ligne.append(hasard.nextDouble() < p.densites()[c] ? 1 + hasard.nextInt(p.nbTuiles()) : 0);
+				}
+				ligne.append((i + 1 < p.hauteur()) ? "],\n" : "]\n");
+				w.append(ligne);
+			}
+			w.write((c + 1 < NB_COUCHES || p.nbEntites() > 0) ? "  ],\n" : "  ]\n");
+		}
+		if (p.nbEntites() > 0) {
+			w.write("  \"entites\": [");
+			final Entites.IA[] etats = Entites.IA.values();
+			for (int e = 0; e < p.nbEntites(); e++) {
+				final int position = casesLibres[hasard.nextInt(casesLibres.length)];
+				w.write(String.format(Locale.ROOT, "%s\n    { \"skin\": \"%s\", \"x\": %d, \"y\": %d, \"pv\": %d, \"ia\": \"%s\" }", (e > 0) ? "," : "",
+					echapper(p.skin()), position % p.largeur(), position / p.largeur(), 10 * (1 + hasard.nextInt(10)), etats[hasard.nextInt(etats.length)].name().toLowerCase(Locale.ROOT)));
+			}
+			w.write("\n  ]\n");
+		}
+		w.write("}\n");
+	}
+
+	/** Murs, puis les téléportations de la carte et des events ordinaires sur des cases libres tirées sans remise (plusieurs par case s'il n'y en a plus) **/
+	private static void ecrireME(Writer w, Parametres p, int carte, boolean[][] murs, int[][] casesLibres, List<Arc> sorties, Random hasard) throws IOException {
+		w.write("{\n  \"murs\": [\n");
+		final StringBuilder ligne = new StringBuilder(p.largeur() * 3);
+		for (int i = 0; i < p.hauteur(); i++) {
+			ligne.setLength(0);
+			ligne.append("    [");
+			for (int j = 0; j < p.largeur(); j++) ligne.append((j > 0) ? ", " : "").append(murs[i][j] ? 1 : 0);
+			ligne.append((i + 1 < p.hauteur()) ? "],\n" : "]\n");
+			w.append(ligne);
+		}
+		w.write("  ],\n  \"ensemblesEvents\": [");
+
+		final int[] libres = casesLibres[carte].clone();
+		final int nbEvents = Math.max(p.nbEvents(), sorties.size());
+		int restantes = libres.length; // Fisher-Yates partiel : les cases tirées passent en fin de tableau
+		for (int e = 0; e < nbEvents; e++) {
+			if (restantes == 0) restantes = libres.length; // plus de case libre : on réutilise les cases déjà tirées
+			final int k = hasard.nextInt(restantes--);
+			final int position = libres[k];
+			libres[k] = libres[restantes];
+			libres[restantes] = position;
+
+			final String event;
+			if (e < sorties.size()) {
+				final Arc arc = sorties.get(e);
+				final int[] destinations = casesLibres[arc.destination()];
+				final int arrivee = destinations[hasard.nextInt(destinations.length)];
+				event = String.format(Locale.ROOT, "{ \"type\": \"TP\", \"xDst\": %d, \"yDst\": %d, \"carteDst\": \"%s\" }",
+					arrivee % p.largeur(), arrivee / p.largeur(), echapper(p.nomCarte(arc.destination())));
+			} else {
+				event = switch (hasard.nextInt(5)) {
+					case 0 -> String.format(Locale.ROOT, "{ \"type\": \"PV\", \"valeur\": %d }", variation(hasard));
+					case 1 -> String.format(Locale.ROOT, "{ \"type\": \"PM\", \"valeur\": %d }", variation(hasard));
+					default -> String.format(Locale.ROOT, "{ \"type\": \"MSG\", \"texte\": \"Event %d de %s\" }", e, echapper(p.nomCarte(carte)));
+				};
+			}
+			w.write(String.format(Locale.ROOT, "%s\n    { \"x\": %d, \"y\": %d, \"events\": [ %s ] }", (e > 0) ? "," : "", position % p.largeur(), position / p.largeur(), event));
+		}
+		w.write((nbEvents > 0) ? "\n  ]\n}\n" : "]\n}\n");
+	}
+
+	/** Dans [-20, -1] ou [1, 20] (une modification de 0 est refusée au chargement) **/
+	private static int variation(Random hasard) { return (1 + hasard.nextInt(20)) * (hasard.nextBoolean() ? 1 : -1); }
+
+	private static String echapper(String s) { return s.replace("\\", "\\\\").replace("\"", "\\\""); }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import core.Camera;
+import core.Config;
+import core.GestionnaireGraphiques;
+import core.Heros;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+
+/**
+ * Outils communs aux harnais lancés sans JMH ({@link Regression}, {@link Endurance}) : environnement sans fenêtre,
+ * rendu d'une frame comme le jeu et lecture des options de la ligne de commande.
+ */
+final class Harnais {
+
+	private Harnais() { throw new AssertionError("La classe Harnais ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	/** Méthodes static **/
+	/**
+	 * Fixe les propriétés slayers.* (lues par Config à son initialisation : avant tout accès au moteur), comme {@link Lanceur}
+	 * pour les JVM de mesure, puis prépare les données des bancs.
+	 * @param audio sortie audio du mixeur ("nulle", "vide" ou "javasound")
+	 */
+	static void preparer(String audio) {
+		final Path racine = Path.of(System.getProperty("bench.donnees", "target/donnees-bench")).toAbsolutePath();
+		final Path dossierCartes = Path.of(System.getProperty("bench.cartes", "../cartes")).toAbsolutePath();
+		System.setProperty("java.awt.headless", "true");
+		System.setProperty("slayers.racine", racine.toString());
+		System.setProperty("slayers.archive", "");
+		System.setProperty("slayers.audio", audio);
+		System.setProperty("slayers.cacheTextures", "");
+		Donnees.preparer(racine, dossierCartes);
+	}
+
+	/** Gestionnaire de dessin du héros suivi par la caméra (fioles et barre d'XP synthétiques) **/
+	static GestionnaireGraphiques dessinateur(Camera camera, Heros heros) {
+		final Font police = new Font(Font.DIALOG, Font.PLAIN, 16);
+		return new GestionnaireGraphiques(camera, heros, police, police,
+			new BufferedImage(16, 72 * 4, BufferedImage.TYPE_INT_ARGB), new BufferedImage(64, 8, BufferedImage.TYPE_INT_ARGB));
+	}
+
+	/** Même ordre de dessin que Jeu.render (sans messages ni menus) **/
+	static void rendre(GestionnaireGraphiques dessiner, Graphics2D g) {
+		dessiner.fondNoir(g);
+		dessiner.couche(g, 0);
+		dessiner.couche(g, 1);
+		dessiner.entites(g);
+		dessiner.heros(g);
+		dessiner.couche(g, 2);
+		dessiner.fiolePV(g, 0);
+		dessiner.fiolePM(g, 0);
+		dessiner.barreXP(g);
+		dessiner.alignement(g);
+		dessiner.FPS(g, Config.FPS);
+	}
+
+	/** Valeur de l'option args[i - 1] **/
+	static String valeur(String[] args, int i) {
+		if (i >= args.length) throw new IllegalArgumentException("Valeur manquante après " + args[i - 1]);
+		return args[i];
+	}
+
+	static int entier(String valeur, String option) {
+		try {
+			final int n = Integer.parseInt(valeur);
+			if (n > 0) return n;
+		} catch (NumberFormatException e) { /* message ci-dessous */ }
+		throw new IllegalArgumentException(option + " : entier positif attendu (" + valeur + ")");
+	}
+}
\ No newline at end of file
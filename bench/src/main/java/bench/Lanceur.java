@@ -0,0 +1,68 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée de benchmarks.jar : mêmes options que JMH, avec en plus
+ * - les données des bancs préparées avant le premier fork ({@link Donnees}) ;
+ * - les JVM de mesure lancées sans fenêtre, sans son, sans cache de textures, sur ces données
+ *   (-Dbench.cartes=dossier : autre dossier de cartes, -Dslayers.tailleCarteMax transmis) ;
+ * - les résultats écrits en JSON dans resultats/jmh-AAAAMMJJ-HHMMSS.json (sauf si -rf / -rff sont précisés),
+ *   pour comparer deux versions du moteur.
+ */
+public final class Lanceur {
+
+	private Lanceur() { throw new AssertionError("La classe Lanceur ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	public static void main(String[] args) throws Exception {
+		final CommandLineOptions cli = new CommandLineOptions(args);
+		if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams() || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+			Main.main(args); // aide et listes : rien à préparer
+			return;
+		}
+
+		final Path racine = Path.of(System.getProperty("bench.donnees", "target/donnees-bench")).toAbsolutePath();
+		final Path cartes = Path.of(System.getProperty("bench.cartes", "../cartes")).toAbsolutePath();
+		Donnees.preparer(racine, cartes);
+
+		final List<String> jvmArgs = new ArrayList<>(cli.getJvmArgsAppend().orElse(List.of()));
+		jvmArgs.addAll(List.of("-Djava.awt.headless=true", "-Dslayers.racine=" + racine, "-Dslayers.archive=",
+			"-Dslayers.audio=nulle", "-Dslayers.cacheTextures=", "-Dbench.cartes=" + cartes));
+		if (System.getProperty("slayers.tailleCarteMax") != null) jvmArgs.add("-Dslayers.tailleCarteMax=" + System.getProperty("slayers.tailleCarteMax")); // mondes synthétiques
+
+		final ChainedOptionsBuilder options = new OptionsBuilder().parent(cli).jvmArgsAppend(jvmArgs.toArray(String[]::new));
+		if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+		if (!cli.getResult().hasValue()) {
+			final String horodatage = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+			Files.createDirectories(Path.of("resultats"));
+			options.result("resultats/jmh-" + horodatage + ".json");
+		}
+		new Runner(options.build()).run();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,400 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import core.Camera;
+import core.Carte;
+import core.Config;
+import core.Directions;
+import core.EnsembleEvents;
+import core.GestionnaireGraphiques;
+import core.Heros;
+import core.Position;
+import events.Event;
+import events.Event_LVLUP;
+import events.Event_ModifPM;
+import events.Event_ModifPV;
+import events.Event_TP;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import perf.Histogramme;
+
+/**
+ * Passe de non-régression des performances, sans fenêtre ni son, sur toutes les cartes chargées par ChargerCartes
+ * (avec les ressources synthétiques de {@link Donnees}).
+ *
+ * {@link core.Jeu} a besoin d'une fenêtre et des vraies ressources : la passe reproduit donc son tick et son rendu
+ * avec les mêmes composants (carte, héros, caméra, {@link GestionnaireGraphiques} dans une image hors écran).
+ * Sur chaque carte, le héros parcourt un trajet scripté (carrés de {@link #TICKS_PAR_COTE} ticks), chaque event
+ * de la carte est déclenché tour à tour (téléportation aller-retour comprise), puis on mesure un nombre fixe de ticks
+ * et de frames (Config.FPS / Config.UPS frames par tick) après un échauffement, plusieurs fois de suite (répétitions).
+ *
+ * Résultats par carte, médianes des répétitions : p50 et p99 des frames, p99 des ticks, octets alloués par frame
+ * (ticks compris) et débit d'allocation à Config.FPS images/s ; max des frames et écart entre le plus grand et le plus
+ * petit p99 des répétitions (bruit de mesure). Ils sont écrits dans resultats/regression-AAAAMMJJ-HHMMSS.json puis comparés
+ * à la référence : une carte régresse si son p99 des frames ou ses allocations dépassent la référence de plus du seuil,
+ * et son p99 de plus que l'écart entre répétitions. Les cartes en régression sont remesurées : code de sortie 1
+ * seulement si la régression se confirme, 2 en cas d'erreur. Sans référence, les résultats deviennent la référence.
+ *
+ * Usage : java -cp target/benchmarks.jar bench.Regression [--reference fichier] [--ecrire-reference]
+ *         [--ticks n] [--repetitions n] [--seuil-p99 %] [--seuil-alloc %] [--cartes nom1,nom2]
+ */
+public final class Regression {
+
+	private Regression() { throw new AssertionError("La classe Regression ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final int TICKS_PAR_COTE = 24; // trajet : 6 cases par côté à 30 UPS
+	private static final int TICKS_ENTRE_EVENTS = 30; // un ensemble d'events déclenché chaque seconde de jeu
+	private static final Directions[] CARRE = { Directions.DROITE, Directions.BAS, Directions.GAUCHE, Directions.HAUT };
+	private static final long ECART_MIN_OCTETS = 512L;
+
+	/** Mesures d'une carte (durées en ns), médianes des répétitions ; ecartP99FrameNs : plus grand moins plus petit p99 des répétitions **/
+	record ResultatCarte(long p50FrameNs, long p99FrameNs, long maxFrameNs, long p99TickNs, long octetsParFrame, long koParSeconde, int nbEvents,
+		long ecartP99FrameNs) {}
+
+	/** Contenu des fichiers de résultats et de référence (ticks et frames : par répétition) **/
+	record Rapport(String date, String java, String os, int ticks, int frames, int repetitions, Map<String, ResultatCarte> cartes) {}
+
+	private static final class Options {
+		Path reference = Path.of("regression/reference.json");
+		boolean ecrireReference = false;
+		int ticks = 300; // par répétition
+		int repetitions = 5;
+		double seuilP99 = 20.0, seuilAlloc = 20.0; // en %
+		Set<String> cartes = null; // null : toutes
+	}
+
+	public static void main(String[] args) {
+		final Options options;
+		try {
+			options = lireOptions(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println("[ERREUR] " + e.getMessage());
+			System.err.println("Usage : bench.Regression [--reference fichier] [--ecrire-reference] [--ticks n] [--repetitions n] [--seuil-p99 %] [--seuil-alloc %] [--cartes nom1,nom2]");
+			System.exit(2);
+			return;
+		}
+
+		try {
+			Harnais.preparer("nulle");
+			final Map<String, Carte> cartes = cartes(options);
+			final Rapport rapport = mesurer(cartes, options);
+			final Path fichier = ecrire(rapport, Path.of("resultats").resolve("regression-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+			System.out.println("Résultats : " + fichier.toAbsolutePath());
+
+			if (options.ecrireReference || !Files.exists(options.reference)) {
+				ecrire(rapport, options.reference);
+				System.out.println("Référence " + (options.ecrireReference ? "remplacée" : "créée") + " : " + options.reference.toAbsolutePath());
+				System.exit(0);
+			}
+			final Rapport reference = lire(options.reference);
+			final Set<String> suspectes = comparer(rapport, reference, options, false);
+			if (suspectes.isEmpty()) System.exit(0);
+
+			System.out.println("Nouvelle mesure des cartes en régression :");
+			cartes.keySet().retainAll(suspectes);
+			final Set<String> regressions = comparer(mesurer(cartes, options), reference, options, true);
+			System.exit(regressions.isEmpty() ? 0 : 1);
+		} catch (RuntimeException | IOException e) {
+			System.err.println("[ERREUR] Passe de non-régression : " + e);
+			System.exit(2);
+		}
+	}
+
+	private static Options lireOptions(String[] args) {
+		final Options o = new Options();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--reference" -> o.reference = Path.of(Harnais.valeur(args, ++i));
+				case "--ecrire-reference" -> o.ecrireReference = true;
+				case "--ticks" -> o.ticks = Harnais.entier(Harnais.valeur(args, i + 1), args[i++]);
+				case "--repetitions" -> o.repetitions = Harnais.entier(Harnais.valeur(args, i + 1), args[i++]);
+				case "--seuil-p99" -> o.seuilP99 = pourcentage(Harnais.valeur(args, i + 1), args[i++]);
+				case "--seuil-alloc" -> o.seuilAlloc = pourcentage(Harnais.valeur(args, i + 1), args[i++]);
+				case "--cartes" -> o.cartes = new TreeSet<>(List.of(Harnais.valeur(args, ++i).split(",")));
+				default -> throw new IllegalArgumentException("Option inconnue : " + args[i]);
+			}
+		}
+		return o;
+	}
+
+	private static double pourcentage(String valeur, String option) {
+		try {
+			final double p = Double.parseDouble(valeur);
+			if (p >= 0) return p;
+		} catch (NumberFormatException e) { /* message ci-dessous */ }
+		throw new IllegalArgumentException(option + " : pourcentage positif attendu (" + valeur + ")");
+	}
+
+	/** Mesures **/
+	/** Cartes à mesurer, par nom (toutes, ou celles de --cartes) **/
+	private static Map<String, Carte> cartes(Options options) {
+		final Map<String, Carte> cartes = new TreeMap<>(Donnees.monde().getCartes());
+		if (options.cartes != null) {
+			for (String nom : options.cartes) if (!cartes.containsKey(nom)) throw new IllegalArgumentException("Carte inconnue : " + nom);
+			cartes.keySet().retainAll(options.cartes);
+		}
+		return cartes;
+	}
+
+	private static Rapport mesurer(Map<String, Carte> cartes, Options options) {
+		final int framesParTick = Math.max(1, Config.FPS / Config.UPS);
+		final Map<String, ResultatCarte> resultats = new TreeMap<>();
+		System.out.printf(Locale.ROOT, "%-32s %9s %9s %9s %9s %9s %12s %9s %7s%n", "Carte", "p50 ms", "p99 ms", "écart ms", "max ms", "tick p99", "octets/frame", "Ko/s", "events");
+		for (Carte carte : cartes.values()) {
+			final ResultatCarte r = new Passe(carte, framesParTick).executer(options.ticks, options.repetitions);
+			resultats.put(carte.getNom(), r);
+			System.out.printf(Locale.ROOT, "%-32s %9.3f %9.3f %9.3f %9.3f %9.3f %12d %9d %7d%n", carte.getNom(), r.p50FrameNs() / 1e6, r.p99FrameNs() / 1e6,
+				r.ecartP99FrameNs() / 1e6, r.maxFrameNs() / 1e6, r.p99TickNs() / 1e6, r.octetsParFrame(), r.koParSeconde(), r.nbEvents());
+		}
+		return new Rapport(LocalDateTime.now().toString(), System.getProperty("java.version"),
+			System.getProperty("os.name") + " " + System.getProperty("os.arch"), options.ticks, options.ticks * framesParTick, options.repetitions, resultats);
+	}
+
+	private static long mediane(long[] valeurs) {
+		final long[] triees = valeurs.clone();
+		Arrays.sort(triees);
+		return triees[triees.length / 2];
+	}
+
+	/** Une carte : trajet scripté, events déclenchés, ticks et frames mesurés **/
+	private static final class Passe {
+		private final Carte carte;
+		private final int framesParTick;
+		private final List<EnsembleEvents> ensembles;
+		private final Heros heros;
+		private final Camera camera = new Camera();
+		private final BufferedImage ecran = new BufferedImage(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+		private final Histogramme frames = new Histogramme("frames"), ticks = new Histogramme("ticks");
+		private GestionnaireGraphiques dessiner;
+		private EnsembleEvents dernierTouche;
+		private int prochainEnsemble = 0, nbEvents = 0;
+
+		Passe(Carte carte, int framesParTick) {
+			this.carte = carte;
+			this.framesParTick = framesParTick;
+			this.ensembles = new ArrayList<>();
+			carte.getEvents().entrySet().stream()
+				.sorted(Map.Entry.comparingByKey(Comparator.comparingInt(Position::y).thenComparingInt(Position::x)))
+				.forEach(e -> ensembles.add(e.getValue()));
+			final int[] depart = caseLibre(carte);
+			this.heros = Donnees.heros(carte, depart[0], depart[1]);
+		}
+
+		/** Échauffement puis répétitions des mêmes ticks, chacune repartant de la même position **/
+		ResultatCarte executer(int nbTicks, int repetitions) {
+			carte.activer();
+			camera.setCible(heros);
+			camera.update();
+			camera.sync();
+			dessiner = Harnais.dessinateur(camera, heros);
+			final Graphics2D g = ecran.createGraphics();
+			final Position depart = heros.getPosition();
+			try {
+				for (int t = 0; t < nbTicks / 2; t++) tick(t, g, false); // échauffement (JIT, chipsets des destinations)
+
+				final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+				final long[] p50 = new long[repetitions], p99 = new long[repetitions], p99Ticks = new long[repetitions], octetsParFrame = new long[repetitions];
+				long max = 0L;
+				for (int r = 0; r < repetitions; r++) {
+					heros.modifierPosition(depart.x(), depart.y());
+					nbEvents = 0;
+					prochainEnsemble = 0;
+					frames.reinitialiser();
+					ticks.reinitialiser();
+					System.gc();
+
+					final long alloc = threads.getCurrentThreadAllocatedBytes();
+					for (int t = 0; t < nbTicks; t++) tick(t, g, true);
+					octetsParFrame[r] = (threads.getCurrentThreadAllocatedBytes() - alloc) / Math.max(1L, frames.getNb());
+					p50[r] = frames.getPercentile(50);
+					p99[r] = frames.getPercentile(99);
+					p99Ticks[r] = ticks.getPercentile(99);
+					max = Math.max(max, frames.getMax());
+				}
+
+				final long octets = mediane(octetsParFrame);
+				return new ResultatCarte(mediane(p50), mediane(p99), max, mediane(p99Ticks), octets, octets * Config.FPS / 1024, nbEvents,
+					Arrays.stream(p99).max().getAsLong() - Arrays.stream(p99).min().getAsLong());
+			} finally {
+				g.dispose();
+				carte.desactiver();
+			}
+		}
+
+		private void tick(int t, Graphics2D g, boolean mesure) {
+			final long debut = System.nanoTime();
+			heros.deplacer(CARRE[(t / TICKS_PAR_COTE) & 3]);
+			camera.update();
+			carte.mettreAJourSourcesSonores();
+			carte.mettreAJourEntites(heros.getX(), heros.getY());
+			final EnsembleEvents touche = carte.detecterCollisionsEvents(heros.getHitBox());
+			if (touche != null && touche != dernierTouche) declencher(touche, g);
+			dernierTouche = touche;
+			if (!ensembles.isEmpty() && t % TICKS_ENTRE_EVENTS == TICKS_ENTRE_EVENTS - 1) {
+				declencher(ensembles.get(prochainEnsemble), g);
+				prochainEnsemble = (prochainEnsemble + 1) % ensembles.size();
+			}
+			if (mesure) ticks.enregistrer(System.nanoTime() - debut);
+
+			for (int f = 1; f <= framesParTick; f++) {
+				final long debutFrame = System.nanoTime();
+				camera.interpolate((double) f / framesParTick);
+				Harnais.rendre(dessiner, g);
+				if (mesure) frames.enregistrer(System.nanoTime() - debutFrame);
+			}
+		}
+
+		/** Effets des events de la première page, comme Jeu.executeEvent (musiques sans effet : aucune sortie audio) **/
+		private void declencher(EnsembleEvents ensemble, Graphics2D g) {
+			if (ensemble.getPageEvents().isEmpty()) return;
+			for (Event ev : ensemble.getPageEvents().get(0)) {
+				switch (ev) {
+					case Event_TP tp -> allerRetour(tp, g);
+					case Event_ModifPV e -> heros.modifierPV(e.getPV());
+					case Event_ModifPM e -> heros.modifierPM(e.getPM());
+					case Event_LVLUP e -> heros.levelUP();
+					default -> { /* message, musique : rien à calculer hors affichage */ }
+				}
+				nbEvents++;
+			}
+		}
+
+		/** Téléportation comme Jeu.executeEvent_TP (frame de la destination comprise), puis retour sur la carte mesurée **/
+		private void allerRetour(Event_TP tp, Graphics2D g) {
+			final Carte destination = tp.getCarteDst();
+			final Position position = heros.getPosition();
+			if (destination != carte) {
+				destination.activer();
+				heros.setCarteActuelle(destination);
+				carte.desactiver();
+			}
+			heros.modifierPosition(tp.getXDst(), tp.getYDst());
+			camera.update();
+			camera.sync();
+			Harnais.rendre(dessiner, g);
+
+			if (destination != carte) {
+				carte.activer();
+				heros.setCarteActuelle(carte);
+				destination.desactiver();
+			}
+			heros.modifierPosition(position.x(), position.y());
+			camera.update();
+			camera.sync();
+		}
+
+		/** Case sans mur la plus proche du centre de la carte {x, y} **/
+		private static int[] caseLibre(Carte carte) {
+			final int ci = carte.getHauteur() / 2, cj = carte.getLargeur() / 2;
+			int[] meilleure = { cj, ci };
+			long distance = Long.MAX_VALUE;
+			for (int i = 0; i < carte.getHauteur(); i++) {
+				for (int j = 0; j < carte.getLargeur(); j++) {
+					final long d = (long) (i - ci) * (i - ci) + (long) (j - cj) * (j - cj);
+					if (d < distance && !carte.estMur(i, j)) { distance = d; meilleure = new int[] { j, i }; }
+				}
+			}
+			return meilleure;
+		}
+	}
+
+	/** Comparaison **/
+	/**
+	 * Affiche la comparaison carte par carte et renvoie les cartes en régression.
+	 * Le p99 doit dépasser la référence de plus du seuil et de plus que l'écart entre répétitions (le plus grand des deux mesurés).
+	 * @param confirmation nouvelle mesure des cartes en régression à la première comparaison
+	 */
+	private static Set<String> comparer(Rapport actuel, Rapport reference, Options options, boolean confirmation) {
+		if (!confirmation && (reference.ticks() != actuel.ticks() || reference.repetitions() != actuel.repetitions())) {
+			System.out.println("[AVERTISSEMENT] Référence mesurée sur " + reference.repetitions() + " x " + reference.ticks() + " ticks ("
+				+ actuel.repetitions() + " x " + actuel.ticks() + " ici) : comparaison approximative");
+		}
+		final String etiquette = confirmation ? "[REGRESSION]" : "[A CONFIRMER]";
+		final Set<String> regressions = new TreeSet<>();
+		for (Map.Entry<String, ResultatCarte> e : actuel.cartes().entrySet()) {
+			final ResultatCarte ref = reference.cartes().get(e.getKey()), r = e.getValue();
+			if (ref == null) { System.out.println("  " + e.getKey() + " : nouvelle carte (absente de la référence)"); continue; }
+
+			final long bruit = Math.max(r.ecartP99FrameNs(), ref.ecartP99FrameNs());
+			final boolean p99 = regresse(r.p99FrameNs(), ref.p99FrameNs(), options.seuilP99, bruit);
+			final boolean alloc = regresse(r.octetsParFrame(), ref.octetsParFrame(), options.seuilAlloc, ECART_MIN_OCTETS);
+			if (p99) System.out.printf(Locale.ROOT, "%s %s : p99 des frames %.3f ms (référence %.3f ms, seuil +%.0f %%, écart entre répétitions %.3f ms)%n",
+				etiquette, e.getKey(), r.p99FrameNs() / 1e6, ref.p99FrameNs() / 1e6, options.seuilP99, bruit / 1e6);
+			if (alloc) System.out.printf(Locale.ROOT, "%s %s : %d octets alloués par frame (référence %d, seuil +%.0f %%)%n",
+				etiquette, e.getKey(), r.octetsParFrame(), ref.octetsParFrame(), options.seuilAlloc);
+			if (p99 || alloc) regressions.add(e.getKey());
+		}
+		if (!confirmation) {
+			for (String nom : reference.cartes().keySet()) {
+				if (!actuel.cartes().containsKey(nom) && options.cartes == null) System.out.println("  " + nom + " : carte de la référence absente");
+			}
+		}
+		if (regressions.isEmpty()) System.out.println(confirmation ? "Régression non confirmée (bruit de mesure)." : "Aucune régression.");
+		else System.out.println(regressions.size() + " carte(s) en régression" + (confirmation ? " confirmée." : ", à confirmer."));
+		return regressions;
+	}
+
+	private static boolean regresse(long valeur, long reference, double seuilPct, long ecartMin) {
+		return valeur - reference > ecartMin && valeur > reference * (1.0 + seuilPct / 100.0);
+	}
+
+	/** Fichiers **/
+	private static Gson gson() { return new GsonBuilder().setPrettyPrinting().create(); }
+
+	private static Path ecrire(Rapport rapport, Path fichier) {
+		try {
+			final Path parent = fichier.toAbsolutePath().getParent();
+			if (parent != null) Files.createDirectories(parent);
+			try (Writer w = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) { gson().toJson(rapport, w); }
+			return fichier;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Écriture de " + fichier, e);
+		}
+	}
+
+	private static Rapport lire(Path fichier) throws IOException {
+		try (Reader r = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+			final Rapport rapport = gson().fromJson(r, Rapport.class);
+			if (rapport == null || rapport.cartes() == null) throw new JsonParseException("référence vide");
+			return rapport;
+		} catch (JsonParseException e) {
+			throw new IOException("Référence " + fichier + " illisible : " + e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Archive unique regroupant toutes les ressources du jeu (images, musiques, bruitages, cartes).
+ *
+ * Format (big-endian) :
+ * - en-tête : magic "SLPK", version, nombre d'entrées
+ * - index : pour chaque entrée, nom (UTF-8, préfixé par sa longueur sur 2 octets), offset, longueur stockée,
+ *   longueur originale, CRC32 des données originales, compression (0 = aucune, 1 = deflate)
+ * - données des entrées, à la suite
+ *
+ * L'archive est projetée en mémoire (mmap) : une entrée non compressée est rendue sous forme de tranche
+ * {@link ByteBuffer} sans aucune copie. Voir {@link ConstructeurArchive} pour la construire.
+ */
+public final class Archive {
+
+	static final int MAGIC = 0x534C504B; // "SLPK"
+	static final int VERSION = 1;
+	static final byte SANS_COMPRESSION = 0, DEFLATE = 1;
+
+	/** Entrée de l'index **/
+	public record Entree(String nom, long offset, int longueur, int longueurOriginale, int crc32, byte compression) {}
+
+	private final Path chemin;
+	private final MappedByteBuffer donnees;
+	private final Map<String, Entree> index;
+	private final Set<String> verifiees = ConcurrentHashMap.newKeySet(); // CRC vérifié à la première lecture de chaque entrée
+
+	/** Méthodes static **/
+	public static Archive ouvrir(Path chemin) throws IOException {
+		try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+			if (canal.size() > Integer.MAX_VALUE) throw new IOException("Archive de plus de 2 Go (" + canal.size() + " octets), non supportée : " + chemin); // une seule projection, offsets en int
+			return new Archive(chemin, canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size())); // la projection survit à la fermeture du canal
+		}
+	}
+
+	private static Map<String, Entree> lireIndex(ByteBuffer donnees, Path chemin) throws IOException {
+		if (donnees.remaining() < 12 || donnees.getInt() != MAGIC) throw new IOException("Archive invalide (magic) : " + chemin);
+		final int version = donnees.getInt();
+		if (version != VERSION) throw new IOException("Version d'archive non supportée (" + version + ") : " + chemin);
+
+		final int nbEntrees = donnees.getInt();
+		final Map<String, Entree> index = new HashMap<>(nbEntrees * 2);
+		for (int e = 0; e < nbEntrees; e++) {
+			final byte[] nom = new byte[donnees.getShort() & 0xFFFF];
+			donnees.get(nom);
+			final Entree entree = new Entree(new String(nom, StandardCharsets.UTF_8), donnees.getLong(), donnees.getInt(), donnees.getInt(), donnees.getInt(), donnees.get());
+			if (entree.offset() < 0 || entree.offset() + entree.longueur() > donnees.capacity()) throw new IOException("Entrée hors de l'archive : " + entree.nom());
+			index.put(entree.nom(), entree);
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	/** Constructeur **/
+	private Archive(Path chemin, MappedByteBuffer donnees) throws IOException {
+		this.chemin = chemin;
+		this.donnees = donnees;
+		this.index = lireIndex(donnees.duplicate(), chemin);
+	}
+
+	/** Getters **/
+	public Path getChemin() { return chemin; }
+	public boolean contient(String nom) { return index.containsKey(nom); }
+	public Entree getEntree(String nom) { return index.get(nom); }
+	public int getNbEntrees() { return index.size(); }
+
+	/** Autres méthodes **/
+	/** Noms des entrées du dossier donné (sans sous-dossiers) se terminant par le suffixe, triés **/
+	public List<String> lister(String dossier, String suffixe) {
+		final String prefixe = dossier.endsWith("/") ? dossier : dossier + "/";
+		final List<String> noms = new ArrayList<>();
+		for (String nom : index.keySet()) {
+			if (nom.startsWith(prefixe) && nom.endsWith(suffixe) && nom.indexOf('/', prefixe.length()) < 0) noms.add(nom);
+		}
+		Collections.sort(noms);
+		return noms;
+	}
+
+	/**
+	 * Contenu d'une entrée (lecture seule) : tranche de l'archive projetée (aucune copie) si elle n'est pas compressée.
+	 * @return null si l'entrée n'existe pas
+	 */
+	public ByteBuffer lire(String nom) throws IOException {
+		final Entree entree = index.get(nom);
+		if (entree == null) return null;
+
+		final ByteBuffer stockee = donnees.slice((int) entree.offset(), entree.longueur()).asReadOnlyBuffer(); // offset < taille de l'archive < 2 Go (vérifié à l'ouverture)
+		final ByteBuffer contenu = switch (entree.compression()) {
+			case SANS_COMPRESSION -> stockee;
+			case DEFLATE -> decompresser(entree, stockee);
+			default -> throw new IOException("Compression inconnue (" + entree.compression() + ") pour " + nom);
+		};
+		verifier(entree, contenu);
+		return contenu;
+	}
+
+	private static ByteBuffer decompresser(Entree entree, ByteBuffer stockee) throws IOException {
+		final Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(stockee);
+			final ByteBuffer resultat = ByteBuffer.allocate(entree.longueurOriginale());
+			while (resultat.hasRemaining() && !inflater.finished()) {
+				if (inflater.inflate(resultat) == 0 && inflater.needsInput()) break;
+			}
+			if (resultat.hasRemaining()) throw new IOException("Entrée compressée tronquée : " + entree.nom());
+			return resultat.flip().asReadOnlyBuffer();
+		} catch (DataFormatException e) {
+			throw new IOException("Entrée compressée corrompue : " + entree.nom(), e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private void verifier(Entree entree, ByteBuffer contenu) throws IOException {
+		if (verifiees.contains(entree.nom())) return;
+		final CRC32 crc = new CRC32();
+		crc.update(contenu.duplicate());
+		if ((int) crc.getValue() != entree.crc32()) throw new IOException("Somme de contrôle invalide pour " + entree.nom() + " dans " + chemin);
+		verifiees.add(entree.nom());
+	}
+}
\ No newline at end of file
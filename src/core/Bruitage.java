@@ -15,70 +15,73 @@
 
 package core;
 
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import javax.sound.sampled.LineUnavailableException;
-import java.io.File;
+import audio.Echantillons;
+import audio.Mixeur;
+import audio.PoolVoix;
 import java.io.IOException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
- * Gère la lecture de bruitages courts (.wav), préchargés en mémoire.
- * Lecture non bloquante via un pool de threads.
+ * Gère la lecture de bruitages courts (.wav), décodés une fois en mémoire.
+ * Lecture non bloquante et sans allocation : chaque appel dépose une commande au {@link Mixeur}.
+ * Plusieurs lectures du même bruitage se superposent, dans la limite de sa polyphonie.
+ * Un bruitage émis à une position de la carte ({@link #jouerA}) est spatialisé ({@link Spatialisation})
+ * et n'occupe aucune voix s'il est hors de portée de l'auditeur.
  * Idéal pour les sons d'attaque, d’impact, de menu, etc.
  */
 public final class Bruitage implements AutoCloseable {
 
 	private static final String DOSSIER = "bruitages";
-	private static final ExecutorService EXECUTEUR = Executors.newCachedThreadPool(r -> {
-		Thread t = new Thread(r, "Bruitage-Thread");
-		t.setDaemon(true);
-		return t;
-	});
-
-	static {
-		Runtime.getRuntime().addShutdownHook(new Thread(Bruitage::shutdown, "Bruitage-Shutdown")); // Fermeture automatique à l’arrêt du programme
-	}
+	public static final int PRIORITE_NORMALE = 0; // plus grand = garde sa voix quand le mixeur est saturé
 
 	private final String nom;
-	private final Clip clip;
+	private final String chemin; // relatif, lu dans l'archive des ressources ou sur disque
+	private final PoolVoix voix;
+	private final int priorite;
 
 	/** Constructeur **/
-	public Bruitage(String nomFichier) {
+	public Bruitage(String nomFichier) { this(nomFichier, Config.POLYPHONIE_BRUITAGES, PRIORITE_NORMALE); }
+
+	public Bruitage(String nomFichier, int polyphonie, int priorite) {
 		if (nomFichier == null || nomFichier.isBlank()) throw new IllegalArgumentException("Nom du bruitage null ou vide");
 
 		this.nom = nomFichier;
-		File fichier = new File(DOSSIER, nomFichier);
-		if (!fichier.exists()) throw new IllegalStateException("Fichier introuvable : " + fichier.getAbsolutePath());
-
-		try (AudioInputStream ais = AudioSystem.getAudioInputStream(fichier)) {
-			clip = AudioSystem.getClip();
-			clip.open(ais); // charge tout en mémoire
-		}
-		catch (UnsupportedAudioFileException e) { throw new RuntimeException("Format audio non supporté pour " + nom, e); }
-		catch (LineUnavailableException e) { throw new RuntimeException("Ligne audio indisponible pour " + nom, e); }
+		this.priorite = priorite;
+		this.chemin = DOSSIER + "/" + nomFichier;
+		if (!Fichiers.existe(chemin)) throw new IllegalStateException("Fichier introuvable : " + chemin);
+
+		final Echantillons son;
+		try { son = Echantillons.decoder(chemin); } // charge tout en mémoire
 		catch (IOException e) { throw new RuntimeException("Erreur lecture fichier : " + nom, e); }
+		voix = new PoolVoix(son, polyphonie, PoolVoix.Vol.depuis(Config.VOL_VOIX_BRUITAGES));
 	}
 
+	/** Getters **/
 	public String getNom() { return nom; }
+	public String getChemin() { return chemin; }
+	public Echantillons getEchantillons() { return voix.getSon(); }
+	public int getPolyphonie() { return voix.getPolyphonie(); }
+	public int getPriorite() { return priorite; }
+
+	/** Autres méthodes **/
 	public void play() { play(false); }
+	public void play(boolean loop) { jouer(1f, 0f, loop); }
+
+	/** Joue le son sur une nouvelle voix (gain >= 0, panoramique dans [-1 ; 1]) **/
+	public void jouer(float gain, float pan, boolean loop) { Mixeur.getInstance().jouer(voix, gain, pan, loop, priorite); }
+
+	/** Joue le son émis en (x, y), en pixels sur la carte de l'auditeur : false s'il est hors de portée (aucune voix utilisée) **/
+	public boolean jouerA(int x, int y) { return jouerA(x, y, 1f); }
 
-	public void play(boolean loop) {
-		EXECUTEUR.execute(() -> {
-			synchronized (clip) {
-				if (!clip.isOpen()) return; // sécurité
-				if (clip.isRunning()) clip.stop();
-				clip.setFramePosition(0);
-				clip.loop(loop ? Clip.LOOP_CONTINUOUSLY : 0);
-			}
-		});
+	public boolean jouerA(int x, int y, float gain) {
+		if (!Spatialisation.estAudible(x, y)) return false;
+		final float g = Spatialisation.gain(x, y) * gain;
+		if (g <= 0f) return false;
+		jouer(g, Spatialisation.pan(x, y), false);
+		return true;
 	}
 
-	public void stop() { synchronized (clip) { if (clip.isRunning()) clip.stop(); } }
+	/** Arrête toutes les lectures en cours de ce bruitage **/
+	public void stop() { Mixeur.getInstance().arreter(voix); }
 
-	@Override public void close() { synchronized (clip) { if (clip.isOpen()) clip.close(); } }
-	public static void shutdown() { EXECUTEUR.shutdownNow(); }
+	@Override public void close() { stop(); }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Cache disque des textures décodées et pré-découpées (chipsets, skins).
+ *
+ * Chaque entrée contient les pixels ARGB bruts de toutes les tuiles d'une image, tuile après tuile.
+ * Elle est identifiée par le nom de l'image, la taille des tuiles et l'empreinte (CRC32 + taille) du fichier source,
+ * lue directement dans l'index de l'archive des ressources si elle est utilisée :
+ * une image modifiée produit une nouvelle clé et les anciennes entrées de cette image sont supprimées.
+ * Au démarrage suivant, l'entrée est relue par projection mémoire (mmap) au lieu de redécoder le PNG.
+ */
+public final class CacheTextures {
+
+	private CacheTextures() { throw new AssertionError("La classe CacheTextures ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final int MAGIC = 0x534C5458; // "SLTX"
+	private static final int VERSION = 1;
+	private static final int TAILLE_ENTETE = 6 * Integer.BYTES; // magic, version, largeurTuile, hauteurTuile, nbLignes, nbColonnes
+	private static final String EXTENSION = ".argb";
+
+	/** Méthodes static **/
+	private static String prefixeEntree(String chemin, int largeurTuile, int hauteurTuile) {
+		return Path.of(chemin).getFileName().toString().replaceAll("[^A-Za-z0-9._-]", "_") + "_" + largeurTuile + "x" + hauteurTuile + "_";
+	}
+
+	private static BufferedImage[] creerTuiles(int nbTuiles, int largeurTuile, int hauteurTuile) {
+		BufferedImage[] tuiles = new BufferedImage[nbTuiles];
+		for (int t = 0; t < nbTuiles; t++) tuiles[t] = new BufferedImage(largeurTuile, hauteurTuile, BufferedImage.TYPE_INT_ARGB);
+		return tuiles;
+	}
+
+	/**
+	 * Charge les tuiles (de gauche à droite puis de haut en bas) de la grille nbLignes * nbColonnes en haut à gauche de l'image.
+	 * @return null si l'image source est introuvable
+	 */
+	public static BufferedImage[] charger(String chemin, int largeurTuile, int hauteurTuile, int nbLignes, int nbColonnes) {
+		if (!Fichiers.existe(chemin)) { System.err.println("Fichier introuvable : " + chemin); return null; }
+
+		final String dossier = Config.DOSSIER_CACHE_TEXTURES;
+		if (dossier.isBlank()) return decoder(chemin, largeurTuile, hauteurTuile, nbLignes, nbColonnes); // cache désactivé
+
+		final Path dossierCache = Path.of(dossier);
+		final String prefixe = prefixeEntree(chemin, largeurTuile, hauteurTuile);
+		BufferedImage[] tuiles = null;
+		try {
+			final Path entree = dossierCache.resolve(prefixe + Fichiers.empreinte(chemin) + EXTENSION);
+			if (Files.exists(entree)) {
+				tuiles = lireEntree(entree, largeurTuile, hauteurTuile, nbLignes, nbColonnes);
+				if (tuiles != null) return tuiles;
+			}
+
+			tuiles = decoder(chemin, largeurTuile, hauteurTuile, nbLignes, nbColonnes);
+			if (tuiles == null) return null;
+			Files.createDirectories(dossierCache);
+			supprimerEntreesObsoletes(dossierCache, prefixe);
+			ecrireEntree(entree, tuiles, largeurTuile, hauteurTuile, nbLignes, nbColonnes);
+			return tuiles;
+		} catch (IOException e) {
+			System.err.println("[AVERTISSEMENT] Cache de textures indisponible pour " + chemin + " : " + e.getMessage());
+			return (tuiles != null) ? tuiles : decoder(chemin, largeurTuile, hauteurTuile, nbLignes, nbColonnes); // déjà décodées : pas de second décodage
+		}
+	}
+
+	private static BufferedImage[] decoder(String chemin, int largeurTuile, int hauteurTuile, int nbLignes, int nbColonnes) {
+		final BufferedImage image = Util.chargerImage(chemin);
+		if (image == null) return null;
+		if (nbColonnes * largeurTuile > image.getWidth() || nbLignes * hauteurTuile > image.getHeight()) {
+			throw new IllegalArgumentException("Image " + chemin + " trop petite pour " + nbLignes + " x " + nbColonnes + " tuiles de " + largeurTuile + "x" + hauteurTuile);
+		}
+
+		final BufferedImage[] tuiles = creerTuiles(nbLignes * nbColonnes, largeurTuile, hauteurTuile);
+		final int[] pixels = new int[largeurTuile * hauteurTuile];
+		for (int i = 0; i < nbLignes; i++) {
+			for (int j = 0; j < nbColonnes; j++) {
+				image.getRGB(j * largeurTuile, i * hauteurTuile, largeurTuile, hauteurTuile, pixels, 0, largeurTuile);
+				tuiles[i * nbColonnes + j].getRaster().setDataElements(0, 0, largeurTuile, hauteurTuile, pixels); // copie (l'image reste accélérable)
+			}
+		}
+		return tuiles;
+	}
+
+	/**
+	 * Tuiles de l'entrée, null si elle est tronquée ou d'une autre grille (elle est alors régénérée).
+	 * L'entête est vérifié par une lecture simple avant la projection : une entrée rejetée n'est jamais projetée,
+	 * sa suppression n'est donc pas bloquée (sous Windows) par une projection que seul le GC peut libérer.
+	 */
+	private static BufferedImage[] lireEntree(Path entree, int largeurTuile, int hauteurTuile, int nbLignes, int nbColonnes) throws IOException {
+		try (FileChannel canal = FileChannel.open(entree, StandardOpenOption.READ)) {
+			final int nbTuiles = nbLignes * nbColonnes;
+			final long tailleAttendue = TAILLE_ENTETE + (long) nbTuiles * largeurTuile * hauteurTuile * Integer.BYTES;
+			if (canal.size() != tailleAttendue) return null;
+
+			final ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE).order(ByteOrder.LITTLE_ENDIAN);
+			while (entete.hasRemaining()) if (canal.read(entete) < 0) return null;
+			entete.flip();
+			if (entete.getInt() != MAGIC || entete.getInt() != VERSION || entete.getInt() != largeurTuile || entete.getInt() != hauteurTuile
+				|| entete.getInt() != nbLignes || entete.getInt() != nbColonnes) return null;
+
+			MappedByteBuffer mappe = canal.map(FileChannel.MapMode.READ_ONLY, TAILLE_ENTETE, tailleAttendue - TAILLE_ENTETE);
+			IntBuffer donnees = mappe.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+			final BufferedImage[] tuiles = creerTuiles(nbTuiles, largeurTuile, hauteurTuile);
+			final int[] pixels = new int[largeurTuile * hauteurTuile];
+			for (BufferedImage tuile : tuiles) {
+				donnees.get(pixels);
+				tuile.getRaster().setDataElements(0, 0, largeurTuile, hauteurTuile, pixels);
+			}
+			return tuiles;
+		}
+	}
+
+	private static void ecrireEntree(Path entree, BufferedImage[] tuiles, int largeurTuile, int hauteurTuile, int nbLignes, int nbColonnes) throws IOException {
+		final Path temporaire = entree.resolveSibling(entree.getFileName() + ".tmp");
+		final int[] pixels = new int[largeurTuile * hauteurTuile];
+		final ByteBuffer tampon = ByteBuffer.allocate(pixels.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+		try {
+			try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE).order(ByteOrder.LITTLE_ENDIAN);
+				entete.putInt(MAGIC).putInt(VERSION).putInt(largeurTuile).putInt(hauteurTuile).putInt(nbLignes).putInt(nbColonnes).flip();
+				while (entete.hasRemaining()) canal.write(entete);
+
+				for (BufferedImage tuile : tuiles) {
+					tuile.getRaster().getDataElements(0, 0, largeurTuile, hauteurTuile, pixels);
+					tampon.clear();
+					tampon.asIntBuffer().put(pixels);
+					tampon.limit(pixels.length * Integer.BYTES);
+					while (tampon.hasRemaining()) canal.write(tampon);
+				}
+			}
+			Files.move(temporaire, entree, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE); // jamais d'entrée à moitié écrite
+		} finally {
+			Files.deleteIfExists(temporaire); // écriture ou déplacement échoué : pas de .tmp laissé dans le cache
+		}
+	}
+
+	private static void supprimerEntreesObsoletes(Path dossierCache, String prefixe) throws IOException {
+		try (DirectoryStream<Path> entrees = Files.newDirectoryStream(dossierCache, p -> p.getFileName().toString().startsWith(prefixe))) {
+			for (Path entree : entrees) Files.deleteIfExists(entree);
+		}
+	}
+}
\ No newline at end of file
@@ -21,6 +21,7 @@ import java.awt.Rectangle;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Map;
 import java.util.HashMap;
@@ -31,36 +32,33 @@ import java.util.HashMap;
  */
 public final class Carte {
 
-	private static final int TAILLE_CARTE_MAX = 100; // par défaut : 100
 	private static final int NB_COUCHES = 3; // par défaut : 3
-	private static final int TUILE_VIDE = 0;
-	private static final Rectangle[][] MATRICE_RECT_GLOBALE = creerMatriceRectGlobale(); // Matrice de rectangles globale représentant les cases (partagée entre toutes les cartes)
 
 	private final String nom;
 	private final int largeur, hauteur; // en cases
 	private final Chipset chipset;
 	private final Musique musique;
-	private final int[][][] couches; // 3 couches (matrices) de numTuileChipset (C0 < C1 < Héros < C2)
+	private final Couche[] couches; // 3 couches de numTuileChipset (C0 < C1 < Héros < C2), denses ou creuses selon leur remplissage
 	private final boolean[][] murs; // Matrice booléenne représentant les murs sur chaque case (false = pas de mur, true = mur)
 	private final Map<Position, EnsembleEvents> events = new HashMap<>();
+	private final List<SourceSonore> sourcesSonores = new ArrayList<>();
+	private final List<SourceSonore> vueSourcesSonores = Collections.unmodifiableList(sourcesSonores);
+	private final Entites entites; // PNJ et monstres
+	private Chemins chemins; // créé à la première recherche de chemin
 
 	/** Méthodes static **/
-	private static Rectangle[][] creerMatriceRectGlobale() {
+	/** Le rectangle intersecte-t-il la case (i, j) ? (même test que Rectangle.intersects, sans rectangle par case) **/
+	private static boolean intersecteCase(Rectangle rect, int i, int j) {
 		final int tailleCases = Config.TAILLE_CASES;
-		Rectangle[][] matrice = new Rectangle[TAILLE_CARTE_MAX][TAILLE_CARTE_MAX];
-		for (int i = 0; i < TAILLE_CARTE_MAX; i++) {
-			final int y = i * Config.TAILLE_CASES;
-			for (int j = 0; j < TAILLE_CARTE_MAX; j++) {
-				matrice[i][j] = new Rectangle(j * tailleCases, y, tailleCases, tailleCases);
-			}
-		}
-		return matrice;
+		if (rect.width <= 0 || rect.height <= 0) return false;
+		final int x = j * tailleCases, y = i * tailleCases;
+		return rect.x < x + tailleCases && x < rect.x + rect.width && rect.y < y + tailleCases && y < rect.y + rect.height;
 	}
 
 	private static void validerArguments(String nom, int largeur, int hauteur, Chipset chipset) {
 		if (nom == null || nom.isBlank()) throw new IllegalArgumentException("Carte: nom null ou vide");
-		if (largeur < 1 || largeur > TAILLE_CARTE_MAX) throw new IllegalArgumentException("Carte (" + nom + "): largeur < 1 ou > " + TAILLE_CARTE_MAX);
-		if (hauteur < 1 || hauteur > TAILLE_CARTE_MAX) throw new IllegalArgumentException("Carte (" + nom + "): hauteur < 1 ou > " + TAILLE_CARTE_MAX);
+		if (largeur < 1 || largeur > Config.TAILLE_CARTE_MAX) throw new IllegalArgumentException("Carte (" + nom + "): largeur < 1 ou > " + Config.TAILLE_CARTE_MAX + " (-Dslayers.tailleCarteMax)");
+		if (hauteur < 1 || hauteur > Config.TAILLE_CARTE_MAX) throw new IllegalArgumentException("Carte (" + nom + "): hauteur < 1 ou > " + Config.TAILLE_CARTE_MAX + " (-Dslayers.tailleCarteMax)");
 		Objects.requireNonNull(chipset, "Carte (" + nom + "): chipset null passé en paramètre");
 	}
 
@@ -72,12 +70,13 @@ public final class Carte {
 		this.hauteur = hauteur;
 		this.chipset = chipset;
 		this.musique = musique;
-		this.couches = new int[NB_COUCHES][][];
+		this.couches = new Couche[NB_COUCHES];
 		int[][][] couchesSrc = { c0, c1, c2 };
 		for (int c = 0; c < NB_COUCHES; c++) {
-			this.couches[c] = (couchesSrc[c] != null) ? couchesSrc[c] : Util.creerMatriceINT(hauteur, largeur, TUILE_VIDE);
-        }
+			this.couches[c] = Couche.creer(couchesSrc[c], hauteur, largeur);
+		}
 		this.murs = (murs != null) ? murs : new boolean[hauteur][largeur];
+		this.entites = new Entites(largeur, hauteur);
 	}
 
 	public static Carte newCarteVide(String nom, int largeur, int hauteur, Chipset chipset, Musique musique) {
@@ -95,7 +94,32 @@ public final class Carte {
 	public int getNumTuile(int couche, int i, int j) {
 		if (couche < 0 || couche >= NB_COUCHES) throw new IndexOutOfBoundsException("couche < 0 ou >= " + NB_COUCHES);
 		if (!estUnIndexMatriceValide(i, j)) throw new IndexOutOfBoundsException("i < 0 ou i >= " + hauteur + " ou j < 0 ou j >= " + largeur);
-		return couches[couche][i][j];
+		return couches[couche].getNumTuile(i, j);
+	}
+	public Couche getCouche(int couche) {
+		if (couche < 0 || couche >= NB_COUCHES) throw new IndexOutOfBoundsException("couche < 0 ou >= " + NB_COUCHES);
+		return couches[couche];
+	}
+	public Map<Position, EnsembleEvents> getEvents() { return Collections.unmodifiableMap(events); }
+	public List<SourceSonore> getSourcesSonores() { return vueSourcesSonores; }
+	public Entites getEntites() { return entites; }
+	public Chemins getChemins() {
+		if (chemins == null) chemins = new Chemins(murs);
+		return chemins;
+	}
+	public long getTailleMemoireCouches() { // estimation en octets (tableaux uniquement)
+		long taille = 0L;
+		for (Couche couche : couches) taille += couche.getTailleMemoire();
+		return taille;
+	}
+	public long getTailleMemoireChemins() { return (chemins == null) ? 0L : chemins.getTailleMemoire(); }
+	public long getTailleMemoireMurs() { return 16L + 4L * hauteur + (long) hauteur * (16 + largeur); } // estimation : tableau des lignes + une ligne de booléens par rangée
+	public int getNbEvents() { // toutes pages confondues
+		int nb = 0;
+		for (EnsembleEvents ensemble : events.values()) {
+			for (List<Event> page : ensemble.getPageEvents()) nb += page.size();
+		}
+		return nb;
 	}
 	public boolean estMur(int i, int j) {
 		if (!estUnIndexMatriceValide(i, j)) throw new IndexOutOfBoundsException("i < 0 ou i >= " + hauteur + " ou j < 0 ou j >= " + largeur);
@@ -114,7 +138,7 @@ public final class Carte {
 
 		for (int i = y0; i < y1; i++) {
 			for (int j = x0; j < x1; j++) {
-				if (murs[i][j] && rect.intersects(MATRICE_RECT_GLOBALE[i][j])) return true;
+				if (murs[i][j] && intersecteCase(rect, i, j)) return true;
 			}
 		}
 		return false;
@@ -123,12 +147,47 @@ public final class Carte {
 	public EnsembleEvents detecterCollisionsEvents(Rectangle rect) {
 		for (Map.Entry<Position, EnsembleEvents> entry : events.entrySet()) {
 			Position pos = entry.getKey();
-			Rectangle caseRect = MATRICE_RECT_GLOBALE[pos.y()][pos.x()];
-			if (rect.intersects(caseRect)) return entry.getValue();
+			if (intersecteCase(rect, pos.y(), pos.x())) return entry.getValue();
 		}
 		return null;
 	}
 
+	// --- Activation (carte où se trouve le héros : son chipset doit être décodé) ---
+	public void activer() { chipset.acquerir(); }
+	public void desactiver() {
+		chipset.liberer();
+		sourcesSonores.forEach(SourceSonore::couper); // le héros quitte la carte : ses sons ambiants s'arrêtent
+	}
+
+	// --- Sources sonores ---
+	public void ajouterSourceSonore(SourceSonore source) {
+		Objects.requireNonNull(source, "Source sonore null ajoutée à la carte " + nom);
+		if (!estUnIndexMatriceValide(source.getYCase(), source.getXCase())) {
+			throw new IllegalArgumentException("Carte (" + nom + "): Coordonnées de source sonore hors limite [" + source.getXCase() + "," + source.getYCase() + "]");
+		}
+		sourcesSonores.add(source);
+	}
+
+	/** Suit l'auditeur (carte où se trouve le héros) **/
+	public void mettreAJourSourcesSonores() {
+		for (int i = 0; i < sourcesSonores.size(); i++) sourcesSonores.get(i).mettreAJour();
+	}
+
+	// --- Entités ---
+	/** @return le handle de l'entité ({@link Entites}) **/
+	public int ajouterEntite(Skin skin, int xCase, int yCase, int pvMax, Entites.IA ia) {
+		if (!estUnIndexMatriceValide(yCase, xCase)) {
+			throw new IllegalArgumentException("Carte (" + nom + "): Coordonnées d'entité hors limite [" + xCase + "," + yCase + "]");
+		}
+		return entites.ajouter(skin, xCase, yCase, pvMax, ia);
+	}
+
+	/** Un tick des entités (carte où se trouve le héros, cible des poursuites), puis des recherches de chemins demandées **/
+	public void mettreAJourEntites(int xCible, int yCible) {
+		entites.mettreAJour(this, xCible, yCible);
+		if (chemins != null) chemins.mettreAJour(Config.BUDGET_CHEMINS);
+	}
+
 	// --- Events ---
 	public void ajouterEvent(int xCase, int yCase, Event ev) {
 		if (!estUnIndexMatriceValide(yCase, xCase)) throw new IllegalArgumentException("Carte (" + nom + "): Coordonnées d'event hors limite [" + xCase + "," + yCase + "]");
@@ -146,13 +205,13 @@ public final class Carte {
 			&& hauteur == carte.hauteur
 			&& Objects.equals(chipset, carte.chipset)
 			&& Objects.equals(musique, carte.musique)
-			&& Arrays.deepEquals(couches, carte.couches)
+			&& Arrays.equals(couches, carte.couches)
 			&& Arrays.deepEquals(murs, carte.murs)
 			&& Objects.equals(events, carte.events);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(nom, largeur, hauteur, chipset, musique, Arrays.deepHashCode(couches), Arrays.deepHashCode(murs), events);
+		return Objects.hash(nom, largeur, hauteur, chipset, musique, Arrays.hashCode(couches), Arrays.deepHashCode(murs), events);
 	}
 }
\ No newline at end of file
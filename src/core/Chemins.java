@@ -0,0 +1,388 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Recherche de chemins sur les murs d'une carte (4 directions, comme les déplacements), par A* ou par
+ * jump point search (JPS : les lignes droites sans embranchement sont sautées au lieu d'être développées case par case).
+ *
+ * Rien n'est alloué par recherche : tas binaire de longs (f, h, case), tableaux g / parent préalloués à la taille
+ * de la carte et marqués d'un numéro de génération (ouvert / fermé) au lieu d'être remis à zéro.
+ *
+ * Deux usages :
+ * - {@link #chercher} (IA des entités) : chemin pris dans le cache s'il y est, sinon demande mise en file et
+ *   résolue par {@link #mettreAJour}, au plus {@link Config#BUDGET_CHEMINS} nœuds par tick, quitte à poursuivre
+ *   la recherche au tick suivant : beaucoup de demandes s'étalent sur plusieurs frames au lieu de faire un pic ;
+ * - {@link #trouver} : recherche immédiate, sans budget.
+ * Les résultats (chemins complets, case par case, ou « introuvable ») restent dans un cache borné associatif par ensembles
+ * de 4, clé (case de départ, case d'arrivée), le moins récemment utilisé de l'ensemble étant remplacé. Les murs d'une carte
+ * ne changeant pas, le cache n'est jamais invalidé.
+ * Classe non thread-safe : thread de jeu uniquement.
+ */
+public final class Chemins {
+
+	public enum Algorithme { ASTAR, JPS }
+
+	public static final int EN_ATTENTE = -1; // demande en file (ou en cours), chemin disponible à un prochain tick
+	public static final int INTROUVABLE = -2; // arrivée inaccessible (ou départ / arrivée dans un mur, hors carte)
+
+	private static final int AUCUN = -1;
+	private static final int BITS_CASE = 21; // cases d'une carte < 2^21 (2 097 152)
+	private static final long MASQUE_CASE = (1L << BITS_CASE) - 1;
+	private static final int VOIES = 4; // entrées par ensemble du cache
+	private static final int NB_ENTREES_CACHE = 256;
+	private static final int TAILLE_FILE = 256;
+	private static final int LONGUEUR_EN_ATTENTE = 0, LONGUEUR_INTROUVABLE = -1; // longueurs spéciales des entrées du cache
+
+	private final int largeur, hauteur;
+	private final boolean[] libres; // par case (i * largeur + j)
+	private Algorithme algorithme = Algorithme.JPS;
+
+	// Recherche (une seule à la fois, éventuellement répartie sur plusieurs ticks)
+	private final int[] g, parents, ouverts, fermes; // ouverts / fermes : génération de la recherche qui a ouvert / fermé la case
+	private long[] tas;
+	private int tailleTas = 0, generation = 0;
+	private int depart = AUCUN, arrivee = AUCUN; // recherche en cours (AUCUN : aucune)
+	private int travail, limite; // nœuds développés + cases parcourues par les sauts, budget du tick
+
+	// File des demandes (clés départ / arrivée), tampon circulaire
+	private final long[] file = new long[TAILLE_FILE];
+	private int debutFile = 0, nbFile = 0;
+
+	// Cache des chemins
+	private final long[] clesCache = new long[NB_ENTREES_CACHE];
+	private final int[][] cheminsCache = new int[NB_ENTREES_CACHE][]; // cases, du départ à l'arrivée compris
+	private final int[] longueursCache = new int[NB_ENTREES_CACHE];
+	private final long[] usagesCache = new long[NB_ENTREES_CACHE];
+	private long horloge = 0L;
+	private long nbSucces = 0L, nbEchecs = 0L, nbNoeuds = 0L;
+
+	/** Méthodes static **/
+	private static long cle(int depart, int arrivee) { return ((long) depart << 32) | arrivee; }
+
+	/** Constructeur **/
+	/** @param murs matrice des murs [i][j] de la carte (copiée) **/
+	public Chemins(boolean[][] murs) {
+		if (murs == null || murs.length == 0 || murs[0].length == 0) throw new IllegalArgumentException("Chemins: matrice des murs null ou vide");
+		this.hauteur = murs.length;
+		this.largeur = murs[0].length;
+		if ((long) largeur * hauteur > MASQUE_CASE) throw new IllegalArgumentException("Chemins: carte de plus de " + MASQUE_CASE + " cases");
+		final int nbCases = largeur * hauteur;
+		this.libres = new boolean[nbCases];
+		for (int i = 0; i < hauteur; i++) {
+			for (int j = 0; j < largeur; j++) libres[i * largeur + j] = !murs[i][j];
+		}
+		this.g = new int[nbCases];
+		this.parents = new int[nbCases];
+		this.ouverts = new int[nbCases];
+		this.fermes = new int[nbCases];
+		this.tas = new long[Math.max(16, nbCases / 4)];
+		Arrays.fill(clesCache, -1L);
+	}
+
+	/** Getters **/
+	public Algorithme getAlgorithme() { return algorithme; }
+	public int getLongueur(int entree) { return longueursCache[entree]; } // en cases, départ et arrivée compris
+	public int getCaseX(int entree, int k) { return cheminsCache[entree][k] % largeur; }
+	public int getCaseY(int entree, int k) { return cheminsCache[entree][k] / largeur; }
+	public int getNbDemandesEnAttente() { return nbFile + (depart != AUCUN ? 1 : 0); }
+	public long getNbSucces() { return nbSucces; } // demandes servies par le cache
+	public long getNbEchecs() { return nbEchecs; }
+	public long getNbNoeuds() { return nbNoeuds; } // travail total des recherches
+	public long getTailleMemoire() { // estimation en octets (tableaux uniquement)
+		long taille = (long) libres.length + 16L * libres.length + 8L * tas.length + 8L * TAILLE_FILE + 28L * NB_ENTREES_CACHE;
+		for (int[] chemin : cheminsCache) if (chemin != null) taille += 16L + 4L * chemin.length;
+		return taille;
+	}
+
+	/** Setters **/
+	/** Change d'algorithme (les chemins en cache, déjà optimaux, sont gardés) **/
+	public void setAlgorithme(Algorithme algorithme) { this.algorithme = Objects.requireNonNull(algorithme, "Chemins: algorithme null"); }
+
+	/** Autres méthodes **/
+	private boolean libre(int j, int i) { return j >= 0 && j < largeur && i >= 0 && i < hauteur && libres[i * largeur + j]; }
+
+	/**
+	 * Chemin de la case de départ à la case d'arrivée, sans attendre : entrée du cache à lire par {@link #getLongueur},
+	 * {@link #getCaseX} et {@link #getCaseY} (valable jusqu'au prochain appel de chercher, trouver ou mettreAJour),
+	 * {@link #EN_ATTENTE} si la recherche est à faire (mise en file, résolue par {@link #mettreAJour})
+	 * ou {@link #INTROUVABLE}
+	 */
+	public int chercher(int xDep, int yDep, int xArr, int yArr) {
+		if (!libre(xDep, yDep) || !libre(xArr, yArr)) return INTROUVABLE;
+		final int dep = yDep * largeur + xDep, arr = yArr * largeur + xArr;
+		final long cle = cle(dep, arr);
+		int entree = trouverEntree(cle);
+		if (entree != AUCUN) {
+			usagesCache[entree] = ++horloge;
+			if (longueursCache[entree] == LONGUEUR_EN_ATTENTE) return EN_ATTENTE;
+			nbSucces++;
+			return resultat(entree);
+		}
+		nbEchecs++;
+		if (nbFile == TAILLE_FILE) return EN_ATTENTE; // file pleine : redemander plus tard
+		file[(debutFile + nbFile++) % TAILLE_FILE] = cle;
+		entree = remplacerEntree(cle);
+		longueursCache[entree] = LONGUEUR_EN_ATTENTE;
+		return EN_ATTENTE;
+	}
+
+	/**
+	 * Comme {@link #chercher}, mais la recherche est faite tout de suite, sans budget : jamais {@link #EN_ATTENTE}.
+	 * Une recherche répartie en cours n'est pas perdue : reprise si c'est la même, sinon terminée d'abord.
+	 */
+	public int trouver(int xDep, int yDep, int xArr, int yArr) {
+		if (!libre(xDep, yDep) || !libre(xArr, yArr)) return INTROUVABLE;
+		final int dep = yDep * largeur + xDep, arr = yArr * largeur + xArr;
+		final long cle = cle(dep, arr);
+		final int entree = trouverEntree(cle);
+		if (entree != AUCUN && longueursCache[entree] != LONGUEUR_EN_ATTENTE) {
+			usagesCache[entree] = ++horloge;
+			nbSucces++;
+			return resultat(entree);
+		}
+		nbEchecs++;
+		travail = 0;
+		if (depart != AUCUN && cle(depart, arrivee) != cle) {
+			while (depart != AUCUN) developper(Integer.MAX_VALUE);
+		}
+		if (depart == AUCUN) commencer(dep, arr);
+		while (depart != AUCUN) developper(Integer.MAX_VALUE);
+		return resultat(trouverEntree(cle));
+	}
+
+	/** Fait avancer les recherches en file, dans la limite du budget (en nœuds) de ce tick **/
+	public void mettreAJour(int budget) {
+		travail = 0;
+		while (travail < budget) {
+			if (depart == AUCUN) {
+				if (nbFile == 0) return;
+				final long cle = file[debutFile];
+				debutFile = (debutFile + 1) % TAILLE_FILE;
+				nbFile--;
+				final int entree = trouverEntree(cle);
+				if (entree != AUCUN && longueursCache[entree] != LONGUEUR_EN_ATTENTE) continue; // déjà résolue (trouver)
+				commencer((int) (cle >>> 32), (int) cle);
+			}
+			developper(budget);
+		}
+	}
+
+	/** Oublie les chemins en cache et les demandes en file **/
+	public void vider() {
+		Arrays.fill(clesCache, -1L);
+		nbFile = 0;
+		depart = AUCUN;
+	}
+
+	// --- Recherche ---
+	private void commencer(int dep, int arr) {
+		if (++generation == Integer.MAX_VALUE) { // après ~2 milliards de recherches : marques remises à zéro
+			Arrays.fill(ouverts, 0);
+			Arrays.fill(fermes, 0);
+			generation = 1;
+		}
+		depart = dep;
+		arrivee = arr;
+		tailleTas = 0;
+		g[dep] = 0;
+		parents[dep] = AUCUN;
+		ouverts[dep] = generation;
+		pousser(dep);
+	}
+
+	/**
+	 * Développe des nœuds jusqu'à l'arrivée, un tas vide (introuvable) ou l'épuisement du budget.
+	 * Un saut qui épuise le budget s'arrête sur la case atteinte, ouverte comme point de saut : la suite au tick suivant.
+	 */
+	private void developper(int budget) {
+		limite = budget;
+		while (travail < limite) {
+			if (tailleTas == 0) { terminer(false); return; }
+			final int c = (int) (retirer() & MASQUE_CASE);
+			if (fermes[c] == generation) continue; // doublon (clé améliorée depuis)
+			fermes[c] = generation;
+			travail++;
+			nbNoeuds++;
+			if (c == arrivee) { terminer(true); return; }
+			if (algorithme == Algorithme.JPS) sauts(c);
+			else voisins(c);
+		}
+	}
+
+	private void voisins(int c) {
+		final int i = c / largeur, j = c - i * largeur;
+		if (libre(j + 1, i)) ouvrir(c + 1, g[c] + 1, c);
+		if (libre(j - 1, i)) ouvrir(c - 1, g[c] + 1, c);
+		if (libre(j, i + 1)) ouvrir(c + largeur, g[c] + 1, c);
+		if (libre(j, i - 1)) ouvrir(c - largeur, g[c] + 1, c);
+	}
+
+	/**
+	 * JPS en 4 directions : à l'arrivée sur une case, un déplacement vertical continue tout droit et bifurque des deux côtés,
+	 * un déplacement horizontal continue tout droit et ne tourne que vers une case « forcée » (libre, alors que la case
+	 * correspondante de la colonne précédente est un mur). Les chemins symétriques (verticales d'abord) ne sont pas explorés.
+	 */
+	private void sauts(int c) {
+		final int i = c / largeur, j = c - i * largeur;
+		final int p = parents[c];
+		if (p == AUCUN) {
+			sauter(c, j, i, 1, 0);
+			sauter(c, j, i, -1, 0);
+			sauter(c, j, i, 0, 1);
+			sauter(c, j, i, 0, -1);
+			return;
+		}
+		final int pi = p / largeur, pj = p - pi * largeur;
+		final int dx = Integer.signum(j - pj), dy = Integer.signum(i - pi);
+		if (dy != 0) { // arrivée verticale
+			sauter(c, j, i, 0, dy);
+			sauter(c, j, i, 1, 0);
+			sauter(c, j, i, -1, 0);
+		} else { // arrivée horizontale
+			sauter(c, j, i, dx, 0);
+			if (libre(j, i - 1) && !libre(j - dx, i - 1)) sauter(c, j, i, 0, -1);
+			if (libre(j, i + 1) && !libre(j - dx, i + 1)) sauter(c, j, i, 0, 1);
+		}
+	}
+
+	private void sauter(int c, int j, int i, int dx, int dy) {
+		final int s = (dy == 0) ? sautHorizontal(j, i, dx) : sautVertical(j, i, dy);
+		if (s != AUCUN) ouvrir(s, g[c] + Math.abs(s % largeur - j) + Math.abs(s / largeur - i), c);
+	}
+
+	private int sautHorizontal(int j, int i, int dx) {
+		while (true) {
+			j += dx;
+			travail++;
+			if (!libre(j, i)) return AUCUN;
+			final int c = i * largeur + j;
+			if (c == arrivee) return c;
+			if ((libre(j, i - 1) && !libre(j - dx, i - 1)) || (libre(j, i + 1) && !libre(j - dx, i + 1))) return c; // voisin forcé
+			if (travail >= limite) return c; // budget épuisé : reprise depuis cette case
+		}
+	}
+
+	private int sautVertical(int j, int i, int dy) {
+		while (true) {
+			i += dy;
+			travail++;
+			if (!libre(j, i)) return AUCUN;
+			final int c = i * largeur + j;
+			if (c == arrivee) return c;
+			if (sautHorizontal(j, i, 1) != AUCUN || sautHorizontal(j, i, -1) != AUCUN) return c; // bifurcation utile (ou budget épuisé)
+			if (travail >= limite) return c;
+		}
+	}
+
+	private void ouvrir(int c, int gc, int parent) {
+		if (fermes[c] == generation) return;
+		if (ouverts[c] == generation && gc >= g[c]) return;
+		ouverts[c] = generation;
+		g[c] = gc;
+		parents[c] = parent;
+		pousser(c);
+	}
+
+	/** Distance de Manhattan : admissible en 4 directions **/
+	private int heuristique(int c) {
+		final int i = c / largeur, j = c - i * largeur, ia = arrivee / largeur, ja = arrivee - ia * largeur;
+		return Math.abs(i - ia) + Math.abs(j - ja);
+	}
+
+	private void terminer(boolean trouve) {
+		final long cle = cle(depart, arrivee);
+		int entree = trouverEntree(cle);
+		if (entree == AUCUN) entree = remplacerEntree(cle); // remplacée entre-temps
+		usagesCache[entree] = ++horloge;
+		if (!trouve) longueursCache[entree] = LONGUEUR_INTROUVABLE;
+		else {
+			final int longueur = g[arrivee] + 1;
+			if (cheminsCache[entree] == null || cheminsCache[entree].length < longueur) cheminsCache[entree] = new int[Math.max(16, Integer.highestOneBit(longueur - 1) << 1)];
+			final int[] chemin = cheminsCache[entree];
+			int c = arrivee, p = parents[c], k = longueur - 1;
+			chemin[k] = c;
+			while (c != depart) { // points de saut reliés case par case (segments droits)
+				if (p / largeur == c / largeur) c += Integer.signum(p - c);
+				else c += (p > c) ? largeur : -largeur;
+				chemin[--k] = c;
+				if (c == p) p = parents[p];
+			}
+			longueursCache[entree] = longueur;
+		}
+		depart = AUCUN;
+	}
+
+	// --- Tas binaire (clé : f, puis h, puis case) ---
+	private void pousser(int c) {
+		final int h = heuristique(c);
+		final long cle = ((long) (g[c] + h) << (2 * BITS_CASE)) | ((long) h << BITS_CASE) | c;
+		if (tailleTas == tas.length) tas = Arrays.copyOf(tas, 2 * tas.length);
+		int k = tailleTas++;
+		while (k > 0) {
+			final int parent = (k - 1) >>> 1;
+			if (tas[parent] <= cle) break;
+			tas[k] = tas[parent];
+			k = parent;
+		}
+		tas[k] = cle;
+	}
+
+	private long retirer() {
+		final long sommet = tas[0], dernier = tas[--tailleTas];
+		int k = 0;
+		while (true) {
+			int enfant = 2 * k + 1;
+			if (enfant >= tailleTas) break;
+			if (enfant + 1 < tailleTas && tas[enfant + 1] < tas[enfant]) enfant++;
+			if (tas[enfant] >= dernier) break;
+			tas[k] = tas[enfant];
+			k = enfant;
+		}
+		tas[k] = dernier;
+		return sommet;
+	}
+
+	// --- Cache ---
+	private int ensemble(long cle) {
+		final long h = cle * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> 40) & (NB_ENTREES_CACHE / VOIES - 1);
+	}
+
+	private int trouverEntree(long cle) {
+		final int debut = ensemble(cle) * VOIES;
+		for (int e = debut; e < debut + VOIES; e++) if (clesCache[e] == cle) return e;
+		return AUCUN;
+	}
+
+	private int resultat(int entree) { return (longueursCache[entree] == LONGUEUR_INTROUVABLE) ? INTROUVABLE : entree; }
+
+	/** Entrée libre de l'ensemble, ou la moins récemment utilisée **/
+	private int remplacerEntree(long cle) {
+		final int debut = ensemble(cle) * VOIES;
+		int choix = debut;
+		for (int e = debut; e < debut + VOIES; e++) {
+			if (clesCache[e] == -1L) { choix = e; break; }
+			if (usagesCache[e] < usagesCache[choix]) choix = e;
+		}
+		clesCache[choix] = cle;
+		usagesCache[choix] = ++horloge;
+		return choix;
+	}
+}
\ No newline at end of file
@@ -16,11 +16,15 @@
 package core;
 
 import java.util.Objects;
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
 
 /**
  * Représente un chipset, c’est-à-dire un ensemble de tuiles graphiques
  * découpées à partir d’une image source unique servant à composer les cartes du jeu.
+ *
+ * L'image n'est décodée qu'à la première utilisation par une carte active (voir {@link GestionnaireTextures}) :
+ * le constructeur ne lit que l'en-tête de l'image pour connaître ses dimensions.
  */
 public final class Chipset {
 
@@ -29,7 +33,9 @@ public final class Chipset {
 	private final String nom;
 	private final int tailleTuile; // Taille d'une tuile en pixels (n*n)
 	private final int nbTuilesHauteur, nbTuilesLargeur; // nombre de tuiles en cases
-	private final BufferedImage[] tuiles;
+	private volatile BufferedImage[] tuiles; // null tant que le chipset n'est pas décodé (ou après éviction)
+	private long memoireDecodee; // en octets (0 si non décodé)
+	private int nbReferences; // nombre de cartes actives utilisant ce chipset
 
 	/** Méthodes static **/
 	private static void validerArguments(String nomFichier, int tailleTuile) {
@@ -37,46 +43,67 @@ public final class Chipset {
 		if (tailleTuile < 1) throw new IllegalArgumentException("TailleTuile du chipset " + nomFichier + " < 1");
 	}
 
-	private static BufferedImage[] extraireTuiles(BufferedImage image, int tailleTuile, int nbTuilesHauteur, int nbTuilesLargeur) {
-		final int nbTuiles = nbTuilesHauteur * nbTuilesLargeur;
-		BufferedImage[] result = new BufferedImage[nbTuiles];
-		for (int i = 0; i < nbTuilesHauteur; i++) {
-			final int y = i * tailleTuile;
-			final int ligneIndex = i * nbTuilesLargeur;
-			for (int j = 0; j < nbTuilesLargeur; j++) {
-				result[ligneIndex + j] = image.getSubimage(j * tailleTuile, y, tailleTuile, tailleTuile);
-			}
-		}
-		return result;
-	}
-
 	/** Constructeur **/
 	public Chipset(String nomFichier, int tailleTuile) {
 		validerArguments(nomFichier, tailleTuile);
 		nom = nomFichier;
 		this.tailleTuile = tailleTuile;
 
-		final BufferedImage texture = Util.chargerImage(DOSSIER + nomFichier); // Charger l'image source
-		final int largeurTexture = texture.getWidth(), hauteurTexture = texture.getHeight();
-		if (largeurTexture % tailleTuile != 0 || hauteurTexture % tailleTuile != 0) {
+		final Dimension dimensions = Util.lireDimensionsImage(DOSSIER + nomFichier); // En-tête seulement (pas de décodage)
+		if (dimensions == null) throw new IllegalStateException("Image du chipset introuvable : " + nomFichier);
+		if (dimensions.width % tailleTuile != 0 || dimensions.height % tailleTuile != 0) {
 			throw new IllegalArgumentException("Dimensions de l'image incompatibles avec tailleTuile (pas mod 0)");
 		}
-		nbTuilesHauteur = hauteurTexture / tailleTuile;
-		nbTuilesLargeur = largeurTexture / tailleTuile;
-		tuiles = extraireTuiles(texture, tailleTuile, nbTuilesHauteur, nbTuilesLargeur);
+		nbTuilesHauteur = dimensions.height / tailleTuile;
+		nbTuilesLargeur = dimensions.width / tailleTuile;
 	}
 
 	/** Getters **/
 	public String getNom() { return nom; }
+	public String getChemin() { return DOSSIER + nom; }
 	public int getTailleTuile() { return tailleTuile; }
 	public int getNbTuilesHauteur() { return nbTuilesHauteur; }
 	public int getNbTuilesLargeur() { return nbTuilesLargeur; }
+	public int getNbTuiles() { return nbTuilesHauteur * nbTuilesLargeur; }
 	public BufferedImage getTuile(int index) {
-		if (index < 0 || index >= tuiles.length) throw new IndexOutOfBoundsException("Index tuile invalide: " + index);
-		return tuiles[index];
+		BufferedImage[] t = tuiles;
+		if (t == null) t = GestionnaireTextures.tuiles(this); // non décodé (chipset utilisé hors d'une carte active)
+		if (index < 0 || index >= t.length) throw new IndexOutOfBoundsException("Index tuile invalide: " + index);
+		return t[index];
+	}
+	public boolean estDecode() { return tuiles != null; }
+	public BufferedImage[] getTuilesDecodees() { // copie du tableau sans décoder (null si non décodé)
+		final BufferedImage[] t = tuiles;
+		return (t == null) ? null : t.clone();
 	}
+	public synchronized long getMemoireDecodee() { return memoireDecodee; }
+	public synchronized int getNbReferences() { return nbReferences; }
 
 	/** Autres méthodes **/
+	public void acquerir() { GestionnaireTextures.acquerir(this); } // une carte active utilise ce chipset
+	public void liberer() { GestionnaireTextures.liberer(this); } // une carte active n'utilise plus ce chipset
+
+	// --- Appelées uniquement par GestionnaireTextures (sous son verrou) ---
+	synchronized BufferedImage[] decoder() {
+		if (tuiles == null) {
+			// Tuiles pré-découpées depuis le cache disque (ou décodage du PNG puis mise en cache)
+			final BufferedImage[] t = CacheTextures.charger(DOSSIER + nom, tailleTuile, tailleTuile, nbTuilesHauteur, nbTuilesLargeur);
+			if (t == null) throw new IllegalStateException("Image du chipset introuvable : " + nom);
+			long memoire = 0L;
+			for (BufferedImage tuile : t) memoire += Util.tailleMemoireImage(tuile);
+			memoireDecodee = memoire;
+			tuiles = t;
+		}
+		return tuiles;
+	}
+
+	synchronized void evincer() {
+		tuiles = null;
+		memoireDecodee = 0L;
+	}
+
+	synchronized void modifierReferences(int delta) { nbReferences += delta; }
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
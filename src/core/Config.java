@@ -49,6 +49,39 @@ public final class Config {
 	public static final int TAILLE_MAX_MSG = 45; // par défaut : 45
 	public static final boolean DEBUG_MODE = false; // par défaut : false
 
+	/** Paramètres de lancement (surchargeables au démarrage avec -Dslayers.xxx=valeur) **/
+	public static final int BUDGET_TEXTURES_MO = proprieteInt("slayers.budgetTextures", 64); // par défaut : 64 Mo de pixels décodés
+	public static final int TAILLE_CARTE_MAX = proprieteInt("slayers.tailleCarteMax", 100); // largeur et hauteur maximales d'une carte, en cases (par défaut : 100)
+	public static final int BUDGET_CHEMINS = proprieteInt("slayers.budgetChemins", 2000); // nœuds de recherche de chemins développés par tick et par carte (par défaut : 2000)
+	public static final String DOSSIER_CACHE_TEXTURES = System.getProperty("slayers.cacheTextures", "cache/textures"); // vide = cache désactivé
+	public static final String RACINE_RESSOURCES = System.getProperty("slayers.racine", ""); // dossier contenant img, musiques, bruitages et cartes (vide = dossier courant)
+	public static final String ARCHIVE = System.getProperty("slayers.archive", "assets.slpk"); // archive des ressources (fichiers séparés si absente)
+	public static final String SORTIE_AUDIO = System.getProperty("slayers.audio", "javasound"); // "javasound", "nulle" (sans son), "vide" (mixage cadencé sans carte son) ou "wav" (capture)
+	public static final String CAPTURE_AUDIO = System.getProperty("slayers.captureAudio", "capture_audio.wav"); // fichier de la sortie "wav"
+	public static final int TAILLE_BLOC_AUDIO = proprieteInt("slayers.blocAudio", 512); // trames mixées par bloc (par défaut : 512, ~11,6 ms)
+	public static final int BLOCS_LIGNE_AUDIO = proprieteInt("slayers.blocsLigne", 4); // tampon de la carte son, en blocs (par défaut : 4, ~46 ms)
+	public static final int NB_VOIX_AUDIO = proprieteInt("slayers.voixAudio", 32); // voix de bruitages simultanées (par défaut : 32)
+	public static final int POLYPHONIE_BRUITAGES = proprieteInt("slayers.polyphonie", 4); // lectures simultanées d'un même bruitage (par défaut : 4)
+	public static final int PORTEE_SONS_CASES = proprieteInt("slayers.porteeSons", 12); // au-delà, un bruitage placé sur la carte est inaudible (par défaut : 12 cases)
+	public static final String VOL_VOIX_BRUITAGES = System.getProperty("slayers.volVoix", "ancienne"); // voix volée au-delà : "ancienne" ou "faible"
+	public static final int TAILLE_MAX_PCM_MUSIQUE_MO = proprieteInt("slayers.pcmMusiqueMax", 16); // musique plus longue : décodage en continu (par défaut : 16 Mo, ~95 s)
+	public static final int BUDGET_PCM_MUSIQUES_MO = proprieteInt("slayers.budgetPCM", 64); // musiques décodées gardées en cache (0 = désactivé)
+	public static final boolean PCM_MUSIQUES_FICHIER = Boolean.getBoolean("slayers.pcmFichier"); // PCM en fichier temporaire projeté plutôt que dans le tas
+	public static final int FONDU_MUSIQUE_MS = proprieteInt("slayers.fonduMusique", 800); // fondu enchaîné entre deux musiques (0 = coupure franche)
+	public static final String DOSSIER_PERF = System.getProperty("slayers.perf", "perf"); // exports des histogrammes de frames (vide = désactivés)
+	public static final int BUDGET_CHIEN_DE_GARDE_MS = proprieteInt("slayers.chienDeGarde", 100); // tick ou frame plus long : pile du thread de jeu échantillonnée (0 = désactivé)
+	public static final boolean MODE_DEV = Boolean.getBoolean("slayers.dev"); // rechargement à chaud des cartes (par défaut : false)
+
+	private static int proprieteInt(String cle, int valeurDefaut) {
+		String valeur = System.getProperty(cle);
+		if (valeur == null || valeur.isBlank()) return valeurDefaut;
+		try { return Integer.parseInt(valeur.trim()); }
+		catch (NumberFormatException e) {
+			System.err.println("Propriété " + cle + " invalide (" + valeur + ") -> valeur par défaut : " + valeurDefaut);
+			return valeurDefaut;
+		}
+	}
+
 	public static void main(String[] args) {
 		Jeu jeu = new Jeu();
         jeu.jouer();
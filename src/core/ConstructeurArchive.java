@@ -0,0 +1,129 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Outil de construction de l'archive des ressources (voir {@link Archive}).
+ *
+ * Depuis la racine du projet :
+ * java -cp "bin;libs/*" core.ConstructeurArchive [archive.slpk] [dossiers...]
+ * (par défaut : assets.slpk à partir de img, musiques, bruitages et cartes)
+ *
+ * Seuls les fichiers texte (cartes .json) sont compressés : les PNG, OGG et WAV sont stockés tels quels
+ * pour être lus directement depuis l'archive projetée en mémoire.
+ */
+public final class ConstructeurArchive {
+
+	private ConstructeurArchive() { throw new AssertionError("La classe ConstructeurArchive ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final List<String> DOSSIERS_DEFAUT = List.of("img", "musiques", "bruitages", "cartes");
+	private static final List<String> EXTENSIONS_COMPRESSEES = List.of(".json", ".txt");
+
+	/** Fichier à archiver, avec ses données telles qu'elles seront stockées **/
+	private record Fichier(String nom, byte[] stocke, int longueurOriginale, int crc32, byte compression) {}
+
+	/** Méthodes static **/
+	private static Fichier preparer(Path racine, Path chemin) throws IOException {
+		final String nom = racine.relativize(chemin).toString().replace('\\', '/');
+		final byte[] original = Files.readAllBytes(chemin);
+		final CRC32 crc = new CRC32();
+		crc.update(original);
+
+		final String nomMinuscule = nom.toLowerCase(Locale.ROOT);
+		if (EXTENSIONS_COMPRESSEES.stream().anyMatch(nomMinuscule::endsWith)) {
+			final byte[] compresse = compresser(original);
+			if (compresse.length < original.length) return new Fichier(nom, compresse, original.length, (int) crc.getValue(), Archive.DEFLATE);
+		}
+		return new Fichier(nom, original, original.length, (int) crc.getValue(), Archive.SANS_COMPRESSION);
+	}
+
+	private static byte[] compresser(byte[] donnees) {
+		final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			deflater.setInput(donnees);
+			deflater.finish();
+			final ByteArrayOutputStream sortie = new ByteArrayOutputStream(donnees.length / 4 + 64);
+			final byte[] tampon = new byte[64 * 1024];
+			while (!deflater.finished()) sortie.write(tampon, 0, deflater.deflate(tampon));
+			return sortie.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static int tailleIndex(List<Fichier> fichiers) {
+		int taille = 3 * Integer.BYTES; // magic, version, nombre d'entrées
+		for (Fichier f : fichiers) taille += Short.BYTES + f.nom().getBytes(StandardCharsets.UTF_8).length + Long.BYTES + 3 * Integer.BYTES + 1;
+		return taille;
+	}
+
+	public static void construire(Path archive, Path racine, List<String> dossiers) throws IOException {
+		final List<Fichier> fichiers = new ArrayList<>();
+		for (String dossier : dossiers) {
+			final Path chemin = racine.resolve(dossier);
+			if (!Files.isDirectory(chemin)) { System.err.println("[AVERTISSEMENT] Dossier ignoré (introuvable) : " + chemin); continue; }
+			try (Stream<Path> contenu = Files.walk(chemin)) {
+				for (Path p : contenu.filter(Files::isRegularFile).sorted().toList()) fichiers.add(preparer(racine, p));
+			}
+		}
+
+		final Path temporaire = archive.resolveSibling(archive.getFileName() + ".tmp");
+		long offset = tailleIndex(fichiers);
+		final long taille = offset + fichiers.stream().mapToLong(f -> f.stocke().length).sum();
+		if (taille > Integer.MAX_VALUE) throw new IOException("Archive de plus de 2 Go (" + taille + " octets) : non lisible par Archive.ouvrir");
+		try (OutputStream os = Files.newOutputStream(temporaire); DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+			out.writeInt(Archive.MAGIC);
+			out.writeInt(Archive.VERSION);
+			out.writeInt(fichiers.size());
+			for (Fichier f : fichiers) {
+				final byte[] nom = f.nom().getBytes(StandardCharsets.UTF_8);
+				out.writeShort(nom.length);
+				out.write(nom);
+				out.writeLong(offset);
+				out.writeInt(f.stocke().length);
+				out.writeInt(f.longueurOriginale());
+				out.writeInt(f.crc32());
+				out.writeByte(f.compression());
+				offset += f.stocke().length;
+			}
+			for (Fichier f : fichiers) out.write(f.stocke());
+		}
+		Files.move(temporaire, archive, StandardCopyOption.REPLACE_EXISTING);
+		System.out.printf(Locale.ROOT, "Archive %s : %d fichiers, %d Ko%n", archive, fichiers.size(), Files.size(archive) / 1024);
+	}
+
+	public static void main(String[] args) throws IOException {
+		final Path archive = Path.of(args.length > 0 ? args[0] : Config.ARCHIVE);
+		final List<String> dossiers = (args.length > 1) ? List.of(args).subList(1, args.length) : DOSSIERS_DEFAUT;
+		construire(archive, Path.of(""), dossiers);
+	}
+}
\ No newline at end of file
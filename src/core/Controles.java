@@ -19,6 +19,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Gère l’ensemble des contrôles clavier du jeu.
@@ -36,7 +37,7 @@ public final class Controles implements KeyListener {
 		HAUT, BAS, GAUCHE, DROITE,
 		A, B, Q, S,
 		ESPACE, ENTREE, ECHAP, RETOUR_ARRIERE,
-		F1, F3, F5
+		F1, F2, F3, F4, F5
 	}
 
 	private static Controles instance = null;
@@ -58,9 +59,15 @@ public final class Controles implements KeyListener {
 		this.messageLock = messageLock;
 	}
 
-	// Toutes les touches actuellement pressées
+	// Toutes les touches actuellement pressées (une touche consommée par reset() y revient à la répétition automatique)
 	private final EnumSet<Touche> etats = EnumSet.noneOf(Touche.class);
 
+	// Touches physiquement enfoncées : retirées seulement au relâchement, jamais par reset()
+	private final EnumSet<Touche> enfoncees = EnumSet.noneOf(Touche.class);
+
+	// Instant d'arrivée (System.nanoTime) de chaque appui pas encore pris par un tick, 0 si aucun
+	private final AtomicLongArray appuis = new AtomicLongArray(Touche.values().length);
+
 	// Mapping KeyCode -> Touche
 	private static final Map<Integer, Touche> keyMap = Map.ofEntries(
 		Map.entry(KeyEvent.VK_UP, Touche.HAUT),
@@ -76,20 +83,26 @@ public final class Controles implements KeyListener {
 		Map.entry(KeyEvent.VK_ESCAPE, Touche.ECHAP),
 		Map.entry(KeyEvent.VK_BACK_SPACE, Touche.RETOUR_ARRIERE),
 		Map.entry(KeyEvent.VK_F1, Touche.F1),
+		Map.entry(KeyEvent.VK_F2, Touche.F2),
 		Map.entry(KeyEvent.VK_F3, Touche.F3),
+		Map.entry(KeyEvent.VK_F4, Touche.F4),
 		Map.entry(KeyEvent.VK_F5, Touche.F5)
 	);
 
 	@Override
 	public void keyPressed(KeyEvent e) { // Quand une touche est pressée
 		Touche t = keyMap.get(e.getKeyCode());
-		if (t != null) etats.add(t);
+		if (t == null) return;
+		etats.add(t);
+		if (enfoncees.add(t)) appuis.set(t.ordinal(), System.nanoTime()); // nouvel appui (pas la répétition d'une touche maintenue)
 	}
 
 	@Override
 	public void keyReleased(KeyEvent e) { // Quand une touche est relachée
 		Touche t = keyMap.get(e.getKeyCode());
-		if (t != null) etats.remove(t);
+		if (t == null) return;
+		etats.remove(t);
+		enfoncees.remove(t);
 	}
 
 	@Override
@@ -108,6 +121,20 @@ public final class Controles implements KeyListener {
 	public boolean estAppuye(Touche t) { return etats.contains(t); } // Vérifie si une touche est enfoncée
 	public void reset(Touche t) { etats.remove(t); } // Consomme une touche en la retirant de l’ensemble des touches pressées
 
+	/**
+	 * Retire les instants d'arrivée des appuis en attente et les copie dans dst à partir de debut (sans allocation).
+	 * @return l'indice suivant le dernier instant copié
+	 */
+	public int prendreAppuis(long[] dst, int debut) {
+		int n = debut;
+		for (int i = 0; i < appuis.length() && n < dst.length; i++) {
+			if (appuis.get(i) == 0L) continue;
+			final long instant = appuis.getAndSet(i, 0L);
+			if (instant != 0L) dst[n++] = instant;
+		}
+		return n;
+	}
+
 	public boolean HAUT()                { return estAppuye(Touche.HAUT); }
 	public boolean BAS()                 { return estAppuye(Touche.BAS); }
 	public boolean GAUCHE()              { return estAppuye(Touche.GAUCHE); }
@@ -121,6 +148,8 @@ public final class Controles implements KeyListener {
 	public boolean ECHAP()               { return estAppuye(Touche.ECHAP); }
 	public boolean RETOUR_ARRIERE()      { return estAppuye(Touche.RETOUR_ARRIERE); }
 	public boolean F1()                  { return estAppuye(Touche.F1); }
+	public boolean F2()                  { return estAppuye(Touche.F2); }
 	public boolean F3()                  { return estAppuye(Touche.F3); }
+	public boolean F4()                  { return estAppuye(Touche.F4); }
 	public boolean F5()                  { return estAppuye(Touche.F5); }
 }
\ No newline at end of file
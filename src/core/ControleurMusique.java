@@ -0,0 +1,139 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import audio.Latences;
+import audio.Mixeur;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Thread de contrôle de la musique : le jeu lui confie les changements de musique sans jamais attendre.
+ *
+ * Pour chaque changement, le contrôleur lance le décodage de la nouvelle musique, attend que ses premières
+ * secondes soient prêtes (l'ancienne continue de jouer pendant ce temps), demande au {@link Mixeur} un fondu
+ * enchaîné de {@link Config#FONDU_MUSIQUE_MS} ms, puis arrête l'ancienne une fois le fondu terminé.
+ * Seule la demande la plus récente est traitée : des téléportations rapprochées ne s'empilent pas, et une demande
+ * arrivée pendant un fondu ne coupe pas l'ancienne musique (elle finit de s'effacer avant d'être arrêtée).
+ */
+public final class ControleurMusique implements AutoCloseable {
+
+	private static final int TRAMES_PRECHARGEMENT = (int) Mixeur.FREQUENCE; // 1 s décodée avant de lancer le fondu
+	private static final long PRECHARGEMENT_MAX_NS = 2_000_000_000L; // au-delà, la musique démarre quand même
+	private static final long ATTENTE_NS = 2_000_000L;
+	private static final long MARGE_ARRET_NS = 100_000_000L; // le mixeur commence le fondu au bloc suivant la demande
+	private static final int ARRET_TIMEOUT_MS = 3000;
+
+	/** Changement demandé par le jeu (musique null : silence) **/
+	private record Demande(Musique musique, long horodatage) {}
+
+	/** Musique en fondu sortant, à arrêter une fois silencieuse **/
+	private record Sortante(Musique musique, long finFondu) {}
+
+	private final AtomicReference<Demande> demande = new AtomicReference<>();
+	private final Thread thread;
+	private final Latences prechargements = new Latences(); // demande -> musique prête (thread du contrôleur)
+	private volatile boolean enMarche = true;
+	private volatile Musique courante; // modifiée par le thread du contrôleur uniquement
+	private final List<Sortante> sortantes = new ArrayList<>(); // thread du contrôleur uniquement
+
+	/** Constructeur **/
+	public ControleurMusique() {
+		thread = new Thread(this::boucle, "Audio-Controleur");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/** Getters **/
+	public Musique getCourante() { return courante; }
+	public Latences getPrechargements() { return prechargements; }
+
+	/** Autres méthodes **/
+	/** Demande un changement de musique (null : fondu vers le silence). Ne bloque jamais. **/
+	public void changer(Musique musique) {
+		demande.set(new Demande(musique, System.nanoTime()));
+		LockSupport.unpark(thread);
+	}
+
+	private void boucle() {
+		while (enMarche) {
+			arreterSortantes(false);
+			final Demande d = demande.getAndSet(null);
+			if (d == null) {
+				if (sortantes.isEmpty()) LockSupport.park(this);
+				else LockSupport.parkNanos(this, prochaineFinFondu() - System.nanoTime());
+				continue;
+			}
+			try { appliquer(d); }
+			catch (RuntimeException e) { System.err.println("[ERREUR] Changement de musique : " + e.getMessage()); }
+		}
+		arreterSortantes(true);
+		final Musique derniere = courante;
+		if (derniere != null) derniere.stop();
+		courante = null;
+	}
+
+	private void appliquer(Demande d) {
+		final Musique ancienne = courante, nouvelle = d.musique();
+		if (nouvelle == ancienne && (nouvelle == null || nouvelle.isPlaying())) return;
+
+		if (nouvelle != null) {
+			sortantes.removeIf(s -> s.musique() == nouvelle);
+			if (nouvelle.isPlaying()) nouvelle.stop(); // encore en fondu sortant : repart du début
+			if (!nouvelle.demarrer(true)) return; // aucune sortie audio
+			while (nouvelle.getTramesPretes() < TRAMES_PRECHARGEMENT && nouvelle.isPlaying() && enMarche
+					&& System.nanoTime() - d.horodatage() < PRECHARGEMENT_MAX_NS && demande.get() == null) {
+				LockSupport.parkNanos(ATTENTE_NS);
+			}
+			prechargements.enregistrer(System.nanoTime() - d.horodatage());
+		}
+
+		Mixeur.getInstance().changerMusique(nouvelle, 1f, Config.FONDU_MUSIQUE_MS, d.horodatage());
+		courante = nouvelle;
+		if (ancienne != null && ancienne != nouvelle) sortantes.add(new Sortante(ancienne, System.nanoTime() + Config.FONDU_MUSIQUE_MS * 1_000_000L + MARGE_ARRET_NS));
+	}
+
+	/** Arrête les musiques dont le fondu sortant est terminé (toutes : fermeture) **/
+	private void arreterSortantes(boolean toutes) {
+		final long maintenant = System.nanoTime();
+		sortantes.removeIf(s -> {
+			if (!toutes && s.finFondu() - maintenant > 0) return false;
+			s.musique().stop(); // hors du thread de jeu : l'attente de fin de son thread ne fige plus l'affichage
+			return true;
+		});
+	}
+
+	private long prochaineFinFondu() {
+		long fin = Long.MAX_VALUE;
+		for (Sortante s : sortantes) fin = Math.min(fin, s.finFondu());
+		return fin;
+	}
+
+	/** Latences des changements de musique (demande -> musique prête -> premier bloc mixé) **/
+	public String rapport() {
+		return prechargements.resume("Pré-décodage des musiques") + System.lineSeparator()
+			+ Mixeur.getInstance().getLatencesMusique().resume("Changement de musique (demande -> premier bloc)") + System.lineSeparator();
+	}
+
+	@Override
+	public void close() {
+		enMarche = false;
+		LockSupport.unpark(thread);
+		try { thread.join(ARRET_TIMEOUT_MS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+	}
+}
\ No newline at end of file
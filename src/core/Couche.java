@@ -0,0 +1,209 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.util.Arrays;
+
+/**
+ * Représente une couche de tuiles d'une carte (numTuileChipset par case, 0 = case vide).
+ *
+ * Deux représentations en mémoire, choisies automatiquement selon le taux de remplissage :
+ * - dense : matrice complète (couche du sol, quasiment pleine)
+ * - creuse : seules les séquences de tuiles non vides de chaque ligne sont stockées (couches supérieures, quasiment vides)
+ */
+public abstract sealed class Couche permits Couche.Dense, Couche.Creuse {
+
+	/** Appelé pour chaque case non vide parcourue par {@link #parcourir} **/
+	public interface VisiteurTuile { void tuile(int i, int j, int numTuile); }
+
+	static final int TUILE_VIDE = 0;
+	private static final double TAUX_REMPLISSAGE_MAX_CREUSE = 0.5; // au-delà : représentation dense
+
+	protected final int largeur, hauteur; // en cases
+
+	/** Méthodes static **/
+	public static Couche creer(int[][] matrice, int hauteur, int largeur) {
+		if (matrice == null) return new Creuse(new int[hauteur][largeur], hauteur, largeur);
+		final int nbTuiles = compterTuiles(matrice);
+		final double tauxRemplissage = (double) nbTuiles / ((long) hauteur * largeur);
+		return (tauxRemplissage <= TAUX_REMPLISSAGE_MAX_CREUSE) ? new Creuse(matrice, hauteur, largeur) : new Dense(matrice, hauteur, largeur);
+	}
+
+	private static int compterTuiles(int[][] matrice) {
+		int nb = 0;
+		for (int[] ligne : matrice) {
+			for (int numTuile : ligne) if (numTuile != TUILE_VIDE) nb++;
+		}
+		return nb;
+	}
+
+	/** Constructeur **/
+	private Couche(int hauteur, int largeur) {
+		this.hauteur = hauteur;
+		this.largeur = largeur;
+	}
+
+	/** Getters **/
+	public int getLargeur() { return largeur; }
+	public int getHauteur() { return hauteur; }
+	public abstract boolean estCreuse();
+	public abstract int getNumTuile(int i, int j); // indices supposés valides (vérifiés par Carte)
+	public abstract long getTailleMemoire(); // estimation en octets (tableaux uniquement)
+
+	/** Autres méthodes **/
+	/**
+	 * Visite les cases non vides de la zone [y0, y1[ x [x0, x1[, ligne par ligne.
+	 * @return le nombre de cases non vides visitées
+	 */
+	public abstract int parcourir(int y0, int y1, int x0, int x1, VisiteurTuile visiteur);
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof Couche couche)) return false;
+		if (largeur != couche.largeur || hauteur != couche.hauteur) return false;
+
+		for (int i = 0; i < hauteur; i++) {
+			for (int j = 0; j < largeur; j++) {
+				if (getNumTuile(i, j) != couche.getNumTuile(i, j)) return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = 31 * hauteur + largeur;
+		for (int i = 0; i < hauteur; i++) {
+			for (int j = 0; j < largeur; j++) h = 31 * h + getNumTuile(i, j);
+		}
+		return h;
+	}
+
+	/** Matrice complète hauteur * largeur **/
+	static final class Dense extends Couche {
+
+		private final int[][] tuiles;
+
+		private Dense(int[][] matrice, int hauteur, int largeur) {
+			super(hauteur, largeur);
+			tuiles = matrice;
+		}
+
+		@Override public boolean estCreuse() { return false; }
+		@Override public int getNumTuile(int i, int j) { return tuiles[i][j]; }
+		@Override public long getTailleMemoire() { return (long) hauteur * (16 + 4L * largeur) + 16 + 4L * hauteur; }
+
+		@Override
+		public int parcourir(int y0, int y1, int x0, int x1, VisiteurTuile visiteur) {
+			int nb = 0;
+			for (int i = y0; i < y1; i++) {
+				final int[] ligne = tuiles[i];
+				for (int j = x0; j < x1; j++) {
+					final int numTuile = ligne[j];
+					if (numTuile != TUILE_VIDE) {
+						visiteur.tuile(i, j, numTuile);
+						nb++;
+					}
+				}
+			}
+			return nb;
+		}
+	}
+
+	/**
+	 * Séquences (runs) de tuiles non vides consécutives, triées par ligne puis par colonne.
+	 * Le run k de la ligne i (debutLignes[i] <= k < debutLignes[i + 1]) couvre les colonnes
+	 * [colonnes[k], colonnes[k] + longueurs[k][ et ses tuiles sont tuiles[offsets[k] ...].
+	 */
+	static final class Creuse extends Couche {
+
+		private final int[] debutLignes; // hauteur + 1 entrées
+		private final int[] colonnes, longueurs, offsets;
+		private final int[] tuiles; // tuiles non vides concaténées
+
+		private Creuse(int[][] matrice, int hauteur, int largeur) {
+			super(hauteur, largeur);
+			int nbRuns = 0, nbTuiles = 0;
+			for (int i = 0; i < hauteur; i++) {
+				final int[] ligne = matrice[i];
+				for (int j = 0; j < largeur; j++) {
+					if (ligne[j] == TUILE_VIDE) continue;
+					nbTuiles++;
+					if (j == 0 || ligne[j - 1] == TUILE_VIDE) nbRuns++;
+				}
+			}
+
+			debutLignes = new int[hauteur + 1];
+			colonnes = new int[nbRuns];
+			longueurs = new int[nbRuns];
+			offsets = new int[nbRuns];
+			tuiles = new int[nbTuiles];
+
+			int k = 0, t = 0;
+			for (int i = 0; i < hauteur; i++) {
+				debutLignes[i] = k;
+				final int[] ligne = matrice[i];
+				int j = 0;
+				while (j < largeur) {
+					if (ligne[j] == TUILE_VIDE) { j++; continue; }
+					colonnes[k] = j;
+					offsets[k] = t;
+					while (j < largeur && ligne[j] != TUILE_VIDE) tuiles[t++] = ligne[j++];
+					longueurs[k] = j - colonnes[k];
+					k++;
+				}
+			}
+			debutLignes[hauteur] = k;
+		}
+
+		@Override public boolean estCreuse() { return true; }
+
+		@Override
+		public int getNumTuile(int i, int j) {
+			final int debut = debutLignes[i], fin = debutLignes[i + 1];
+			int k = Arrays.binarySearch(colonnes, debut, fin, j);
+			if (k < 0) k = -k - 2; // dernier run commençant avant j
+			if (k < debut || j >= colonnes[k] + longueurs[k]) return TUILE_VIDE;
+			return tuiles[offsets[k] + (j - colonnes[k])];
+		}
+
+		@Override
+		public long getTailleMemoire() {
+			return 16 + 4L * debutLignes.length + 3 * (16 + 4L * colonnes.length) + 16 + 4L * tuiles.length;
+		}
+
+		@Override
+		public int parcourir(int y0, int y1, int x0, int x1, VisiteurTuile visiteur) {
+			int nb = 0;
+			for (int i = y0; i < y1; i++) {
+				final int fin = debutLignes[i + 1];
+				for (int k = debutLignes[i]; k < fin; k++) {
+					final int colDebut = colonnes[k];
+					if (colDebut >= x1) break; // runs triés : les suivants sont hors de la vue
+					final int colFin = colDebut + longueurs[k];
+					if (colFin <= x0) continue;
+
+					final int jDebut = Math.max(colDebut, x0), jFin = Math.min(colFin, x1);
+					final int base = offsets[k] - colDebut;
+					for (int j = jDebut; j < jFin; j++) visiteur.tuile(i, j, tuiles[base + j]);
+					nb += jFin - jDebut;
+				}
+			}
+			return nb;
+		}
+	}
+}
\ No newline at end of file
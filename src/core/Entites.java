@@ -0,0 +1,352 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Entités d'une carte (PNJ, monstres) rangées en tableaux parallèles de primitives (une colonne par donnée) :
+ * position, vitesse, direction, frame d'animation, skin, PV et état d'IA. Aucun objet par entité : des milliers
+ * d'entités ne coûtent que quelques tableaux, agrandis par doublement, sans déchets pour le GC.
+ *
+ * Chaque entité est désignée par un handle stable (indice de case + génération) : il reste valide tant que l'entité existe,
+ * même quand la suppression d'une autre entité déplace ses données (suppression par échange avec la dernière),
+ * et devient invalide à sa suppression, même si sa case est réutilisée.
+ *
+ * Mise à jour par passes, une fois par tick ({@link #mettreAJour}) : IA de toutes les entités, puis déplacements
+ * et collisions avec les murs et les autres entités, puis suppression des entités sans PV.
+ * Les positions sont reportées dans une {@link GrilleSpatiale} pour les requêtes de voisinage (hitbox de l'épée, collisions).
+ * Classe non thread-safe : thread de jeu uniquement.
+ */
+public final class Entites {
+
+	/** État d'IA (rangé par son ordinal) **/
+	public enum IA {
+		IMMOBILE, // ne bouge pas
+		ERRANCE, // change de direction ou s'arrête de temps en temps
+		POURSUITE // va vers la cible quand elle est à portée (murs contournés, {@link Chemins}), erre sinon
+	}
+
+	public static final int AUCUNE = -1; // handle d'aucune entité
+	private static final int BITS_INDICE = 20;
+	public static final int CAPACITE_MAX = 1 << BITS_INDICE; // 1 048 576 entités par carte
+	private static final int MASQUE_INDICE = CAPACITE_MAX - 1;
+	private static final int GENERATION_MAX = (1 << (31 - BITS_INDICE)) - 1; // handles toujours positifs
+	private static final int CAPACITE_INITIALE = 16;
+	private static final int FRAME_ARRET = 7; // comme le héros immobile
+	private static final int NB_FRAMES = 12;
+	private static final int PORTEE_POURSUITE_CASES = 8;
+	private static final float VITESSE_ERRANCE = (float) (Config.DEPLACEMENT_JOUEUR / 2.0);
+	private static final float VITESSE_POURSUITE = (float) (Config.DEPLACEMENT_JOUEUR * 0.75);
+	private static final Directions[] DIRECTIONS = Directions.values();
+	private static final IA[] ETATS_IA = IA.values();
+
+	// Colonnes, indexées par entité dans [0, nb[
+	private float[] x, y; // coin haut gauche, en pixels
+	private float[] vx, vy; // en pixels par tick
+	private byte[] direction, frame, ia;
+	private short[] skin; // indice dans skins
+	private int[] pv, pvMax, minuteurIA, handle;
+	private int nb = 0;
+
+	// Cases des handles : indice de l'entité (ou prochaine case libre) et génération
+	private int[] indiceDeCase = new int[0];
+	private short[] generation = new short[0];
+	private int premiereCaseLibre = -1; // liste chaînée des cases libres, dans indiceDeCase
+
+	private final GrilleSpatiale grille;
+	private final List<Skin> skins = new ArrayList<>();
+	private final Rectangle hitBox = new Rectangle(Config.TAILLE_CASES, Config.TAILLE_CASES); // collisions avec les murs (réutilisé)
+	private int hasard = 0x2545F491; // xorshift : IA déterministe, sans Random partagé
+
+	/** Constructeur **/
+	public Entites(int largeurCases, int hauteurCases) {
+		grille = new GrilleSpatiale(largeurCases, hauteurCases);
+		allouer(CAPACITE_INITIALE);
+	}
+
+	/** Getters **/
+	public int getNb() { return nb; }
+	public int getCapacite() { return x.length; }
+	public int getHandle(int i) { return handle[verifier(i)]; }
+	public float getX(int i) { return x[verifier(i)]; }
+	public float getY(int i) { return y[verifier(i)]; }
+	public float getVX(int i) { return vx[verifier(i)]; }
+	public float getVY(int i) { return vy[verifier(i)]; }
+	public Directions getDirection(int i) { return DIRECTIONS[direction[verifier(i)]]; }
+	public int getFrame(int i) { return frame[verifier(i)]; }
+	public int getRegionSkin(int i) { return direction[verifier(i)] * 3 + frame[i] / 4; } // région du skin, comme le héros
+	public Skin getSkin(int i) { return skins.get(skin[verifier(i)]); }
+	public int getPV(int i) { return pv[verifier(i)]; }
+	public int getPVMax(int i) { return pvMax[verifier(i)]; }
+	public IA getIA(int i) { return ETATS_IA[ia[verifier(i)]]; }
+	public List<Skin> getSkins() { return List.copyOf(skins); }
+	public GrilleSpatiale getGrille() { return grille; }
+	public long getTailleMemoire() { // estimation en octets (tableaux uniquement)
+		final long colonnes = (long) x.length * (4 * Float.BYTES + 3 + Short.BYTES + 4 * Integer.BYTES);
+		return colonnes + (long) indiceDeCase.length * (Integer.BYTES + Short.BYTES) + 16L * 14 + grille.getTailleMemoire(); // + en-têtes des tableaux
+	}
+
+	/** Indice actuel de l'entité (change quand une autre entité est supprimée), -1 si le handle n'est plus valide **/
+	public int indice(int h) {
+		if (h < 0) return -1;
+		final int c = h & MASQUE_INDICE;
+		if (c >= generation.length || generation[c] != (h >>> BITS_INDICE)) return -1;
+		return indiceDeCase[c];
+	}
+
+	public boolean estValide(int h) { return indice(h) >= 0; }
+
+	private int verifier(int i) {
+		if (i < 0 || i >= nb) throw new IndexOutOfBoundsException("Entité " + i + " < 0 ou >= " + nb);
+		return i;
+	}
+
+	private int indiceValide(int h) {
+		final int i = indice(h);
+		if (i < 0) throw new IllegalArgumentException("Handle d'entité invalide ou périmé : " + h);
+		return i;
+	}
+
+	/** Setters **/
+	public void setIA(int h, IA etat) {
+		final int i = indiceValide(h);
+		ia[i] = (byte) Objects.requireNonNull(etat, "IA null").ordinal();
+		minuteurIA[i] = 0;
+		vx[i] = vy[i] = 0f;
+	}
+
+	public void modifierPosition(int h, float xPx, float yPx) {
+		final int i = indiceValide(h);
+		x[i] = xPx;
+		y[i] = yPx;
+		grille.deplacer(h & MASQUE_INDICE, (int) xPx, (int) yPx);
+	}
+
+	/** Autres méthodes **/
+	/**
+	 * Ajoute une entité sur une case de la carte
+	 * @return son handle
+	 */
+	public int ajouter(Skin s, int xCase, int yCase, int pvMaxEntite, IA etat) {
+		Objects.requireNonNull(s, "Skin de l'entité null");
+		Objects.requireNonNull(etat, "IA de l'entité null");
+		if (xCase < 0 || yCase < 0) throw new IllegalArgumentException("Entité (" + s.getNom() + "): case négative [" + xCase + "," + yCase + "]");
+		if (pvMaxEntite < 1) throw new IllegalArgumentException("Entité (" + s.getNom() + "): PV max < 1");
+		if (nb == CAPACITE_MAX) throw new IllegalStateException("Plus de " + CAPACITE_MAX + " entités sur la carte");
+		if (nb == x.length) allouer(Math.min(CAPACITE_MAX, 2 * x.length));
+
+		int idSkin = skins.indexOf(s);
+		if (idSkin < 0) {
+			if (skins.size() > Short.MAX_VALUE) throw new IllegalStateException("Trop de skins différents sur la carte");
+			skins.add(s);
+			idSkin = skins.size() - 1;
+		}
+
+		final int c = prendreCase();
+		final int i = nb++;
+		indiceDeCase[c] = i;
+		handle[i] = (generation[c] << BITS_INDICE) | c;
+		x[i] = xCase * Config.TAILLE_CASES;
+		y[i] = yCase * Config.TAILLE_CASES;
+		vx[i] = vy[i] = 0f;
+		direction[i] = (byte) Directions.BAS.ordinal();
+		frame[i] = FRAME_ARRET;
+		skin[i] = (short) idSkin;
+		pv[i] = pvMax[i] = pvMaxEntite;
+		ia[i] = (byte) etat.ordinal();
+		minuteurIA[i] = 0;
+		grille.inserer(c, handle[i], (int) x[i], (int) y[i]);
+		return handle[i];
+	}
+
+	/** Supprime l'entité (la dernière prend sa place) : false si le handle n'est plus valide **/
+	public boolean supprimer(int h) {
+		final int i = indice(h);
+		if (i < 0) return false;
+		supprimerIndice(i);
+		return true;
+	}
+
+	/** Modifie les PV (bornés à [0, PV max]) : l'entité à 0 PV est supprimée à la fin du tick suivant **/
+	public void modifierPV(int h, int delta) {
+		final int i = indiceValide(h);
+		pv[i] = Math.clamp((long) pv[i] + delta, 0, pvMax[i]);
+	}
+
+	public void vider() {
+		for (int i = nb - 1; i >= 0; i--) supprimerIndice(i);
+	}
+
+	/**
+	 * Un tick : IA de toutes les entités, puis déplacements (glissement le long des murs), puis suppression des entités sans PV
+	 * @param xCible, yCible position de la cible des entités en poursuite (le héros), en pixels
+	 */
+	public void mettreAJour(Carte carte, int xCible, int yCible) {
+		passeIA(carte, xCible, yCible);
+		passeDeplacements(carte);
+		passeSuppressions();
+	}
+
+	private void passeIA(Carte carte, int xCible, int yCible) {
+		final float portee = (float) PORTEE_POURSUITE_CASES * Config.TAILLE_CASES;
+		for (int i = 0; i < nb; i++) {
+			switch (ETATS_IA[ia[i]]) {
+				case IMMOBILE -> { vx[i] = 0f; vy[i] = 0f; }
+				case ERRANCE -> errer(i);
+				case POURSUITE -> {
+					final float dx = xCible - x[i], dy = yCible - y[i];
+					if (dx * dx + dy * dy > portee * portee) { errer(i); continue; }
+					if (suivreChemin(carte.getChemins(), i, xCible, yCible)) continue;
+					// chemin pas encore connu (ou même case) : tout droit, selon l'axe le plus éloigné (4 directions, comme les skins)
+					if (Math.abs(dx) >= Math.abs(dy)) { vx[i] = Math.copySign(Math.min(VITESSE_POURSUITE, Math.abs(dx)), dx); vy[i] = 0f; }
+					else { vx[i] = 0f; vy[i] = Math.copySign(Math.min(VITESSE_POURSUITE, Math.abs(dy)), dy); }
+				}
+			}
+		}
+	}
+
+	/** Case contenant le centre d'une entité (coin haut gauche en pixels) **/
+	private static int caseDe(float px) { return (int) (px + Config.TAILLE_CASES / 2) / Config.TAILLE_CASES; }
+
+	/**
+	 * Vers la case suivante du chemin jusqu'à la cible, en s'alignant d'abord sur la ligne (ou colonne) du pas
+	 * pour ne pas accrocher les murs voisins
+	 * @return false si le chemin n'est pas (encore) connu ou si l'entité est déjà sur la case de la cible
+	 */
+	private boolean suivreChemin(Chemins chemins, int i, int xCible, int yCible) {
+		final int yCase = caseDe(y[i]);
+		final int entree = chemins.chercher(caseDe(x[i]), yCase, caseDe(xCible), caseDe(yCible));
+		if (entree < 0 || chemins.getLongueur(entree) < 2) return false;
+		final float dx = chemins.getCaseX(entree, 1) * Config.TAILLE_CASES - x[i], dy = chemins.getCaseY(entree, 1) * Config.TAILLE_CASES - y[i];
+		final boolean pasHorizontal = chemins.getCaseY(entree, 1) == yCase;
+		vx[i] = vy[i] = 0f;
+		if (pasHorizontal ? dy == 0f : dx != 0f) vx[i] = Math.copySign(Math.min(VITESSE_POURSUITE, Math.abs(dx)), dx); // pas horizontal déjà aligné, ou alignement sur la colonne avant un pas vertical
+		else vy[i] = Math.copySign(Math.min(VITESSE_POURSUITE, Math.abs(dy)), dy);
+		return true;
+	}
+
+	/** Toutes les 1 à 3 s : une direction au hasard, ou un arrêt une fois sur quatre **/
+	private void errer(int i) {
+		if (--minuteurIA[i] > 0) return;
+		minuteurIA[i] = Config.UPS + suivant(2 * Config.UPS);
+		final int choix = suivant(DIRECTIONS.length + 2);
+		vx[i] = vy[i] = 0f;
+		if (choix >= DIRECTIONS.length) return; // arrêt
+		switch (DIRECTIONS[choix]) {
+			case BAS -> vy[i] = VITESSE_ERRANCE;
+			case HAUT -> vy[i] = -VITESSE_ERRANCE;
+			case GAUCHE -> vx[i] = -VITESSE_ERRANCE;
+			case DROITE -> vx[i] = VITESSE_ERRANCE;
+		}
+	}
+
+	private void passeDeplacements(Carte carte) {
+		final float xMax = (carte.getLargeur() - 1) * Config.TAILLE_CASES, yMax = (carte.getHauteur() - 1) * Config.TAILLE_CASES;
+		for (int i = 0; i < nb; i++) {
+			final float dx = vx[i], dy = vy[i];
+			if (dx == 0f && dy == 0f) { frame[i] = FRAME_ARRET; continue; }
+			final int c = handle[i] & MASQUE_INDICE;
+			boolean bouge = false;
+			if (dx != 0f) {
+				final float nx = Math.clamp(x[i] + dx, 0f, xMax);
+				if (nx != x[i] && libre(carte, c, nx, y[i])) { x[i] = nx; bouge = true; grille.deplacer(c, (int) x[i], (int) y[i]); }
+				else { vx[i] = 0f; minuteurIA[i] = 0; } // bloquée : l'IA choisit autre chose au prochain tick
+			}
+			if (dy != 0f) {
+				final float ny = Math.clamp(y[i] + dy, 0f, yMax);
+				if (ny != y[i] && libre(carte, c, x[i], ny)) { y[i] = ny; bouge = true; grille.deplacer(c, (int) x[i], (int) y[i]); }
+				else { vy[i] = 0f; minuteurIA[i] = 0; }
+			}
+			direction[i] = (byte) ((Math.abs(dx) >= Math.abs(dy))
+				? ((dx < 0f) ? Directions.GAUCHE : Directions.DROITE).ordinal()
+				: ((dy < 0f) ? Directions.HAUT : Directions.BAS).ordinal());
+			frame[i] = (byte) (bouge ? (frame[i] + 1) % NB_FRAMES : FRAME_ARRET);
+		}
+	}
+
+	/** Ni mur ni autre entité (case de handle c) à la position **/
+	private boolean libre(Carte carte, int c, float xPx, float yPx) {
+		hitBox.setLocation((int) xPx, (int) yPx);
+		return !carte.detecterCollisionsMurs(hitBox) && !grille.bloque(c, (int) xPx, (int) yPx);
+	}
+
+	private void passeSuppressions() {
+		for (int i = nb - 1; i >= 0; i--) if (pv[i] <= 0) supprimerIndice(i); // de la fin : l'entité déplacée a déjà été vue
+	}
+
+	private void supprimerIndice(int i) {
+		final int c = handle[i] & MASQUE_INDICE;
+		grille.retirer(c);
+		final int dernier = --nb;
+		if (i != dernier) { // la dernière entité prend la place libérée
+			x[i] = x[dernier]; y[i] = y[dernier];
+			vx[i] = vx[dernier]; vy[i] = vy[dernier];
+			direction[i] = direction[dernier]; frame[i] = frame[dernier]; ia[i] = ia[dernier];
+			skin[i] = skin[dernier];
+			pv[i] = pv[dernier]; pvMax[i] = pvMax[dernier]; minuteurIA[i] = minuteurIA[dernier];
+			handle[i] = handle[dernier];
+			indiceDeCase[handle[i] & MASQUE_INDICE] = i;
+		}
+		generation[c] = (short) ((generation[c] % GENERATION_MAX) + 1); // les handles de cette case deviennent périmés (génération 0 jamais utilisée)
+		indiceDeCase[c] = premiereCaseLibre;
+		premiereCaseLibre = c;
+	}
+
+	/** Case libérée la plus récente (cases doublées quand toutes servent) **/
+	private int prendreCase() {
+		if (premiereCaseLibre < 0) {
+			final int ancienne = indiceDeCase.length, nouvelle = Math.min(CAPACITE_MAX, Math.max(CAPACITE_INITIALE, 2 * ancienne));
+			indiceDeCase = Arrays.copyOf(indiceDeCase, nouvelle);
+			generation = Arrays.copyOf(generation, nouvelle);
+			for (int k = nouvelle - 1; k >= ancienne; k--) { // cases neuves chaînées dans la liste des libres
+				generation[k] = 1;
+				indiceDeCase[k] = premiereCaseLibre;
+				premiereCaseLibre = k;
+			}
+		}
+		final int c = premiereCaseLibre;
+		premiereCaseLibre = indiceDeCase[c];
+		return c;
+	}
+
+	private void allouer(int capacite) {
+		x = (x == null) ? new float[capacite] : Arrays.copyOf(x, capacite);
+		y = (y == null) ? new float[capacite] : Arrays.copyOf(y, capacite);
+		vx = (vx == null) ? new float[capacite] : Arrays.copyOf(vx, capacite);
+		vy = (vy == null) ? new float[capacite] : Arrays.copyOf(vy, capacite);
+		direction = (direction == null) ? new byte[capacite] : Arrays.copyOf(direction, capacite);
+		frame = (frame == null) ? new byte[capacite] : Arrays.copyOf(frame, capacite);
+		ia = (ia == null) ? new byte[capacite] : Arrays.copyOf(ia, capacite);
+		skin = (skin == null) ? new short[capacite] : Arrays.copyOf(skin, capacite);
+		pv = (pv == null) ? new int[capacite] : Arrays.copyOf(pv, capacite);
+		pvMax = (pvMax == null) ? new int[capacite] : Arrays.copyOf(pvMax, capacite);
+		minuteurIA = (minuteurIA == null) ? new int[capacite] : Arrays.copyOf(minuteurIA, capacite);
+		handle = (handle == null) ? new int[capacite] : Arrays.copyOf(handle, capacite);
+	}
+
+	/** xorshift 32 bits, valeur dans [0, borne[ **/
+	private int suivant(int borne) {
+		hasard ^= hasard << 13;
+		hasard ^= hasard >>> 17;
+		hasard ^= hasard << 5;
+		return Math.floorMod(hasard, borne);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Point d'accès unique aux fichiers de ressources du jeu (chemins relatifs du type "img/BZ.png"),
+ * résolus depuis le dossier {@link Config#RACINE_RESSOURCES} (par défaut : le dossier courant).
+ *
+ * Les ressources sont lues dans l'archive {@link Config#ARCHIVE} si elle existe (une seule ouverture de fichier,
+ * aucun parcours de dossier), sinon dans les fichiers séparés. En mode développement, les fichiers séparés
+ * sont toujours utilisés (rechargement à chaud des cartes).
+ */
+public final class Fichiers {
+
+	private Fichiers() { throw new AssertionError("La classe Fichiers ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final Path RACINE = Path.of(Config.RACINE_RESSOURCES);
+	private static final Archive ARCHIVE = ouvrirArchive();
+
+	/** Méthodes static **/
+	private static Archive ouvrirArchive() {
+		if (Config.MODE_DEV || Config.ARCHIVE.isBlank()) return null;
+		final Path chemin = resoudre(Config.ARCHIVE);
+		if (!Files.exists(chemin)) return null;
+		try {
+			final Archive archive = Archive.ouvrir(chemin);
+			System.out.println("Archive de ressources " + chemin + " : " + archive.getNbEntrees() + " fichiers");
+			return archive;
+		} catch (IOException e) {
+			System.err.println("[ERREUR] Archive " + chemin + " illisible (" + e.getMessage() + ") -> fichiers séparés");
+			return null;
+		}
+	}
+
+	private static String normaliser(String chemin) { return chemin.replace('\\', '/'); }
+
+	/** Getters **/
+	public static boolean utiliseArchive() { return ARCHIVE != null; }
+
+	/** Chemin sur le disque d'une ressource (fichiers séparés) **/
+	public static Path resoudre(String chemin) { return RACINE.resolve(chemin); }
+
+	/** Autres méthodes **/
+	public static boolean existe(String chemin) {
+		return (ARCHIVE != null && ARCHIVE.contient(normaliser(chemin))) || Files.exists(resoudre(chemin));
+	}
+
+	/** Contenu complet du fichier (lecture seule, sans copie depuis l'archive si l'entrée n'est pas compressée) **/
+	public static ByteBuffer lire(String chemin) throws IOException {
+		if (ARCHIVE != null) {
+			ByteBuffer contenu = ARCHIVE.lire(normaliser(chemin));
+			if (contenu != null) return contenu;
+		}
+		return ByteBuffer.wrap(Files.readAllBytes(resoudre(chemin))).asReadOnlyBuffer();
+	}
+
+	/** Flux de lecture du fichier (supporte mark / reset, requis par AudioSystem) **/
+	public static InputStream ouvrir(String chemin) throws IOException {
+		if (ARCHIVE != null) {
+			ByteBuffer contenu = ARCHIVE.lire(normaliser(chemin));
+			if (contenu != null) return new FluxTampon(contenu);
+		}
+		return new BufferedInputStream(Files.newInputStream(resoudre(chemin)), 1 << 16);
+	}
+
+	/** Chemins des fichiers du dossier se terminant par le suffixe (archive + fichiers séparés), triés **/
+	public static List<String> lister(String dossier, String suffixe) throws IOException {
+		final List<String> chemins = (ARCHIVE != null) ? ARCHIVE.lister(dossier, suffixe) : new ArrayList<>();
+		if (ARCHIVE != null && !chemins.isEmpty()) return chemins; // dossier présent dans l'archive : pas de parcours disque
+
+		final Path dossierPath = resoudre(dossier);
+		if (!Files.isDirectory(dossierPath)) return chemins;
+		try (DirectoryStream<Path> fichiers = Files.newDirectoryStream(dossierPath, "*" + suffixe)) {
+			for (Path fichier : fichiers) chemins.add(dossier + "/" + fichier.getFileName());
+		}
+		Collections.sort(chemins);
+		return chemins;
+	}
+
+	/** Empreinte du contenu (CRC32 + taille), identique que le fichier vienne de l'archive ou du disque **/
+	public static String empreinte(String chemin) throws IOException {
+		if (ARCHIVE != null) {
+			Archive.Entree entree = ARCHIVE.getEntree(normaliser(chemin));
+			if (entree != null) return String.format("%08x%x", entree.crc32(), entree.longueurOriginale()); // déjà dans l'index
+		}
+		final CRC32 crc = new CRC32();
+		final byte[] tampon = new byte[64 * 1024];
+		long taille = 0;
+		try (InputStream in = Files.newInputStream(resoudre(chemin))) {
+			int n;
+			while ((n = in.read(tampon)) != -1) { crc.update(tampon, 0, n); taille += n; }
+		}
+		return String.format("%08x%x", (int) crc.getValue(), taille);
+	}
+
+	/** Flux sur un ByteBuffer (tranche de l'archive) **/
+	private static final class FluxTampon extends InputStream {
+		private final ByteBuffer tampon;
+		private int marque = 0;
+
+		FluxTampon(ByteBuffer tampon) { this.tampon = tampon.duplicate(); }
+
+		@Override public int read() { return tampon.hasRemaining() ? (tampon.get() & 0xFF) : -1; }
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) return 0;
+			if (!tampon.hasRemaining()) return -1;
+			final int n = Math.min(len, tampon.remaining());
+			tampon.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public long skip(long n) {
+			final int saut = (int) Math.max(0, Math.min(n, tampon.remaining()));
+			tampon.position(tampon.position() + saut);
+			return saut;
+		}
+
+		@Override public int available() { return tampon.remaining(); }
+		@Override public boolean markSupported() { return true; }
+		@Override public synchronized void mark(int limite) { marque = tampon.position(); }
+		@Override public synchronized void reset() { tampon.position(marque); }
+	}
+}
\ No newline at end of file
@@ -80,6 +80,32 @@ public final class GestionnaireGraphiques {
 	private final Zone rectFiolePM = new Zone(WW_96PERCENT - 1, WH_69PERCENT, Config.WINDOW_WIDTH - 1, WH_94PERCENT);
 
 	private final BufferedImage textureFioles, textureBarreXP;
+	private final DessinateurTuiles dessinateurTuiles = new DessinateurTuiles(); // réutilisé à chaque couche (aucune allocation par frame)
+	private final GrilleSpatiale.Visiteur dessinateurEntites = this::dessinerEntite; // idem pour les entités
+	private Entites entitesDessinees; // carte et Graphics de l'appel en cours de entites()
+	private Graphics grapheEntites;
+	private int xCamEntites, yCamEntites;
+
+	/** Dessine chaque tuile visitée d'une couche **/
+	private static final class DessinateurTuiles implements Couche.VisiteurTuile {
+		private Graphics g;
+		private Chipset chipset;
+		private int xCam, yCam;
+
+		void preparer(Graphics g, Chipset chipset, int xCam, int yCam) {
+			this.g = g;
+			this.chipset = chipset;
+			this.xCam = xCam;
+			this.yCam = yCam;
+		}
+
+		@Override
+		public void tuile(int i, int j, int numTuile) {
+			final int tailleCases = Config.TAILLE_CASES;
+			// numTuile - 1 car les tuiles de chipsets commencent à 0
+			g.drawImage(chipset.getTuile(numTuile - 1), j * tailleCases + xCam, i * tailleCases + yCam, tailleCases, tailleCases, null);
+		}
+	}
 
 	/** Méthodes static **/
 	private static void validerArguments(Font policeFPS, Font policeBASE, BufferedImage textureFioles, BufferedImage textureBarreXP) {
@@ -343,6 +369,25 @@ public final class GestionnaireGraphiques {
 		skinHeros(g, x, y); // dessiner skin du héros
 	}
 
+	/** Entités de la carte dans la vue de la caméra (entre les couches 1 et 2, comme le héros), renvoie le nombre d'entités dessinées **/
+	public int entites(Graphics g) {
+		entitesDessinees = heros.getCarteActuelle().getEntites();
+		grapheEntites = g;
+		xCamEntites = (int)camera.getX();
+		yCamEntites = (int)camera.getY();
+		// grille spatiale : seules les cellules de la vue sont parcourues, quel que soit le nombre d'entités de la carte
+		final int nbDessinees = entitesDessinees.getGrille().rectangle(-xCamEntites, -yCamEntites, Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, dessinateurEntites);
+		grapheEntites = null; // ne pas retenir le Graphics entre deux frames
+		entitesDessinees = null;
+		return nbDessinees;
+	}
+
+	private boolean dessinerEntite(int handle) {
+		final int i = entitesDessinees.indice(handle);
+		entitesDessinees.getSkin(i).afficher(grapheEntites, entitesDessinees.getRegionSkin(i), (int)entitesDessinees.getX(i) + xCamEntites, (int)entitesDessinees.getY(i) + yCamEntites);
+		return true;
+	}
+
 	public void hitBoxEpeeHeros(Graphics g) {
 		dessinerRectangle(g, Color.WHITE, heros.getHitBoxEpeeEcran());
 	}
@@ -361,34 +406,17 @@ public final class GestionnaireGraphiques {
 		if (Config.DEBUG_MODE) System.out.printf("x0: %d, x1: %d, y0: %d, y1: %d\n", bornes[0], bornes[1], bornes[2], bornes[3]);
 	}
 
-	public void couche(Graphics g, int couche) {
+	/** Dessine une couche du chipset dans la vue de la caméra, renvoie le nombre de tuiles dessinées **/
+	public int couche(Graphics g, int couche) {
 		if (g instanceof Graphics2D g2d) g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-		final int xCam = (int)camera.getX(), yCam = (int)camera.getY();
 		final Carte carte = heros.getCarteActuelle();
-		final Chipset chipset = carte.getChipset();
-		//final int tailleTuile = chipset.getTailleTuile();
-		//final int nbTuilesLargeur = chipset.getNbTuilesLargeur();
 
-		calculerBornesAffichage(); // limiter l'affichage des murs à la vue de la caméra (optimisation)
-		final int x0 = bornes[0], x1 = bornes[1], y0 = bornes[2], y1 = bornes[3];
-		final int tailleCases = Config.TAILLE_CASES;
-
-		for (int i = y0; i < y1; i++) {
-			for (int j = x0; j < x1; j++) {
-				int numTuile = carte.getNumTuile(couche, i, j) - 1; // - 1 car les tuiles de chipsets commencent à 0
-				if (numTuile > -1) {
-					/* g.drawImage(
-						chipset.getTexture(),
-						j * tailleCases + xCam, i * tailleCases + yCam,
-						(j + 1) * tailleCases + xCam, (i + 1) * tailleCases + yCam,
-						(numTuile % nbTuilesLargeur) * tailleTuile, (numTuile / nbTuilesLargeur) * tailleTuile,
-						((numTuile % nbTuilesLargeur) + 1) * tailleTuile, ((numTuile / nbTuilesLargeur) + 1) * tailleTuile,
-						null
-					); */
-					g.drawImage(chipset.getTuile(numTuile), j * tailleCases + xCam, i * tailleCases + yCam, tailleCases, tailleCases, null);
-				}
-			}
-		}
+		calculerBornesAffichage(); // limiter l'affichage des tuiles à la vue de la caméra (optimisation)
+		dessinateurTuiles.preparer(g, carte.getChipset(), (int)camera.getX(), (int)camera.getY());
+		// une couche creuse ne parcourt que ses séquences de tuiles non vides (pas de boucle sur les cases vides)
+		final int nbDessinees = carte.getCouche(couche).parcourir(bornes[2], bornes[3], bornes[0], bornes[1], dessinateurTuiles);
+		dessinateurTuiles.preparer(null, null, 0, 0); // ne pas retenir le Graphics entre deux frames
+		return nbDessinees;
 	}
 
 	public void murs(Graphics g) {
@@ -0,0 +1,99 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Gère le décodage paresseux des chipsets et leur éviction sous un budget mémoire.
+ *
+ * Un chipset est décodé à sa première utilisation par une carte active, puis compté par référence.
+ * Lorsque plus aucune carte active ne l'utilise, il reste en mémoire (cache) jusqu'à ce que le budget
+ * ({@link Config#BUDGET_TEXTURES_MO}) soit dépassé : les chipsets non référencés sont alors évincés
+ * du moins récemment utilisé au plus récemment utilisé (LRU).
+ */
+public final class GestionnaireTextures {
+
+	private GestionnaireTextures() { throw new AssertionError("La classe GestionnaireTextures ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final long BUDGET_OCTETS = Config.BUDGET_TEXTURES_MO * 1024L * 1024L;
+	private static final Map<Chipset, Boolean> decodes = new LinkedHashMap<>(16, 0.75f, true); // ordre d'accès = ordre LRU
+	private static long memoireTotale = 0L;
+
+	/** Getters **/
+	public static synchronized long getMemoireTotale() { return memoireTotale; }
+	public static long getBudget() { return BUDGET_OCTETS; }
+
+	/** Autres méthodes **/
+	static synchronized void acquerir(Chipset chipset) {
+		Objects.requireNonNull(chipset, "Chipset null à acquérir");
+		chipset.modifierReferences(1);
+		decoder(chipset);
+		appliquerBudget();
+	}
+
+	static synchronized void liberer(Chipset chipset) {
+		Objects.requireNonNull(chipset, "Chipset null à libérer");
+		if (chipset.getNbReferences() <= 0) throw new IllegalStateException("Chipset " + chipset.getNom() + " libéré sans avoir été acquis");
+		chipset.modifierReferences(-1);
+		appliquerBudget();
+	}
+
+	static synchronized BufferedImage[] tuiles(Chipset chipset) {
+		return decoder(chipset); // le budget sera appliqué à la prochaine acquisition / libération
+	}
+
+	private static BufferedImage[] decoder(Chipset chipset) {
+		final boolean dejaDecode = chipset.estDecode();
+		final long debut = System.nanoTime();
+		final BufferedImage[] tuiles = chipset.decoder();
+		decodes.put(chipset, Boolean.TRUE); // marque comme le plus récemment utilisé
+		if (!dejaDecode) {
+			memoireTotale += chipset.getMemoireDecodee();
+			if (Config.DEBUG_MODE) System.out.printf(Locale.ROOT, "Chipset %s décodé : %d Ko en %.1f ms (total : %d Ko / %d Ko)%n",
+				chipset.getNom(), chipset.getMemoireDecodee() / 1024, (System.nanoTime() - debut) / 1e6, memoireTotale / 1024, BUDGET_OCTETS / 1024);
+		}
+		return tuiles;
+	}
+
+	private static void appliquerBudget() {
+		Iterator<Chipset> it = decodes.keySet().iterator(); // du moins récemment utilisé au plus récent
+		while (memoireTotale > BUDGET_OCTETS && it.hasNext()) {
+			Chipset chipset = it.next();
+			if (chipset.getNbReferences() > 0) continue; // encore utilisé par une carte active
+			final long memoire = chipset.getMemoireDecodee();
+			chipset.evincer();
+			it.remove();
+			memoireTotale -= memoire;
+			if (Config.DEBUG_MODE) System.out.println("Chipset " + chipset.getNom() + " évincé (" + memoire / 1024 + " Ko libérés)");
+		}
+	}
+
+	/** Mémoire décodée par chipset (du moins récemment utilisé au plus récent) **/
+	public static synchronized String rapport() {
+		StringBuilder sb = new StringBuilder(256);
+		sb.append(String.format(Locale.ROOT, "Textures décodées : %d Ko / %d Ko%n", memoireTotale / 1024, BUDGET_OCTETS / 1024));
+		for (Chipset chipset : decodes.keySet()) {
+			sb.append(String.format(Locale.ROOT, "  %-28s %8d Ko  (références : %d)%n", chipset.getNom(), chipset.getMemoireDecodee() / 1024, chipset.getNbReferences()));
+		}
+		return sb.toString();
+	}
+}
\ No newline at end of file
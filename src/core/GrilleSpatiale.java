@@ -0,0 +1,224 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Grille uniforme des entités d'une carte, alignée sur les cases ({@link Config#TAILLE_CASES}) : chaque cellule
+ * tient la liste chaînée (tableaux d'entiers) des entités dont le centre s'y trouve. Une carte étant bornée,
+ * la « fonction de hachage » est l'indice de la case : aucune collision entre cellules.
+ *
+ * Tenue à jour par {@link Entites} à chaque ajout, déplacement et suppression (en O(1), par case de handle :
+ * la suppression par échange ne la touche pas). Les requêtes (rectangle, rayon, plus proche) ne parcourent
+ * que les cellules concernées et n'allouent rien : résultats passés à un {@link Visiteur} ou copiés dans un tableau
+ * fourni par l'appelant. Leur coût dépend du nombre d'entités voisines, pas du nombre d'entités de la carte.
+ * Classe non thread-safe : thread de jeu uniquement.
+ */
+public final class GrilleSpatiale {
+
+	/** Reçoit le handle de chaque entité trouvée, renvoie false pour arrêter la requête **/
+	@FunctionalInterface
+	public interface Visiteur { boolean visiter(int handle); }
+
+	private static final int AUCUNE = -1;
+
+	private final int largeur, hauteur; // en cellules (cases de la carte)
+	private final int[] tetes; // première entité (case de handle) de chaque cellule
+	private int[] suivantes = new int[0], precedentes = new int[0], cellules = new int[0]; // par case de handle
+	private int[] xs = new int[0], ys = new int[0], handles = new int[0]; // coin haut gauche en pixels, handle courant
+	private int nb = 0;
+
+	/** Constructeur **/
+	public GrilleSpatiale(int largeurCases, int hauteurCases) {
+		if (largeurCases < 1 || hauteurCases < 1) throw new IllegalArgumentException("GrilleSpatiale: largeur ou hauteur < 1");
+		this.largeur = largeurCases;
+		this.hauteur = hauteurCases;
+		this.tetes = new int[largeurCases * hauteurCases];
+		Arrays.fill(tetes, AUCUNE);
+	}
+
+	/** Getters **/
+	public int getNb() { return nb; }
+	public int getLargeur() { return largeur; }
+	public int getHauteur() { return hauteur; }
+	public long getTailleMemoire() { return 16L * 7 + 4L * tetes.length + 24L * suivantes.length; } // estimation en octets (tableaux uniquement)
+
+	/** Cellule du centre de l'entité (bornée à la carte) **/
+	private int cellule(int xPx, int yPx) {
+		final int t = Config.TAILLE_CASES;
+		final int j = Math.clamp(Math.floorDiv(xPx + t / 2, t), 0, largeur - 1);
+		final int i = Math.clamp(Math.floorDiv(yPx + t / 2, t), 0, hauteur - 1);
+		return i * largeur + j;
+	}
+
+	/** Mises à jour (par Entites) **/
+	void inserer(int c, int handle, int xPx, int yPx) {
+		if (c >= cellules.length) agrandir(Math.max(16, Math.max(c + 1, 2 * cellules.length)));
+		handles[c] = handle;
+		xs[c] = xPx;
+		ys[c] = yPx;
+		lier(c, cellule(xPx, yPx));
+		nb++;
+	}
+
+	void deplacer(int c, int xPx, int yPx) {
+		xs[c] = xPx;
+		ys[c] = yPx;
+		final int nouvelle = cellule(xPx, yPx);
+		if (nouvelle == cellules[c]) return; // même cellule : rien à relier
+		delier(c);
+		lier(c, nouvelle);
+	}
+
+	void retirer(int c) {
+		delier(c);
+		nb--;
+	}
+
+	private void lier(int c, int cellule) {
+		cellules[c] = cellule;
+		precedentes[c] = AUCUNE;
+		suivantes[c] = tetes[cellule];
+		if (tetes[cellule] != AUCUNE) precedentes[tetes[cellule]] = c;
+		tetes[cellule] = c;
+	}
+
+	private void delier(int c) {
+		if (precedentes[c] != AUCUNE) suivantes[precedentes[c]] = suivantes[c];
+		else tetes[cellules[c]] = suivantes[c];
+		if (suivantes[c] != AUCUNE) precedentes[suivantes[c]] = precedentes[c];
+	}
+
+	private void agrandir(int capacite) {
+		suivantes = Arrays.copyOf(suivantes, capacite);
+		precedentes = Arrays.copyOf(precedentes, capacite);
+		cellules = Arrays.copyOf(cellules, capacite);
+		xs = Arrays.copyOf(xs, capacite);
+		ys = Arrays.copyOf(ys, capacite);
+		handles = Arrays.copyOf(handles, capacite);
+	}
+
+	/**
+	 * Une autre entité chevauche-t-elle la boîte de l'entité (case de handle c) placée en (xPx, yPx),
+	 * sans la chevaucher à sa position actuelle ? (les entités déjà superposées peuvent se séparer)
+	 */
+	boolean bloque(int c, int xPx, int yPx) {
+		final int t = Config.TAILLE_CASES;
+		final int j0 = Math.max(0, Math.floorDiv(xPx - t / 2, t)), j1 = Math.min(largeur - 1, Math.floorDiv(xPx + t + t / 2 - 1, t));
+		final int i0 = Math.max(0, Math.floorDiv(yPx - t / 2, t)), i1 = Math.min(hauteur - 1, Math.floorDiv(yPx + t + t / 2 - 1, t));
+		for (int i = i0; i <= i1; i++) {
+			for (int j = j0; j <= j1; j++) {
+				for (int k = tetes[i * largeur + j]; k != AUCUNE; k = suivantes[k]) {
+					if (k != c && chevauche(k, xPx, yPx, t, t) && !chevauche(k, xs[c], ys[c], t, t)) return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean chevauche(int k, int x, int y, int l, int h) {
+		final int t = Config.TAILLE_CASES;
+		return xs[k] < x + l && x < xs[k] + t && ys[k] < y + h && y < ys[k] + t;
+	}
+
+	/** Autres méthodes **/
+	/** Entités dont la boîte (une case) intersecte le rectangle, en pixels : renvoie le nombre d'entités visitées **/
+	public int rectangle(int x, int y, int l, int h, Visiteur visiteur) { return rectangle(x, y, l, h, visiteur, null); }
+
+	public int rectangle(Rectangle zone, Visiteur visiteur) { return rectangle(zone.x, zone.y, zone.width, zone.height, visiteur, null); }
+
+	/**
+	 * Handles des entités qui intersectent le rectangle, copiés dans resultats (dans la limite de sa taille)
+	 * @return le nombre d'entités trouvées (peut dépasser resultats.length)
+	 */
+	public int rectangle(int x, int y, int l, int h, int[] resultats) { return rectangle(x, y, l, h, null, resultats); }
+
+	private int rectangle(int x, int y, int l, int h, Visiteur visiteur, int[] resultats) {
+		if (l <= 0 || h <= 0) return 0;
+		final int t = Config.TAILLE_CASES;
+		// centres possibles : rectangle élargi d'une demi-case de chaque côté
+		final int j0 = Math.max(0, Math.floorDiv(x - t / 2, t)), j1 = Math.min(largeur - 1, Math.floorDiv(x + l + t / 2 - 1, t));
+		final int i0 = Math.max(0, Math.floorDiv(y - t / 2, t)), i1 = Math.min(hauteur - 1, Math.floorDiv(y + h + t / 2 - 1, t));
+		int nbTrouvees = 0;
+		for (int i = i0; i <= i1; i++) {
+			for (int j = j0; j <= j1; j++) {
+				for (int k = tetes[i * largeur + j]; k != AUCUNE; k = suivantes[k]) {
+					if (!chevauche(k, x, y, l, h)) continue;
+					if (visiteur == null) {
+						if (nbTrouvees < resultats.length) resultats[nbTrouvees] = handles[k];
+					} else if (!visiteur.visiter(handles[k])) return nbTrouvees + 1;
+					nbTrouvees++;
+				}
+			}
+		}
+		return nbTrouvees;
+	}
+
+	/** Entités dont la boîte est à moins de rayon pixels du point : renvoie le nombre d'entités visitées **/
+	public int rayon(int xCentre, int yCentre, int rayon, Visiteur visiteur) {
+		if (rayon < 0) return 0;
+		final int t = Config.TAILLE_CASES;
+		final long rayon2 = (long) rayon * rayon;
+		final int j0 = Math.max(0, Math.floorDiv(xCentre - rayon - t / 2, t)), j1 = Math.min(largeur - 1, Math.floorDiv(xCentre + rayon + t / 2, t));
+		final int i0 = Math.max(0, Math.floorDiv(yCentre - rayon - t / 2, t)), i1 = Math.min(hauteur - 1, Math.floorDiv(yCentre + rayon + t / 2, t));
+		int nbVisitees = 0;
+		for (int i = i0; i <= i1; i++) {
+			for (int j = j0; j <= j1; j++) {
+				for (int k = tetes[i * largeur + j]; k != AUCUNE; k = suivantes[k]) {
+					final long dx = Math.clamp(xCentre, xs[k], xs[k] + t) - xCentre, dy = Math.clamp(yCentre, ys[k], ys[k] + t) - yCentre; // point de la boîte le plus proche
+					if (dx * dx + dy * dy > rayon2) continue;
+					nbVisitees++;
+					if (!visiteur.visiter(handles[k])) return nbVisitees;
+				}
+			}
+		}
+		return nbVisitees;
+	}
+
+	/**
+	 * Entité dont le centre est le plus proche du point, à moins de rayonMax pixels, en parcourant les cellules
+	 * par anneaux autour du point jusqu'à ce qu'aucun anneau ne puisse contenir plus proche
+	 * @param exclu handle ignoré (l'entité qui cherche sa voisine), {@link Entites#AUCUNE} sinon
+	 * @return le handle trouvé, ou {@link Entites#AUCUNE}
+	 */
+	public int plusProche(int x, int y, int rayonMax, int exclu) {
+		if (nb == 0 || rayonMax < 0) return Entites.AUCUNE;
+		final int t = Config.TAILLE_CASES, demi = t / 2;
+		final int jc = Math.floorDiv(x, t), ic = Math.floorDiv(y, t);
+		final int anneauMax = Math.min(rayonMax / t + 1, Math.max(largeur, hauteur) + Math.max(Math.abs(jc), Math.abs(ic)));
+		long meilleure2 = (long) rayonMax * rayonMax + 1;
+		int meilleur = Entites.AUCUNE;
+		for (int a = 0; a <= anneauMax; a++) {
+			final long borne = (long) Math.max(0, a - 1) * t; // distance minimale d'un centre rangé dans l'anneau a
+			if (borne * borne >= meilleure2) break;
+			for (int i = ic - a; i <= ic + a; i++) {
+				if (i < 0 || i >= hauteur) continue;
+				final boolean bord = (i == ic - a || i == ic + a);
+				for (int j = jc - a; j <= jc + a; j += (bord || a == 0) ? 1 : 2 * a) { // lignes du haut et du bas entières, sinon les deux colonnes
+					if (j < 0 || j >= largeur) continue;
+					for (int k = tetes[i * largeur + j]; k != AUCUNE; k = suivantes[k]) {
+						if (handles[k] == exclu) continue;
+						final long dx = xs[k] + demi - x, dy = ys[k] + demi - y, d2 = dx * dx + dy * dy;
+						if (d2 < meilleure2) { meilleure2 = d2; meilleur = handles[k]; }
+					}
+				}
+			}
+		}
+		return meilleur;
+	}
+}
\ No newline at end of file
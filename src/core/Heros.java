@@ -201,7 +201,7 @@ public final class Heros implements Camera.CamLock {
 
 			modifierPosition(tempHitBox.x, tempHitBox.y);
 			incrementFrameDeplacement();
-			System.out.printf("%s s'est deplacé vers %-6s : (%d,%d)\n", nom, direction, getXCase(), getYCase());
+			if (Config.DEBUG_MODE) System.out.printf("%s s'est deplacé vers %-6s : (%d,%d)\n", nom, direction, getXCase(), getYCase());
 			return true;
 		}
 		return changerDirection;
@@ -17,13 +17,31 @@ package core;
 
 import events.*;
 import ressources.*;
+import audio.CachePCM;
+import audio.Mixeur;
+import perf.ChienDeGarde;
+import perf.EvenementsJeu;
+import perf.HistogrammesSession;
+import perf.InventaireMemoire;
+import perf.LatenceEntrees;
+import perf.MesuresFrame;
+import perf.PanneauMemoire;
+import perf.PanneauPerf;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Toolkit;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.awt.image.BufferStrategy;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.Objects;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -32,29 +50,46 @@ import java.nio.file.Path;
  * Classe principale du moteur de jeu temps réel.
  * Charge les données, gère la boucle de rendu, les entrées, les événements et le rafraîchissement graphique.
  */
-public final class Jeu {
+public final class Jeu implements Catalogue {
 
 	private static final long ATTACK_COOLDOWN_NANOS = 667_000_000L; // 2/3 secondes
 	private static final int FIOLES_ANIMATION_FRAMES = 3;
+	private static final String CARTE_DEPART = "Chateau_Roland_Cour_Interieure";
+	private static final String BRUITAGE_ATTAQUE = "Blow1.wav";
+	private static final int ARRET_EXPORTS_S = 10; // attente maximale des exports de mesures à la fermeture
 
 	private boolean programmeActif;
 	private final Fenetre fenetre;
 	private final GestionnaireGraphiques dessiner;
 	private final Camera camera = new Camera();
-	private boolean mursVisibles, menuVisible;
+	private boolean mursVisibles, menuVisible, perfVisible, memoireVisible;
 
 	private final Heros heros;
-	private final Map<String, BufferedImage> affichages = ChargerAffichages.get();
-	private final Map<String, Skin> skins = ChargerSkins.get();
-	private final Map<String, Font> polices = ChargerPolices.get();
-	private final Map<String, Musique> musiques = ChargerMusiques.get();
-	private final Map<String, Bruitage> bruitages = ChargerBruitages.get();
-	private final Map<String, Chipset> chipsets = ChargerChipsets.get();
-	private final Map<String, Carte> cartes = ChargerCartes.get(this);
+	private final Map<String, BufferedImage> affichages = EvenementsJeu.chargement("affichages", ChargerAffichages::get);
+	private final Map<String, Skin> skins = EvenementsJeu.chargement("skins", ChargerSkins::get);
+	private final Map<String, Font> polices = EvenementsJeu.chargement("polices", ChargerPolices::get);
+	private final Map<String, Musique> musiques = EvenementsJeu.chargement("musiques", ChargerMusiques::get);
+	private final Map<String, Bruitage> bruitages = EvenementsJeu.chargement("bruitages", ChargerBruitages::get);
+	private final Map<String, Chipset> chipsets = EvenementsJeu.chargement("chipsets", ChargerChipsets::get);
+	private final Map<String, Carte> cartes = new ConcurrentHashMap<>(EvenementsJeu.chargement("cartes", () -> ChargerCartes.get(this))); // modifiable : rechargement à chaud
+	private final RechargeurCartes rechargeur; // null hors mode développement
 
 	private final Controles controles = Controles.getInstance();
+	private final ControleurMusique controleurMusique = new ControleurMusique(); // changements de musique hors du thread de jeu
+	private final MesuresFrame mesures = new MesuresFrame(); // enregistrées en permanence, affichées avec F1
+	private final PanneauPerf panneauPerf = new PanneauPerf(mesures, new Font(Font.MONOSPACED, Font.PLAIN, 12));
+	private final ChienDeGarde chienDeGarde = new ChienDeGarde(Config.BUDGET_CHIEN_DE_GARDE_MS, Config.DOSSIER_PERF); // démarré avec la boucle de jeu
+	private final PanneauMemoire panneauMemoire = new PanneauMemoire(new Font(Font.MONOSPACED, Font.PLAIN, 12)); // inventaire recalculé à chaque ouverture (F4)
+	private final AtomicReference<InventaireMemoire> inventairePret = new AtomicReference<>(); // doublons recherchés, à passer au panneau mémoire
+	private final ExecutorService exports = Executors.newSingleThreadExecutor(r -> { // empreintes des fichiers et exports (F2, F4) hors du thread de jeu
+		final Thread t = new Thread(r, "Mesures-Export");
+		t.setDaemon(true);
+		return t;
+	});
+	private String boucle = "jouer"; // boucle de jeu en cours (reportée dans les exports de performances)
 	private long frames = 0L;
 	private long lastAttackCooldown = 0L;
+	private final GrilleSpatiale.Visiteur toucherEntite = this::toucherEntite; // créé une fois : pas d'allocation par coup d'épée
 	private double fpsResult = 0;
 	private boolean refreshNextFrame;
 
@@ -84,9 +119,10 @@ public final class Jeu {
 	/** Constructeur **/
 	public Jeu() {
 		fenetre = new Fenetre(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, controles);
-		ChargerEvents.inject(this);
+		EvenementsJeu.chargement("events", () -> ChargerEvents.inject(this));
 		String nomHeros = recupererNomHerosDepuisFichier("PSEUDO.txt");
-		heros = new Heros(nomHeros, getSkin("Evil.png"), HerosClasses.VOLEUR, 1, 1000, 12, 12, getCarte("Chateau_Roland_Cour_Interieure"), 10);
+		heros = new Heros(nomHeros, getSkin("Evil.png"), HerosClasses.VOLEUR, 1, 1000, 12, 12, getCarte(CARTE_DEPART), 10);
+		heros.getCarteActuelle().activer(); // décode le chipset de la carte de départ
 		controles.setCibles(heros, message, messageLock);
 		camera.setCible(heros);
 		camera.update();
@@ -94,22 +130,102 @@ public final class Jeu {
 		dessiner = new GestionnaireGraphiques(camera, heros, getPolice("FPS"), getPolice("Normal"), getAffichage("Fioles"), getAffichage("BarreXP"));
 
 		musiqueActuelle = heros.getCarteActuelle().getMusique();
+		rechargeur = Config.MODE_DEV ? new RechargeurCartes(this) : null;
 	}
 
 	/** Getters **/
 	public BufferedImage getAffichage(String nom) { return affichages.get(nom); } // Recherche en O(1)
-	public Skin getSkin(String nom) { return skins.get(nom); }
+	@Override public Skin getSkin(String nom) { return skins.get(nom); }
 	public Font getPolice(String nom) { return polices.get(nom); }
-	public Musique getMusique(String nom) { return musiques.get(nom); }
-	public Bruitage getBruitage(String nom) { return bruitages.get(nom); }
-	public Chipset getChipset(String nom) { return chipsets.get(nom); }
-	public Carte getCarte(String nom) { return cartes.get(nom); }
+	@Override public Musique getMusique(String nom) { return musiques.get(nom); }
+	@Override public Bruitage getBruitage(String nom) { return bruitages.get(nom); }
+	@Override public Chipset getChipset(String nom) { return chipsets.get(nom); }
+	@Override public Carte getCarte(String nom) { return cartes.get(nom); }
 
 	/** Autres méthodes **/
+	/** Remplace une carte par sa nouvelle version (rechargement à chaud) : à appeler entre deux ticks **/
+	public void remplacerCarte(Carte nouvelle) {
+		Objects.requireNonNull(nouvelle, "La nouvelle carte ne peut pas être null");
+		final Carte ancienne = cartes.put(nouvelle.getNom(), nouvelle);
+		if (ancienne == null) return;
+
+		for (Carte carte : cartes.values()) { // les TP vers l'ancienne instance pointent désormais vers la nouvelle
+			for (EnsembleEvents ensemble : carte.getEvents().values()) {
+				for (List<Event> page : ensemble.getPageEvents()) {
+					for (Event ev : page) {
+						if (ev instanceof Event_TP ev_tp && ev_tp.getCarteDst() == ancienne) {
+							try { ev_tp.redirigerVers(nouvelle); }
+							catch (IllegalArgumentException e) { System.err.println("[AVERTISSEMENT] " + carte.getNom() + " : " + e.getMessage()); }
+						}
+					}
+				}
+			}
+		}
+
+		if (heros.getCarteActuelle() == ancienne) {
+			nouvelle.activer();
+			heros.setCarteActuelle(nouvelle);
+			ancienne.desactiver();
+			final int xMax = (nouvelle.getLargeur() - 1) * Config.TAILLE_CASES, yMax = (nouvelle.getHauteur() - 1) * Config.TAILLE_CASES;
+			if (heros.getX() > xMax || heros.getY() > yMax) heros.modifierPosition(Math.min(heros.getX(), xMax), Math.min(heros.getY(), yMax));
+			camera.update();
+			camera.sync();
+		}
+	}
+
 	private void libererRessourcesAudio() {
-		if (musiqueActuelle != null) musiqueActuelle.stop();
+		if (Config.DEBUG_MODE) System.out.print(CachePCM.rapport() + controleurMusique.rapport() + Mixeur.getInstance().getMetriques().rapport());
+		controleurMusique.close(); // arrête la musique en cours
 		bruitages.values().forEach(Bruitage::close);
-		Bruitage.shutdown();
+		Mixeur.shutdown();
+	}
+
+	/**
+	 * Inventaire mémoire de toutes les ressources chargées (cartes accessibles depuis le départ et la carte actuelle).
+	 * Sans lecture de fichier : les doublons sont à rechercher ensuite hors du thread de jeu.
+	 */
+	private InventaireMemoire inventaireMemoire() {
+		return InventaireMemoire.etablir(chipsets, skins, affichages, cartes, bruitages, musiques,
+			Arrays.asList(getCarte(CARTE_DEPART), heros.getCarteActuelle()),
+			Arrays.asList(heros.getSkin(), getBruitage(BRUITAGE_ATTAQUE), getAffichage("Fioles"), getAffichage("BarreXP")));
+	}
+
+	/** Exporte les histogrammes de la session (JSON et CSV) et l'inventaire mémoire des ressources (CSV) dans {@link Config#DOSSIER_PERF} **/
+	private void exporterMesures() {
+		final HistogrammesSession session = mesures.getSession().instantane(); // le thread de jeu continue d'alimenter l'original
+		final InventaireMemoire inventaire = inventaireMemoire();
+		final String boucleExportee = boucle;
+		exports.execute(() -> {
+			inventaire.rechercherDoublons();
+			if (Config.DEBUG_MODE) System.out.print(session.rapport() + inventaire.rapport());
+			if (Config.DOSSIER_PERF.isBlank()) return;
+			try {
+				final Path dossier = Path.of(Config.DOSSIER_PERF);
+				final Path fichier = session.exporter(dossier, boucleExportee);
+				System.out.println("Histogrammes de la session exportés : " + fichier);
+				System.out.println("Inventaire mémoire exporté : " + inventaire.exporter(dossier));
+			} catch (IOException e) {
+				System.err.println("[AVERTISSEMENT] Export des mesures de la session impossible : " + e.getMessage());
+			}
+		});
+	}
+
+	/** Inventaire pour le panneau mémoire (F4) : doublons recherchés hors du thread de jeu, passé au panneau au tick suivant **/
+	private void demanderInventaire() {
+		final InventaireMemoire inventaire = inventaireMemoire();
+		panneauMemoire.attendreInventaire();
+		exports.execute(() -> {
+			inventaire.rechercherDoublons();
+			inventairePret.set(inventaire);
+		});
+	}
+
+	/** Attend la fin des exports en cours (fermeture du jeu) **/
+	private void terminerExports() {
+		exports.shutdown();
+		try {
+			if (!exports.awaitTermination(ARRET_EXPORTS_S, TimeUnit.SECONDS)) System.err.println("[AVERTISSEMENT] Export des mesures non terminé à la fermeture");
+		} catch (InterruptedException e) { Thread.currentThread().interrupt(); }
 	}
 
 	private void afficherFPS_Fenetre() {
@@ -141,16 +257,21 @@ public final class Jeu {
 	}
 
 	private void changerMusique(Musique musique) {
-		Util.playAndStopMusique(musiqueActuelle, musique);
+		controleurMusique.changer(musique); // pré-décodage et fondu enchaîné en arrière-plan
 		musiqueActuelle = musique;
 	}
 
 	private void executeEvent_TP(Event_TP ev_tp) {
+		final EvenementsJeu.Teleportation jfr = new EvenementsJeu.Teleportation();
+		jfr.begin();
 		degatsAffiches = 0;
+		final Carte carteSrc = heros.getCarteActuelle();
 		final Carte carteDst = ev_tp.getCarteDst();
 		final Musique musique = carteDst.getMusique();
 		if (!Objects.equals(musiqueActuelle, musique)) changerMusique(musique);
+		carteDst.activer(); // avant de libérer la carte source (même chipset : pas de re-décodage)
 		heros.setCarteActuelle(carteDst);
+		carteSrc.desactiver();
 		heros.modifierPosition(ev_tp.getXDst(), ev_tp.getYDst());
 		System.out.println("Teleportation de " + heros.getNom() + " vers " + carteDst.getNom() + heros.getPosition());
 
@@ -173,6 +294,14 @@ public final class Jeu {
 				Toolkit.getDefaultToolkit().sync();
 			}
 		}
+		jfr.end();
+		if (jfr.shouldCommit()) {
+			jfr.source = carteSrc.getNom();
+			jfr.destination = carteDst.getNom();
+			jfr.xDst = ev_tp.getXDst();
+			jfr.yDst = ev_tp.getYDst();
+			jfr.commit();
+		}
 	}
 
 	private void executeEvent_JM(Event_JM ev_jm) {
@@ -181,10 +310,7 @@ public final class Jeu {
 	}
 
 	private void executeEvent_AM() {
-		if (musiqueActuelle != null) {
-			musiqueActuelle.stop();
-			musiqueActuelle = null;
-		}
+		if (musiqueActuelle != null) changerMusique(null);
 	}
 
 	private void executeEvent_MPV(Event_ModifPV e_mpv) { heros.modifierPV(e_mpv.getPV()); }
@@ -195,6 +321,9 @@ public final class Jeu {
 		Objects.requireNonNull(ev, "L'event à exécuter est null");
 		heros.setEstBloque(true);
 		heros.setEstDansUnEvent(true);
+		final String carte = heros.getCarteActuelle().getNom(); // avant une éventuelle téléportation
+		final EvenementsJeu.ExecutionEvent jfr = new EvenementsJeu.ExecutionEvent();
+		jfr.begin();
 
 		switch (ev) {
 			case Event_MSG e     -> executeEvent_MSG();   // message du jeu
@@ -206,6 +335,12 @@ public final class Jeu {
 			case Event_LVLUP e   -> executeEvent_LVLUP(); // héros passe au niveau supérieur
 			default -> throw new IllegalArgumentException("Type d'événement inconnu : " + ev.getClass());
 		}
+		jfr.end();
+		if (jfr.shouldCommit()) {
+			jfr.type = ev.getClass().getSimpleName();
+			jfr.carte = carte;
+			jfr.commit();
+		}
 
 		if (!(ev instanceof Event_MSG)) {
 			nbEventPass++;
@@ -213,11 +348,20 @@ public final class Jeu {
 		}
 	}
 
+	/** Coup d'épée sur une entité touchée (coup critique selon le taux du héros, entre 0 et 1) **/
+	private boolean toucherEntite(int handle) {
+		final boolean critique = Math.random() < heros.getTauxCrit();
+		heros.getCarteActuelle().getEntites().modifierPV(handle, -(critique ? 2 : 1) * heros.getForce());
+		if (Config.DEBUG_MODE) System.out.println(critique ? "Coup critique! sur le monstre" : "Coup normal sur le monstre");
+		return true; // toutes les entités sous la lame
+	}
+
 	private void updateCooldowns(long nowNanos) {
 		if (!heros.getPeutAttaquer() && (nowNanos - lastAttackCooldown) > ATTACK_COOLDOWN_NANOS) heros.setPeutAttaquer(true);
 	}
 
 	private void updateUPS(long tempsDebutFrame) {
+		if (rechargeur != null) rechargeur.appliquer(); // échange des cartes rechargées à chaud (entre deux ticks)
 		boolean flechesAppuye = (controles.HAUT() || controles.BAS() || controles.GAUCHE() || controles.DROITE());
 		if (flechesAppuye && !heros.estBloque()) {
 			if (controles.HAUT() && !controles.BAS()) heros.deplacer(Directions.HAUT);
@@ -228,6 +372,9 @@ public final class Jeu {
 			heros.setFrameDeplacement(7);
 		}
 		camera.update();
+		Spatialisation.placerAuditeur(heros.getX() + Config.TAILLE_CASES / 2, heros.getY() + Config.TAILLE_CASES / 2);
+		heros.getCarteActuelle().mettreAJourSourcesSonores();
+		heros.getCarteActuelle().mettreAJourEntites(heros.getX(), heros.getY()); // PNJ et monstres
 		if (flechesAppuye && !heros.estBloque() && eventsActuels == null) {
 			eventsActuels = heros.getCarteActuelle().detecterCollisionsEvents(heros.getHitBox());
 		}
@@ -251,20 +398,9 @@ public final class Jeu {
 			if (!heros.estBloque()) {
 				if (controles.S()) {
 					if (heros.getPeutAttaquer()) {
-						getBruitage("Blow1.wav").play();
+						getBruitage(BRUITAGE_ATTAQUE).play();
 						heros.updateHitBoxEpee();
-						/* if(heros.getHitBoxEpee().intersects(blob_hitbox)) {
-							resultatAleatoire = (double) rand() / RAND_MAX;
-							//System.out.println("resultatAleatoire = " + resultatAleatoire + " > tauxCrit = " + heros.getTauxCrit());
-							if(resultatAleatoire > heros.getTauxCrit()) {
-								System.out.println("Coup normal sur le monstre");
-								bruitages.get(1).play();
-							} else {
-								System.out.println("Coup critique! sur le monstre");
-								bruitages.get(2).play();
-							}
-							degatsAffiches = 1;
-						} */
+						heros.getCarteActuelle().getEntites().getGrille().rectangle(heros.getHitBoxEpee(), toucherEntite); // entités sous la lame uniquement
 						heros.setAttaqueEpee(true);
 						heros.setPeutAttaquer(false);
 						lastAttackCooldown = tempsDebutFrame;
@@ -319,10 +455,25 @@ public final class Jeu {
 			}
 		}
 
+		if (controles.F1()) {
+			perfVisible = !perfVisible;
+			controles.reset(Controles.Touche.F1);
+		}
+
+		if (controles.F2()) {
+			exporterMesures();
+			controles.reset(Controles.Touche.F2);
+		}
+
+		if (controles.F4()) {
+			memoireVisible = !memoireVisible;
+			if (memoireVisible) demanderInventaire();
+			controles.reset(Controles.Touche.F4);
+		}
+		final InventaireMemoire inventaire = inventairePret.getAndSet(null);
+		if (inventaire != null && memoireVisible) panneauMemoire.setInventaire(inventaire);
+
 		if (!heros.estBloque()) {
-			if (controles.F1()) {
-				controles.reset(Controles.Touche.F1);
-			}
 			if (controles.F3()) {
 				heros.setEstEnTrainDEcrire(true);
 				viderMessage();
@@ -343,13 +494,32 @@ public final class Jeu {
 		}
 	}
 
+	/** Update logique mesurée (panneau F1, histogrammes de la session, événement JFR) **/
+	private void tick(long tempsDebutFrame) {
+		final EvenementsJeu.Tick jfr = new EvenementsJeu.Tick();
+		jfr.begin();
+		chienDeGarde.debut(ChienDeGarde.TICK);
+		mesures.getLatences().debutTick(controles); // appuis arrivés depuis le tick précédent
+		final long debut = System.nanoTime();
+		updateUPS(tempsDebutFrame);
+		mesures.ajouterUpdate(System.nanoTime() - debut);
+		mesures.getLatences().finTick();
+		chienDeGarde.fin();
+		jfr.end();
+		if (jfr.shouldCommit()) {
+			jfr.carte = heros.getCarteActuelle().getNom();
+			jfr.commit();
+		}
+	}
+
 	private void render(Graphics g) {
 		dessiner.fondNoir(g);
-		dessiner.couche(g, 0); // couche 0 chipset
-		dessiner.couche(g, 1); // couche 1 chipset
+		dessinerCouche(g, 0); // couche 0 chipset
+		dessinerCouche(g, 1); // couche 1 chipset
 		if (mursVisibles) dessiner.murs(g); // affiche les murs
+		dessiner.entites(g); // PNJ et monstres
 		dessiner.heros(g);
-		dessiner.couche(g, 2); // couche 2 chipset
+		dessinerCouche(g, 2); // couche 2 chipset
 		if (heros.getAttaqueEpee()) { // Si le héros est en train d'attaquer
 			dessiner.hitBoxEpeeHeros(g);
 			heros.setAttaqueEpee(false);
@@ -378,17 +548,52 @@ public final class Jeu {
 		}
 	}
 
+	private void dessinerCouche(Graphics g, int couche) {
+		final long debut = System.nanoTime();
+		final int nbDessinees = dessiner.couche(g, couche);
+		final Carte carte = heros.getCarteActuelle();
+		mesures.couche(couche, System.nanoTime() - debut, nbDessinees, carte.getLargeur() * carte.getHauteur());
+	}
+
 	private void updateFPS() {
 		BufferStrategy bs = fenetre.getCanvas().getBufferStrategy();
 		if (bs != null) {
+			if (mesures.getLatences().getHistogramme() == null) { // première frame : pipeline connu une fois la BufferStrategy créée
+				mesures.getLatences().setHistogramme(mesures.getSession().getLatence(boucle, LatenceEntrees.nomPipeline(fenetre.getCanvas().getGraphicsConfiguration(), bs)));
+			}
+			final EvenementsJeu.Frame jfr = new EvenementsJeu.Frame();
+			jfr.begin();
+			chienDeGarde.debut(ChienDeGarde.FRAME);
+			mesures.debutFrame();
 			Graphics g = bs.getDrawGraphics();
 			try {
 				g.clearRect(0, 0, Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT); // efface l'écran
 				render(g); // dessiner nouvelle frame
+				mesures.finRendu();
+				if (perfVisible || memoireVisible) { // hors du temps de rendu mesuré
+					mesures.debutPanneau();
+					if (perfVisible) panneauPerf.afficher(g, Config.WINDOW_WIDTH / 25, Config.WINDOW_HEIGHT * 8 / 100);
+					if (memoireVisible) panneauMemoire.afficher(g, Config.WINDOW_WIDTH * 24 / 25, Config.WINDOW_HEIGHT * 8 / 100);
+					mesures.finPanneau();
+				}
 			} finally {
 				g.dispose(); // vider les ressources
 				Toolkit.getDefaultToolkit().sync();
 				bs.show(); // afficher le rendu de la frame
+				mesures.finFrame();
+				chienDeGarde.fin();
+			}
+			jfr.end();
+			if (jfr.shouldCommit()) {
+				jfr.carte = heros.getCarteActuelle().getNom();
+				jfr.rendu = mesures.getRendu(0);
+				jfr.presentation = mesures.getPresentation(0);
+				jfr.couche0 = mesures.getCouche(0, 0);
+				jfr.couche1 = mesures.getCouche(1, 0);
+				jfr.couche2 = mesures.getCouche(2, 0);
+				jfr.tuilesDessinees = mesures.getTuilesDessinees(0);
+				jfr.nbUpdates = mesures.getNbUpdates(0);
+				jfr.commit();
 			}
 		}
 		frames++;
@@ -396,6 +601,7 @@ public final class Jeu {
 
 	/** Boucles de jeu **/
 	public void jouer() {
+		boucle = "jouer";
 		// --- Constantes temporelles ---
 		final long NANOS_PER_RENDER     = 1_000_000_000L / Config.FPS;
 		final long NANOS_PER_TICK       = 1_000_000_000L / Config.UPS;
@@ -417,8 +623,9 @@ public final class Jeu {
 
 		// --- Initialisation ---
 		long lastFrameCount = 0L;
-		if (musiqueActuelle != null) musiqueActuelle.play();
+		if (musiqueActuelle != null) controleurMusique.changer(musiqueActuelle);
 		programmeActif = true;
+		chienDeGarde.demarrer(Thread.currentThread());
 
 		// --- Boucle principale ---
 		while (programmeActif) {
@@ -465,7 +672,7 @@ public final class Jeu {
 
 			// --- Updates logiques (UPS) ---
 			while (nowNanos >= nextTick) {
-				updateUPS(nowNanos);
+				tick(nowNanos);
 				nextTick += NANOS_PER_TICK;
 				nowNanos = System.nanoTime(); // anti dérive
 			}
@@ -499,11 +706,17 @@ public final class Jeu {
 				}
 			}
 		}
+		chienDeGarde.close();
+		exporterMesures();
+		terminerExports();
 		libererRessourcesAudio();
+		if (rechargeur != null) rechargeur.close();
+		if (Config.DEBUG_MODE) System.out.print(GestionnaireTextures.rapport());
 		System.exit(0);
 	}
 
 	public void jouer2() {
+		boucle = "jouer2";
 		// --- Constantes temporelles ---
 		final double MILLIS_PER_RENDER = 1e3 / Config.FPS;
 		final double MILLIS_PER_TICK = 1e3 / Config.UPS;
@@ -522,8 +735,9 @@ public final class Jeu {
 
 		// --- Initialisation ---
 		long lastFrameCount = 0L;
-		if (musiqueActuelle != null) musiqueActuelle.play();
+		if (musiqueActuelle != null) controleurMusique.changer(musiqueActuelle);
 		programmeActif = true;
+		chienDeGarde.demarrer(Thread.currentThread());
 
 		// --- Boucle principale ---
 		while (programmeActif) {
@@ -561,7 +775,7 @@ public final class Jeu {
 
 			// --- Updates logiques (UPS) ---
 			while (now >= nextTick) {
-				updateUPS(now * 1_000_000L);
+				tick(now * 1_000_000L);
 				nextTick += MILLIS_PER_TICK;
 			}
 
@@ -588,7 +802,12 @@ public final class Jeu {
 				overSleepMillis = 0L;
 			}
 		}
+		chienDeGarde.close();
+		exporterMesures();
+		terminerExports();
 		libererRessourcesAudio();
+		if (rechargeur != null) rechargeur.close();
+		if (Config.DEBUG_MODE) System.out.print(GestionnaireTextures.rapport());
 		System.exit(0);
 	}
 }
\ No newline at end of file
@@ -15,16 +15,16 @@
 
 package core;
 
-import java.io.File;
+import audio.AnneauPCM;
+import audio.CachePCM;
+import audio.Decodeur;
+import audio.FluxAudio;
+import audio.Mixeur;
+import audio.PisteDecodee;
 import java.io.IOException;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.SourceDataLine;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.DataLine;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import javax.sound.sampled.LineUnavailableException;
+import java.util.Arrays;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -33,31 +33,40 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Gère la lecture, la pause et l'arrêt d'une musique de fond au format audio ogg.
  * L'implémentation est thread-safe et optimise l'utilisation de la mémoire et du CPU
  * pour les musiques jouées. Une seule musique peut être active à la fois.
+ *
+ * Un thread de décodage remplit un anneau PCM que le {@link Mixeur} vide bloc par bloc :
+ * la musique n'ouvre plus sa propre ligne audio.
+ * Une piste assez courte est gardée décodée dans le {@link CachePCM} dès sa première lecture complète :
+ * elle boucle ensuite sans coupure ni redécodage, et ses lectures suivantes se passent de thread de décodage.
  */
-public final class Musique implements AutoCloseable {
+public final class Musique implements FluxAudio, AutoCloseable {
 
 	private static final String DOSSIER = "musiques";
-	private static final int BUFFER_SIZE = 16384;
+	private static final int TRAMES_DECODAGE = 2048; // trames décodées par passe
+	private static final int TRAMES_ANNEAU = 65536; // ~1,5 s d'avance sur le mixeur (pré-décodage avant un changement de musique)
+	private static final long ATTENTE_ANNEAU_NS = 2_000_000L; // anneau plein : le décodeur patiente 2 ms
 	private static final int STOP_TIMEOUT_MS = 2000;
 
-	private static Musique musiqueActive = null;
+	private static volatile Musique musiqueActive = null;
 	private static boolean vorbisInitialise = false;
 	private static final Object INIT_LOCK = new Object();
 
 	private final String nom;
-	private final File fichier;
-	private final AudioFormat decodedFormat;
+	private final String chemin; // relatif, lu dans l'archive des ressources ou sur disque
+	private AnneauPCM anneau; // alloué à la première lecture en continu
 
 	private Thread threadLecture;
 	private final AtomicBoolean enLecture = new AtomicBoolean(false);
 	private volatile boolean loop;
+	private volatile boolean decodageTermine = true;
+	private volatile boolean premierBlocDecode = false; // lecture en continu : l'anneau a déjà reçu des trames
+	private volatile PisteDecodee pisteDirecte; // piste en cache lue directement par le mixeur (null : lecture via l'anneau)
+	private int positionDirecte; // thread du mixeur uniquement
 
 	private final Lock pauseLock = new ReentrantLock();
 	private final Condition pauseCondition = pauseLock.newCondition();
 	private final AtomicBoolean paused = new AtomicBoolean(false);
 
-	private SourceDataLine ligneAudio;
-
 	private static void initVorbisSPI() {
 		if (!vorbisInitialise) {
 			synchronized (INIT_LOCK) {
@@ -74,72 +83,65 @@ public final class Musique implements AutoCloseable {
 		if (nomFichier == null || nomFichier.isBlank()) throw new IllegalArgumentException("Nom du fichier audio null ou vide");
 
 		nom = nomFichier;
-		fichier = new File(DOSSIER, nomFichier);
-		if (!fichier.exists()) throw new IllegalStateException("Fichier introuvable : " + fichier.getAbsolutePath());
+		chemin = DOSSIER + "/" + nomFichier;
+		if (!Fichiers.existe(chemin)) throw new IllegalStateException("Fichier introuvable : " + chemin);
 
 		initVorbisSPI();
-		decodedFormat = initDecodedFormat();
+		verifierFormat();
 	}
 
 	/** Getters **/
 	public String getNom() { return nom; }
+	public String getChemin() { return chemin; }
+	public synchronized long getTailleMemoireAnneau() { return (anneau == null) ? 0L : (long) anneau.getCapacite() * 2 * Short.BYTES; } // 0 tant qu'aucune lecture en continu
 
-	private AudioFormat initDecodedFormat() {
-		try (AudioInputStream ais = AudioSystem.getAudioInputStream(fichier)) { // try-with-ressources
-			AudioFormat baseFormat = ais.getFormat();
-			return new AudioFormat(
-					AudioFormat.Encoding.PCM_SIGNED,
-					baseFormat.getSampleRate(),
-					16,
-					baseFormat.getChannels(),
-					baseFormat.getChannels() * 2,
-					baseFormat.getSampleRate(),
-					false
-			);
-		}
-		catch (UnsupportedAudioFileException e) { throw new RuntimeException("Format audio non supporté : " + nom, e); }
+	private void verifierFormat() {
+		try { new Decodeur(chemin).close(); } // l'ouverture suffit à valider le format (rejette le fichier dès le chargement)
 		catch (IOException e) { throw new RuntimeException("Erreur lecture fichier : " + nom, e); }
 	}
 
-	private synchronized void openAudioLine() {
-		if (ligneAudio != null && ligneAudio.isOpen()) return;
-
-		try {
-			DataLine.Info info = new DataLine.Info(SourceDataLine.class, decodedFormat);
-			ligneAudio = (SourceDataLine) AudioSystem.getLine(info);
-			ligneAudio.open(decodedFormat);
-		} catch (LineUnavailableException e) {
-			throw new RuntimeException("Ligne audio indisponible : " + nom, e);
-		}
-	}
-
-	private synchronized void closeAudioLine() {
-		if (ligneAudio != null && ligneAudio.isOpen()) {
-			ligneAudio.drain();
-			ligneAudio.close();
-			ligneAudio = null;
-		}
-	}
-
 	public void play() { play(true); }
 
 	public synchronized void play(boolean loop) {
-		if (enLecture.get()) return;
-		this.loop = loop;
-
 		stopMusiqueActive();
-		musiqueActive = this;
+		if (demarrer(loop)) Mixeur.getInstance().jouerMusique(this, 1f);
+	}
 
-		openAudioLine();
+	/**
+	 * Lance le décodage sans encore envoyer la musique au mixeur (voir {@link ControleurMusique}) :
+	 * l'anneau se remplit en arrière-plan. Retourne false si la musique est déjà en cours ou s'il n'y a aucune sortie audio.
+	 */
+	public synchronized boolean demarrer(boolean loop) {
+		if (enLecture.get() || !Mixeur.getInstance().estActif()) return false;
+		this.loop = loop;
+		musiqueActive = this;
 
+		final PisteDecodee piste = CachePCM.obtenir(chemin);
 		enLecture.set(true);
 		paused.set(false);
 
-		if (ligneAudio != null) ligneAudio.start();
+		if (piste != null) { // déjà décodée : aucun thread, le mixeur lit le cache
+			positionDirecte = 0;
+			pisteDirecte = piste;
+			decodageTermine = true;
+		} else {
+			if (anneau == null) anneau = new AnneauPCM(TRAMES_ANNEAU);
+			anneau.vider();
+			pisteDirecte = null;
+			premierBlocDecode = false;
+			decodageTermine = false;
+			threadLecture = new Thread(this::lecture, "Musique-" + nom);
+			threadLecture.setDaemon(true);
+			threadLecture.start();
+		}
+		return true;
+	}
 
-		threadLecture = new Thread(this::lecture, "Musique-" + nom);
-		threadLecture.setDaemon(true);
-		threadLecture.start();
+	/** Trames déjà décodées, prêtes pour le mixeur (toute la piste si elle est en cache) **/
+	public int getTramesPretes() {
+		if (pisteDirecte != null) return pisteDirecte.getNbTrames();
+		final AnneauPCM a = anneau;
+		return (a != null) ? a.disponibles() : 0;
 	}
 
 	private void stopMusiqueActive() {
@@ -147,36 +149,59 @@ public final class Musique implements AutoCloseable {
 	}
 
 	private void lecture() {
+		final short[] buffer = new short[TRAMES_DECODAGE * 2];
 		try {
-			do { if (!lireUneFois()) break; }
+			PisteDecodee piste = null;
+			do {
+				if (piste != null) { if (!rejouer(piste, buffer)) break; } // boucles suivantes depuis le cache
+				else if (!lireUneFois(buffer)) break;
+				else piste = CachePCM.obtenir(chemin); // null si la piste est trop longue pour le cache
+			}
 			while (loop && enLecture.get());
 		} finally {
-			stopLigneAudio();
+			decodageTermine = true; // le mixeur finit de vider l'anneau
 			enLecture.set(false);
 		}
 	}
 
-	private boolean lireUneFois() {
-		try (AudioInputStream ais = AudioSystem.getAudioInputStream(fichier);
-			 AudioInputStream din = AudioSystem.getAudioInputStream(decodedFormat, ais)) { // try-with-ressources
+	private boolean lireUneFois(short[] buffer) {
+		try (Decodeur decodeur = new Decodeur(chemin)) { // try-with-ressources
 
-			byte[] buffer = new byte[BUFFER_SIZE];
-			int bytesRead;
+			final int maxCapture = (int) (CachePCM.getTailleMaxPiste() / (2 * Short.BYTES)); // en trames
+			short[] capture = CachePCM.estActif() ? new short[Math.min(maxCapture, (int) Mixeur.FREQUENCE * 10) * 2] : null;
+			int nbCapture = 0;
+			int tramesLues;
 
-			while ((bytesRead = din.read(buffer)) != -1 && enLecture.get()) {
+			while ((tramesLues = decodeur.lire(buffer, 0, TRAMES_DECODAGE)) != -1 && enLecture.get()) {
 				if (!attendreFinPause()) return false;
-				if (!enLecture.get()) return false;
-				if (ligneAudio != null) ligneAudio.write(buffer, 0, bytesRead);
+				if (!ecrireAnneau(buffer, tramesLues)) return false;
+
+				if (capture == null) continue;
+				if (nbCapture + tramesLues > maxCapture) { capture = null; continue; } // trop longue : décodage en continu à chaque boucle
+				if ((nbCapture + tramesLues) * 2 > capture.length) capture = Arrays.copyOf(capture, Math.min(maxCapture * 2, capture.length * 2));
+				System.arraycopy(buffer, 0, capture, nbCapture * 2, tramesLues * 2);
+				nbCapture += tramesLues;
 			}
-			if (ligneAudio != null) ligneAudio.drain();
+			if (capture != null && enLecture.get()) CachePCM.ajouter(chemin, capture, nbCapture);
 			return true;
 
-		} catch (UnsupportedAudioFileException | IOException e) {
+		} catch (IOException e) {
 			System.err.println("Erreur durant lecture de " + nom + " : " + e.getMessage());
 			return false;
 		}
 	}
 
+	private boolean rejouer(PisteDecodee piste, short[] buffer) {
+		for (int position = 0; position < piste.getNbTrames(); ) {
+			if (!attendreFinPause()) return false;
+			final int n = Math.min(TRAMES_DECODAGE, piste.getNbTrames() - position);
+			piste.copier(position, buffer, 0, n);
+			if (!ecrireAnneau(buffer, n)) return false;
+			position += n;
+		}
+		return true;
+	}
+
 	private boolean attendreFinPause() {
 		pauseLock.lock();
 		try {
@@ -190,11 +215,43 @@ public final class Musique implements AutoCloseable {
 		}
 	}
 
-	private void stopLigneAudio() {
-		if (ligneAudio != null) {
-			ligneAudio.stop();
-			ligneAudio.flush();
+	private boolean ecrireAnneau(short[] buffer, int nbTrames) {
+		int ecrites = 0;
+		while (ecrites < nbTrames) {
+			if (!enLecture.get()) return false;
+			ecrites += anneau.ecrire(buffer, ecrites, nbTrames - ecrites);
+			if (ecrites < nbTrames) LockSupport.parkNanos(ATTENTE_ANNEAU_NS); // le mixeur n'a pas encore consommé
+		}
+		premierBlocDecode = true;
+		return true;
+	}
+
+	/** Lecture par le thread du mixeur **/
+	@Override
+	public int lire(short[] dst, int nbTrames) {
+		final PisteDecodee piste = pisteDirecte;
+		if (piste != null) return lireDirect(piste, dst, nbTrames);
+		final int n = (anneau != null) ? anneau.lire(dst, nbTrames) : 0;
+		return (n == 0 && decodageTermine) ? -1 : n;
+	}
+
+	@Override
+	public boolean estEnDecodage() { return pisteDirecte == null && premierBlocDecode && !decodageTermine; }
+
+	private int lireDirect(PisteDecodee piste, short[] dst, int nbTrames) {
+		int n = 0;
+		while (n < nbTrames) {
+			if (positionDirecte >= piste.getNbTrames()) {
+				if (!loop || piste.getNbTrames() == 0) break;
+				positionDirecte = 0; // rebouclage sans coupure, dans le même bloc
+			}
+			final int copiees = Math.min(nbTrames - n, piste.getNbTrames() - positionDirecte);
+			piste.copier(positionDirecte, dst, n, copiees);
+			positionDirecte += copiees;
+			n += copiees;
 		}
+		if (n == 0) enLecture.set(false); // fin d'une lecture sans boucle
+		return (n == 0) ? -1 : n;
 	}
 
 	public synchronized void stop() {
@@ -207,9 +264,10 @@ public final class Musique implements AutoCloseable {
 		try { pauseCondition.signalAll(); }
 		finally { pauseLock.unlock(); }
 
-		stopLigneAudio();
+		Mixeur.getInstance().arreterMusique(this);
+		pisteDirecte = null;
 		attendreFinThread();
-		closeAudioLine();
+		if (musiqueActive == this) musiqueActive = null;
 	}
 
 	private void attendreFinThread() {
@@ -223,6 +281,7 @@ public final class Musique implements AutoCloseable {
 		pauseLock.lock();
 		try { paused.set(true); }
 		finally { pauseLock.unlock(); }
+		Mixeur.getInstance().pauseMusique();
 	}
 
 	public void resume() {
@@ -231,6 +290,7 @@ public final class Musique implements AutoCloseable {
 			if (paused.get()) {
 				paused.set(false);
 				pauseCondition.signalAll();
+				Mixeur.getInstance().reprendreMusique();
 			}
 		} finally { 
 			pauseLock.unlock(); 
@@ -245,7 +305,6 @@ public final class Musique implements AutoCloseable {
 	public synchronized void close() {
 		stop();
 		if (musiqueActive == this) musiqueActive = null;
-		closeAudioLine();
 	}
 
 	public static synchronized void shutdown() {
@@ -29,32 +29,20 @@ public final class Skin {
 	private static final int TOTAL_REGIONS = ROWS * COLS;
 
 	private final String nom;
-	private final BufferedImage texture; // image source
-	private final BufferedImage[] textureRegions; // régions de l'image source découpée
-
-	/** Méthodes static **/
-	private static BufferedImage[] extraireRegions(BufferedImage image) {
-		final BufferedImage[] result = new BufferedImage[TOTAL_REGIONS];
-		for (int i = 0; i < ROWS; i++) {
-			final int y = i * REGION_HEIGHT;
-			final int ligneIndex = i * COLS;
-			for (int j = 0; j < COLS; j++) {
-				result[ligneIndex + j] = image.getSubimage(j * REGION_WIDTH, y, REGION_WIDTH, REGION_HEIGHT);
-			}
-		}
-		return result;
-	}
+	private final BufferedImage[] textureRegions; // régions de l'image source découpée (via le cache de textures)
 
 	/** Constructeur **/
 	public Skin(String nomFichier) {
 		if (nomFichier == null || nomFichier.isBlank()) throw new IllegalArgumentException("Nom fichier null ou vide");
 		this.nom = nomFichier;
-		texture = Util.chargerImage(DOSSIER + nomFichier);
-		textureRegions = extraireRegions(texture);
+		textureRegions = CacheTextures.charger(DOSSIER + nomFichier, REGION_WIDTH, REGION_HEIGHT, ROWS, COLS);
+		if (textureRegions == null) throw new IllegalStateException("Image du skin introuvable : " + nomFichier);
 	}
 
 	/** Getters **/
 	public String getNom() { return nom; }
+	public String getChemin() { return DOSSIER + nom; }
+	public BufferedImage[] getRegions() { return textureRegions.clone(); }
 
 	/** Autres méthodes **/
 	public void afficher(Graphics g, int numRegion, int x, int y) {
@@ -68,10 +56,9 @@ public final class Skin {
 		if (this == o) return true;
 		if (!(o instanceof Skin skin)) return false;
 
-		return Objects.equals(nom, skin.nom)
-			&& Objects.equals(texture, skin.texture);
+		return Objects.equals(nom, skin.nom);
 	}
 
 	@Override
-	public int hashCode() { return Objects.hash(nom, texture); }
+	public int hashCode() { return Objects.hash(nom); }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+import audio.Mixeur;
+import audio.PoolVoix;
+import java.util.Objects;
+
+/**
+ * Source sonore ambiante placée sur une case d'une carte (torche, fontaine, cascade...) : son bruitage joue en boucle
+ * tant que la source est à portée de l'auditeur, avec un gain et un panoramique suivant ses déplacements.
+ * Hors de portée, la voix est rendue au mixeur. Mise à jour par le thread de jeu, une fois par tick.
+ * Une source dont la voix a été cédée à des sons plus prioritaires reprend quand elle redevient audible.
+ */
+public final class SourceSonore {
+
+	private static final float SEUIL_AJUSTEMENT = 0.01f; // en deçà, pas de commande au mixeur
+
+	private final Bruitage bruitage;
+	private final int xCase, yCase;
+	private final int x, y; // centre de la case, en pixels
+	private final float gain;
+	private final PoolVoix voix; // propre à la source : ajustée sans toucher aux autres lectures du bruitage
+	private boolean enLecture = false;
+	private float gainCourant, panCourant;
+
+	/** Constructeur **/
+	public SourceSonore(Bruitage bruitage, int xCase, int yCase, float gain) {
+		this.bruitage = Objects.requireNonNull(bruitage, "Bruitage de la source sonore null");
+		if (xCase < 0 || yCase < 0) throw new IllegalArgumentException("Source sonore (" + bruitage.getNom() + "): case négative [" + xCase + "," + yCase + "]");
+		if (gain <= 0f) throw new IllegalArgumentException("Source sonore (" + bruitage.getNom() + "): gain <= 0");
+		this.xCase = xCase;
+		this.yCase = yCase;
+		this.x = xCase * Config.TAILLE_CASES + Config.TAILLE_CASES / 2;
+		this.y = yCase * Config.TAILLE_CASES + Config.TAILLE_CASES / 2;
+		this.gain = gain;
+		this.voix = new PoolVoix(bruitage.getEchantillons(), 1, PoolVoix.Vol.PLUS_ANCIENNE);
+	}
+
+	/** Getters **/
+	public Bruitage getBruitage() { return bruitage; }
+	public int getXCase() { return xCase; }
+	public int getYCase() { return yCase; }
+	public float getGain() { return gain; }
+	public boolean estEnLecture() { return enLecture; }
+
+	/** Autres méthodes **/
+	/** Démarre, ajuste ou coupe la boucle selon la position de l'auditeur ({@link Spatialisation}) **/
+	public void mettreAJour() {
+		if (!Spatialisation.estAudible(x, y)) { couper(); return; }
+		final float g = Spatialisation.gain(x, y) * gain, p = Spatialisation.pan(x, y);
+		if (!enLecture) {
+			enLecture = Mixeur.getInstance().jouer(voix, g, p, true, bruitage.getPriorite());
+		} else if (Math.abs(g - gainCourant) > SEUIL_AJUSTEMENT || Math.abs(p - panCourant) > SEUIL_AJUSTEMENT) {
+			Mixeur.getInstance().ajuster(voix, g, p);
+		} else {
+			return;
+		}
+		gainCourant = g;
+		panCourant = p;
+	}
+
+	public void couper() {
+		if (!enLecture) return;
+		Mixeur.getInstance().arreter(voix);
+		enLecture = false;
+	}
+}
\ No newline at end of file
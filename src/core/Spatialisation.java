@@ -0,0 +1,63 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package core;
+
+/**
+ * Spatialisation des bruitages émis sur la carte : le gain décroît avec la distance à l'auditeur (le héros)
+ * et le panoramique suit l'écart horizontal. Au-delà de {@link Config#PORTEE_SONS_CASES} cases, une source
+ * est inaudible : elle n'occupe aucune voix du mixeur, qu'il y ait une ou mille sources sur la carte.
+ * Coordonnées en pixels sur la carte. Utilisée uniquement par le thread de jeu.
+ */
+public final class Spatialisation {
+
+	private Spatialisation() { throw new AssertionError("La classe Spatialisation ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final double DISTANCE_PLEINE = Config.TAILLE_CASES * 1.5; // gain entier jusqu'à 1,5 case
+	private static final double PORTEE = Math.max(DISTANCE_PLEINE + 1, Config.PORTEE_SONS_CASES * (double) Config.TAILLE_CASES);
+	private static final double PORTEE_CARRE = PORTEE * PORTEE;
+	private static final double DEMI_LARGEUR_PAN = Config.WINDOW_WIDTH / 2.0; // au bord de l'écran, le son est entièrement d'un côté
+
+	private static int xAuditeur = 0, yAuditeur = 0;
+
+	/** Getters **/
+	public static int getXAuditeur() { return xAuditeur; }
+	public static int getYAuditeur() { return yAuditeur; }
+
+	/** Sans racine carrée : test de portée avant tout autre calcul **/
+	public static boolean estAudible(int x, int y) {
+		final long dx = x - xAuditeur, dy = y - yAuditeur;
+		return dx * dx + dy * dy < PORTEE_CARRE;
+	}
+
+	/** Gain dans [0 ; 1] : 1 près de l'auditeur, décroissance quadratique jusqu'à 0 à la portée **/
+	public static float gain(int x, int y) {
+		if (!estAudible(x, y)) return 0f;
+		final double d = Math.hypot(x - xAuditeur, y - yAuditeur);
+		if (d <= DISTANCE_PLEINE) return 1f;
+		final double t = 1.0 - (d - DISTANCE_PLEINE) / (PORTEE - DISTANCE_PLEINE);
+		return (float) (t * t);
+	}
+
+	/** Panoramique dans [-1 ; 1] (gauche -> droite) **/
+	public static float pan(int x, int y) { return (float) Math.clamp((x - xAuditeur) / DEMI_LARGEUR_PAN, -1.0, 1.0); }
+
+	/** Setters **/
+	/** Position de l'auditeur (centre du héros), à mettre à jour à chaque tick **/
+	public static void placerAuditeur(int x, int y) {
+		xAuditeur = x;
+		yAuditeur = y;
+	}
+}
\ No newline at end of file
@@ -16,10 +16,14 @@
 package core;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.io.IOException;
+import java.io.InputStream;
 import javax.imageio.ImageIO;
-import java.nio.file.Path;
-import java.nio.file.Files;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.util.Iterator;
 import java.nio.charset.StandardCharsets;
 import java.awt.FontMetrics;
 import java.util.List;
@@ -30,15 +34,12 @@ public final class Util {
 
 	private Util() { throw new AssertionError("La classe Util ne doit pas être instanciée."); } // Empêche toute instanciation
 
+	static { ImageIO.setUseCache(false); } // flux lus en mémoire (archive ou fichier), pas de fichier temporaire ImageIO
+
 	public static boolean intToBool(int i) { return i != 0; }
 	public static final int[] VB = { 112, 57, 15, 232, 214, 177, 147, 108, 80, 32, 18 };
 	public static int keyForIndex(int i) { return (i * 31 + 7) & 0xFF; }
 
-	public static void playAndStopMusique(Musique current, Musique next) {
-		if (current != null) current.stop();
-		if (next != null) next.play();
-	}
-
 	public static int[][] creerMatriceINT(int hauteur, int largeur, int valeurDefaut) {
 		int[][] matrice = new int[hauteur][largeur];
 		for (int i = 0; i < hauteur; i++) Arrays.fill(matrice[i], valeurDefaut);
@@ -46,10 +47,9 @@ public final class Util {
 	}
 
 	public static BufferedImage chargerImage(String chemin) {
-		Path path = Path.of(chemin);
-		if (!Files.exists(path)) { System.err.println("Fichier introuvable : " + chemin); return null; }
-		try {
-			BufferedImage img = ImageIO.read(path.toFile());
+		if (!Fichiers.existe(chemin)) { System.err.println("Fichier introuvable : " + chemin); return null; }
+		try (InputStream in = Fichiers.ouvrir(chemin)) {
+			BufferedImage img = ImageIO.read(in);
 			if (img == null) throw new IOException("Format non supporté ou image corrompue : " + chemin);
 			return img;
 		} catch (IOException e) {
@@ -57,6 +57,31 @@ public final class Util {
 		}
 	}
 
+	/** Lit uniquement l'en-tête de l'image (largeur, hauteur) sans décoder ses pixels **/
+	public static Dimension lireDimensionsImage(String chemin) {
+		if (!Fichiers.existe(chemin)) { System.err.println("Fichier introuvable : " + chemin); return null; }
+		try (InputStream in = Fichiers.ouvrir(chemin); ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+			Iterator<ImageReader> readers = (iis != null) ? ImageIO.getImageReaders(iis) : null;
+			if (readers == null || !readers.hasNext()) throw new IOException("Format non supporté : " + chemin);
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(iis, true, true);
+				return new Dimension(reader.getWidth(0), reader.getHeight(0));
+			} finally {
+				reader.dispose();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Erreur lors de la lecture de l'en-tête de l'image : " + chemin, e);
+		}
+	}
+
+	/** Taille en octets des pixels d'une image (raster partagé compté une seule fois) **/
+	public static long tailleMemoireImage(BufferedImage image) {
+		if (image == null) return 0L;
+		DataBuffer db = image.getRaster().getDataBuffer();
+		return (long) db.getSize() * db.getNumBanks() * (DataBuffer.getDataTypeSize(db.getDataType()) / 8);
+	}
+
 	public static int calculateTextHeight(String text, FontMetrics fm, int maxWidth) {
 		if (text == null || text.isEmpty()) return 0;
 
@@ -0,0 +1,76 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tampon circulaire de trames stéréo entre un thread de décodage (producteur) et le mixeur (consommateur).
+ * Sans verrou ni allocation : un seul producteur et un seul consommateur.
+ */
+public final class AnneauPCM {
+
+	private final short[] tampon;
+	private final int capacite; // en trames (puissance de 2)
+	private final int masque;
+	private final AtomicLong ecrites = new AtomicLong(); // trames écrites depuis le début (producteur)
+	private final AtomicLong lues = new AtomicLong(); // trames lues depuis le début (consommateur)
+
+	/** Constructeur **/
+	public AnneauPCM(int capaciteMinimale) {
+		if (capaciteMinimale <= 0) throw new IllegalArgumentException("Capacité de l'anneau PCM invalide : " + capaciteMinimale);
+		int c = 1;
+		while (c < capaciteMinimale) c <<= 1;
+		capacite = c;
+		masque = capacite - 1;
+		tampon = new short[capacite * 2];
+	}
+
+	/** Getters **/
+	public int getCapacite() { return capacite; }
+	public int disponibles() { return (int) (ecrites.get() - lues.get()); }
+	public int libres() { return capacite - disponibles(); }
+
+	/** Autres méthodes **/
+	/** Producteur : écrit au plus nbTrames trames de src (à partir de la trame debut), retourne le nombre écrit **/
+	public int ecrire(short[] src, int debut, int nbTrames) {
+		final long e = ecrites.get();
+		final int n = Math.min(nbTrames, capacite - (int) (e - lues.get()));
+		for (int t = 0; t < n; t++) {
+			final int k = (int) ((e + t) & masque) * 2, s = (debut + t) * 2;
+			tampon[k] = src[s];
+			tampon[k + 1] = src[s + 1];
+		}
+		ecrites.lazySet(e + n); // publie les trames écrites
+		return n;
+	}
+
+	/** Consommateur : copie au plus nbTrames trames dans dst, retourne le nombre copié **/
+	public int lire(short[] dst, int nbTrames) {
+		final long l = lues.get();
+		final int n = Math.min(nbTrames, (int) (ecrites.get() - l));
+		for (int t = 0; t < n; t++) {
+			final int k = (int) ((l + t) & masque) * 2;
+			dst[t * 2] = tampon[k];
+			dst[t * 2 + 1] = tampon[k + 1];
+		}
+		lues.lazySet(l + n);
+		return n;
+	}
+
+	/** Vide l'anneau (à n'appeler que lorsque ni le producteur ni le consommateur ne l'utilisent) **/
+	public void vider() { lues.set(ecrites.get()); }
+}
\ No newline at end of file
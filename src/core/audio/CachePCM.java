@@ -0,0 +1,99 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import core.Config;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache des musiques décodées (PCM), partagé par toutes les pistes et borné par un budget mémoire.
+ *
+ * Seules les pistes dont le PCM ne dépasse pas {@link Config#TAILLE_MAX_PCM_MUSIQUE_MO} y entrent :
+ * elles bouclent alors sans coupure et sans redécodage. Au-delà du budget ({@link Config#BUDGET_PCM_MUSIQUES_MO}),
+ * les pistes sont évincées de la moins récemment jouée à la plus récente (LRU).
+ */
+public final class CachePCM {
+
+	private CachePCM() { throw new AssertionError("La classe CachePCM ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	private static final long TAILLE_MAX_PISTE = Config.TAILLE_MAX_PCM_MUSIQUE_MO * 1024L * 1024L;
+	private static final long BUDGET_OCTETS = Config.BUDGET_PCM_MUSIQUES_MO * 1024L * 1024L;
+	private static final Map<String, PisteDecodee> pistes = new LinkedHashMap<>(16, 0.75f, true); // ordre d'accès = ordre LRU
+	private static long memoireTotale = 0L;
+
+	/** Getters **/
+	public static boolean estActif() { return TAILLE_MAX_PISTE > 0 && BUDGET_OCTETS > 0; }
+	public static long getTailleMaxPiste() { return Math.min(TAILLE_MAX_PISTE, BUDGET_OCTETS); }
+	public static synchronized long getMemoireTotale() { return memoireTotale; }
+
+	/** Piste décodée en cache (marquée comme la plus récemment utilisée), null si absente **/
+	public static synchronized PisteDecodee obtenir(String chemin) { return pistes.get(chemin); }
+
+	/** Piste en cache sans la marquer comme récemment jouée (inventaire mémoire), null si absente **/
+	public static synchronized PisteDecodee consulter(String chemin) {
+		for (Map.Entry<String, PisteDecodee> e : pistes.entrySet()) { // parcours : ne modifie pas l'ordre LRU, contrairement à get
+			if (e.getKey().equals(chemin)) return e.getValue();
+		}
+		return null;
+	}
+
+	/** Autres méthodes **/
+	/** Met en cache les nbTrames premières trames de pcm (dans le tas ou dans un fichier projeté selon {@link Config#PCM_MUSIQUES_FICHIER}) **/
+	public static void ajouter(String chemin, short[] pcm, int nbTrames) {
+		if (!estActif() || (long) nbTrames * 2 * Short.BYTES > getTailleMaxPiste()) return;
+		try { ajouter(chemin, PisteDecodee.creer(chemin, pcm, nbTrames, Config.PCM_MUSIQUES_FICHIER)); }
+		catch (IOException e) { System.err.println("[AVERTISSEMENT] Mise en cache de la musique " + chemin + " impossible : " + e.getMessage()); }
+	}
+
+	private static synchronized void ajouter(String chemin, PisteDecodee piste) {
+		Objects.requireNonNull(piste, "Piste null à mettre en cache");
+		if (piste.getTailleMemoire() > getTailleMaxPiste()) { piste.liberer(); return; }
+
+		final PisteDecodee ancienne = pistes.put(chemin, piste);
+		if (ancienne != null) { memoireTotale -= ancienne.getTailleMemoire(); ancienne.liberer(); }
+		memoireTotale += piste.getTailleMemoire();
+		if (Config.DEBUG_MODE) System.out.printf(Locale.ROOT, "Musique %s décodée en cache : %d Ko%s (total : %d Ko / %d Ko)%n",
+			chemin, piste.getTailleMemoire() / 1024, piste.estEnFichier() ? " (fichier projeté)" : "", memoireTotale / 1024, BUDGET_OCTETS / 1024);
+		appliquerBudget();
+	}
+
+	private static void appliquerBudget() {
+		Iterator<PisteDecodee> it = pistes.values().iterator(); // de la moins récemment jouée à la plus récente
+		while (memoireTotale > BUDGET_OCTETS && it.hasNext()) {
+			PisteDecodee piste = it.next();
+			it.remove();
+			memoireTotale -= piste.getTailleMemoire();
+			piste.liberer(); // une musique en cours de lecture garde sa référence jusqu'à son arrêt
+			if (Config.DEBUG_MODE) System.out.println("Musique " + piste.getNom() + " évincée du cache (" + piste.getTailleMemoire() / 1024 + " Ko libérés)");
+		}
+	}
+
+	/** Mémoire par piste (de la moins récemment jouée à la plus récente) **/
+	public static synchronized String rapport() {
+		StringBuilder sb = new StringBuilder(256);
+		sb.append(String.format(Locale.ROOT, "Musiques décodées : %d Ko / %d Ko%n", memoireTotale / 1024, BUDGET_OCTETS / 1024));
+		for (PisteDecodee piste : pistes.values()) {
+			sb.append(String.format(Locale.ROOT, "  %-28s %8d Ko  %6.1f s%s%n", piste.getNom(), piste.getTailleMemoire() / 1024,
+				piste.getNbTrames() / (double) Mixeur.FREQUENCE, piste.estEnFichier() ? "  (fichier projeté)" : ""));
+		}
+		return sb.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cadence temps réel d'une sortie sans carte son : après chaque bloc écrit, attend l'instant où une carte son
+ * l'aurait joué, pour que le mixeur (et les décodeurs qui le suivent) avancent au rythme du jeu.
+ */
+final class Cadence {
+
+	private static final long RETARD_MAX_NS = 100_000_000L; // au-delà (pause du processus), la cadence repart de maintenant
+
+	private final long dureeBlocNs;
+	private long prochainBloc = 0L;
+
+	/** Constructeur **/
+	Cadence(int tailleBloc) {
+		this.dureeBlocNs = (long) (tailleBloc * 1e9 / Mixeur.FREQUENCE);
+	}
+
+	/** Autres méthodes **/
+	void attendre() {
+		final long maintenant = System.nanoTime();
+		if (prochainBloc == 0L || maintenant - prochainBloc > RETARD_MAX_NS) prochainBloc = maintenant;
+		prochainBloc += dureeBlocNs;
+		final long attente = prochainBloc - maintenant;
+		if (attente > 0) LockSupport.parkNanos(attente);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import core.Fichiers;
+import java.io.IOException;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Décode un fichier audio (ogg, wav) en PCM 16 bits stéréo entrelacé, à la fréquence du mixeur ({@link Mixeur#FREQUENCE}).
+ * Les fichiers mono sont recopiés sur les deux canaux et les autres fréquences rééchantillonnées (interpolation linéaire) :
+ * le mixeur n'a ainsi plus qu'à additionner des trames.
+ */
+public final class Decodeur implements AutoCloseable {
+
+	private static final int TRAMES_ENTREE = 4096;
+
+	private final String chemin;
+	private final AudioInputStream brut;
+	private final AudioInputStream pcm;
+	private final int canaux;
+	private final double pas; // trames source par trame de sortie
+	private final byte[] octets;
+	private final short[] entree; // trames source converties en stéréo (la première est la dernière du bloc précédent)
+	private int nbEntree = 0;
+	private double position = 0;
+	private boolean fin = false;
+
+	/** Constructeur **/
+	public Decodeur(String chemin) throws IOException {
+		this.chemin = chemin;
+		try {
+			brut = AudioSystem.getAudioInputStream(Fichiers.ouvrir(chemin));
+		} catch (UnsupportedAudioFileException e) {
+			throw new IOException("Format audio non supporté : " + chemin, e);
+		}
+		final AudioFormat base = brut.getFormat();
+		canaux = base.getChannels();
+		if (canaux < 1 || canaux > 2 || base.getSampleRate() <= 0) {
+			brut.close();
+			throw new IOException("Format audio non supporté (" + base + ") : " + chemin);
+		}
+		final AudioFormat formatPCM = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, base.getSampleRate(), 16, canaux, canaux * 2, base.getSampleRate(), false);
+		pcm = AudioSystem.getAudioInputStream(formatPCM, brut);
+		pas = base.getSampleRate() / Mixeur.FREQUENCE;
+		octets = new byte[TRAMES_ENTREE * canaux * 2];
+		entree = new short[(TRAMES_ENTREE + 1) * 2];
+	}
+
+	/** Getters **/
+	public String getChemin() { return chemin; }
+
+	/** Autres méthodes **/
+	/**
+	 * Écrit au plus nbTrames trames stéréo dans dst à partir de la trame debut.
+	 * @return le nombre de trames écrites, -1 en fin de fichier
+	 */
+	public int lire(short[] dst, int debut, int nbTrames) throws IOException {
+		int n = 0;
+		while (n < nbTrames) {
+			final int i = (int) position;
+			if (i + 1 >= nbEntree) {
+				if (!remplir()) break;
+				continue;
+			}
+			final double f = position - i;
+			final int k = i * 2, d = (debut + n) * 2;
+			dst[d] = (short) (entree[k] + (entree[k + 2] - entree[k]) * f);
+			dst[d + 1] = (short) (entree[k + 1] + (entree[k + 3] - entree[k + 1]) * f);
+			position += pas;
+			n++;
+		}
+		return (n == 0 && fin) ? -1 : n;
+	}
+
+	private boolean remplir() throws IOException {
+		if (fin) return false;
+		int garde = 0;
+		if (nbEntree > 0) { // conserve la dernière trame pour interpoler entre deux blocs
+			final int derniere = nbEntree - 1;
+			entree[0] = entree[derniere * 2];
+			entree[1] = entree[derniere * 2 + 1];
+			position -= derniere;
+			garde = 1;
+		}
+
+		int lus = 0, r;
+		while (lus < octets.length && (r = pcm.read(octets, lus, octets.length - lus)) != -1) lus += r;
+		final int trames = lus / (canaux * 2);
+		if (trames == 0) { fin = true; nbEntree = garde; return false; }
+
+		for (int t = 0; t < trames; t++) {
+			final int o = t * canaux * 2, k = (garde + t) * 2;
+			final short gauche = (short) ((octets[o] & 0xFF) | (octets[o + 1] << 8));
+			entree[k] = gauche;
+			entree[k + 1] = (canaux == 2) ? (short) ((octets[o + 2] & 0xFF) | (octets[o + 3] << 8)) : gauche;
+		}
+		nbEntree = garde + trames;
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try { pcm.close(); }
+		finally { brut.close(); }
+	}
+}
\ No newline at end of file
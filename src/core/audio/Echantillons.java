@@ -0,0 +1,60 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Son entièrement décodé en mémoire (PCM 16 bits stéréo entrelacé, à la fréquence du mixeur).
+ * Immuable : les mêmes échantillons sont partagés par toutes les voix qui le jouent.
+ */
+public final class Echantillons {
+
+	private final String nom;
+	private final short[] pcm;
+	private final int nbTrames;
+
+	/** Méthodes static **/
+	public static Echantillons decoder(String chemin) throws IOException {
+		Objects.requireNonNull(chemin, "Chemin du son null");
+		try (Decodeur decodeur = new Decodeur(chemin)) {
+			short[] pcm = new short[(int) Mixeur.FREQUENCE * 2]; // 1 seconde, agrandi au besoin
+			int nbTrames = 0, n;
+			while (true) {
+				if (nbTrames * 2 == pcm.length) pcm = Arrays.copyOf(pcm, pcm.length * 2);
+				if ((n = decodeur.lire(pcm, nbTrames, pcm.length / 2 - nbTrames)) == -1) break;
+				nbTrames += n;
+			}
+			return new Echantillons(chemin, Arrays.copyOf(pcm, nbTrames * 2), nbTrames);
+		}
+	}
+
+	/** Constructeur **/
+	private Echantillons(String nom, short[] pcm, int nbTrames) {
+		this.nom = nom;
+		this.pcm = pcm;
+		this.nbTrames = nbTrames;
+	}
+
+	/** Getters **/
+	public String getNom() { return nom; }
+	public int getNbTrames() { return nbTrames; }
+	public long getTailleMemoire() { return (long) pcm.length * Short.BYTES; }
+	public double getDureeSecondes() { return nbTrames / (double) Mixeur.FREQUENCE; }
+	short[] pcm() { return pcm; } // accès direct réservé au mixeur (ne pas modifier)
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Événements JFR du chemin audio, enregistrés seulement si un enregistrement est en cours
+ * (ex : java -XX:StartFlightRecording=filename=jeu.jfr ...).
+ */
+final class EvenementsAudio {
+
+	private EvenementsAudio() { throw new AssertionError("La classe EvenementsAudio ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	@Name("slayers.audio.Bloc")
+	@Label("Bloc audio")
+	@Category({ "Slayers", "Audio" })
+	@Description("Bloc mixé puis écrit sur la sortie")
+	@StackTrace(false)
+	static final class Bloc extends Event {
+		@Label("Mixage") @Timespan(Timespan.NANOSECONDS) long mixage;
+		@Label("Écriture") @Timespan(Timespan.NANOSECONDS) long ecriture;
+		@Label("Remplissage de la sortie") @DataAmount int remplissage;
+	}
+
+	@Name("slayers.audio.SousAlimentation")
+	@Label("Sous-alimentation audio")
+	@Category({ "Slayers", "Audio" })
+	@Description("Sortie vidée avant le bloc suivant, ou musique pas assez décodée pour remplir le bloc")
+	@StackTrace(false)
+	static final class SousAlimentation extends Event {
+		@Label("Musique") boolean musique;
+	}
+
+	@Name("slayers.audio.LatenceCommande")
+	@Label("Latence commande -> son")
+	@Category({ "Slayers", "Audio" })
+	@StackTrace(false)
+	static final class LatenceCommande extends Event {
+		@Label("Latence") @Timespan(Timespan.NANOSECONDS) long latence;
+	}
+}
\ No newline at end of file
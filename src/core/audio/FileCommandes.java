@@ -0,0 +1,101 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * File bornée de commandes vers le thread du mixeur : plusieurs producteurs (jeu, AWT), un seul consommateur (mixeur).
+ * Sans verrou ni allocation : les commandes sont des cases préallouées, réutilisées en boucle
+ * (chaque case porte un numéro de séquence indiquant si elle est libre ou prête à être lue).
+ */
+final class FileCommandes {
+
+	static final int JOUER = 1, ARRETER = 2, MUSIQUE = 3, ARRETER_MUSIQUE = 4, PAUSE_MUSIQUE = 5, REPRENDRE_MUSIQUE = 6, AJUSTER = 7;
+
+	/** Case de la file (réutilisée) **/
+	static final class Commande {
+		int type;
+		Object cible;
+		float gain, pan;
+		boolean boucle;
+		int priorite; // voix (budget du mixeur)
+		int duree; // en trames (fondu)
+		long horodatage; // System.nanoTime() de la demande
+	}
+
+	private final Commande[] commandes;
+	private final AtomicLongArray sequences;
+	private final int masque;
+	private final AtomicLong ecriture = new AtomicLong();
+	private long lecture = 0; // consommateur unique
+
+	/** Constructeur **/
+	FileCommandes(int capacite) {
+		if (Integer.bitCount(capacite) != 1) throw new IllegalArgumentException("La capacité de la file doit être une puissance de 2 : " + capacite);
+		commandes = new Commande[capacite];
+		sequences = new AtomicLongArray(capacite);
+		for (int i = 0; i < capacite; i++) {
+			commandes[i] = new Commande();
+			sequences.set(i, i);
+		}
+		masque = capacite - 1;
+	}
+
+	/** Autres méthodes **/
+	/** Producteur : false si la file est pleine (commande ignorée) **/
+	boolean offrir(int type, Object cible, float gain, float pan, boolean boucle, int priorite, int duree, long horodatage) {
+		long pos = ecriture.get();
+		while (true) {
+			final int i = (int) (pos & masque);
+			final long ecart = sequences.get(i) - pos;
+			if (ecart == 0) {
+				if (ecriture.compareAndSet(pos, pos + 1)) {
+					final Commande c = commandes[i];
+					c.type = type;
+					c.cible = cible;
+					c.gain = gain;
+					c.pan = pan;
+					c.boucle = boucle;
+					c.priorite = priorite;
+					c.duree = duree;
+					c.horodatage = horodatage;
+					sequences.set(i, pos + 1); // publiée
+					return true;
+				}
+				pos = ecriture.get();
+			} else if (ecart < 0) {
+				return false; // pleine
+			} else {
+				pos = ecriture.get(); // case prise par un autre producteur
+			}
+		}
+	}
+
+	/** Consommateur : prochaine commande publiée ou null, à rendre avec {@link #liberer()} après lecture **/
+	Commande prendre() {
+		final int i = (int) (lecture & masque);
+		return (sequences.get(i) == lecture + 1) ? commandes[i] : null;
+	}
+
+	void liberer() {
+		final int i = (int) (lecture & masque);
+		commandes[i].cible = null;
+		sequences.set(i, lecture + masque + 1);
+		lecture++;
+	}
+}
\ No newline at end of file
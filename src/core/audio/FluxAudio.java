@@ -0,0 +1,35 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+/**
+ * Source audio continue lue par le mixeur (musique), au format du mixeur (PCM 16 bits stéréo entrelacé).
+ * Appelée depuis le thread du mixeur : ne doit jamais bloquer ni allouer.
+ */
+public interface FluxAudio {
+
+	/**
+	 * Copie au plus nbTrames trames disponibles dans dst.
+	 * @return le nombre de trames copiées (moins que demandé si le décodage est en retard), -1 si le flux est terminé
+	 */
+	int lire(short[] dst, int nbTrames);
+
+	/**
+	 * Une lecture courte est-elle un retard du décodage ? (flux décodé en continu, premier bloc déjà décodé,
+	 * fin pas encore atteinte) ; sinon, c'est la fin d'une lecture sans boucle ou le démarrage du flux
+	 */
+	default boolean estEnDecodage() { return false; }
+}
\ No newline at end of file
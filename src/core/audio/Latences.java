@@ -0,0 +1,47 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.util.Locale;
+
+/**
+ * Statistiques simples (nombre, dernière, moyenne, maximum) d'une durée mesurée par un seul thread
+ * et lue par n'importe quel autre. Sans verrou ni allocation à l'enregistrement.
+ */
+public final class Latences {
+
+	private volatile long nb = 0, derniere = 0, max = 0, somme = 0;
+
+	/** Getters **/
+	public long getNb() { return nb; }
+	public double getDerniereMs() { return derniere / 1e6; }
+	public double getMaxMs() { return max / 1e6; }
+	public double getMoyenneMs() { final long n = nb; return (n == 0) ? 0 : somme / 1e6 / n; }
+
+	/** Autres méthodes **/
+	/** À n'appeler que depuis le thread qui mesure **/
+	public void enregistrer(long nanos) {
+		if (nanos < 0) return;
+		derniere = nanos;
+		if (nanos > max) max = nanos;
+		somme += nanos;
+		nb++;
+	}
+
+	public String resume(String titre) {
+		return String.format(Locale.ROOT, "%s : %d mesures, dernière %.1f ms, moyenne %.1f ms, max %.1f ms", titre, getNb(), getDerniereMs(), getMoyenneMs(), getMaxMs());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.util.Locale;
+
+/**
+ * Mesures du chemin audio, enregistrées par le thread du mixeur à chaque bloc et lisibles depuis n'importe quel thread :
+ * remplissage du tampon de sortie, sous-alimentations (sortie vidée avant le bloc suivant, musique pas assez décodée),
+ * durées de mixage et d'écriture d'un bloc, latence commande -> son.
+ * Chaque mesure est aussi émise en événement JFR ({@link EvenementsAudio}) quand un enregistrement est en cours.
+ */
+public final class MetriquesAudio {
+
+	private final int capacite; // tampon de la sortie, en octets (-1 : inconnue)
+	private final Latences mixages = new Latences(), ecritures = new Latences(), commandes = new Latences();
+	private volatile long nbBlocs = 0L, nbSousAlimentations = 0L, nbSousAlimentationsMusique = 0L;
+	private volatile int remplissage = -1, remplissageMin = -1; // octets en attente dans la sortie avant l'écriture du bloc
+
+	/** Constructeur **/
+	MetriquesAudio(int capacite) { this.capacite = capacite; }
+
+	/** Getters **/
+	public int getCapacite() { return capacite; }
+	public long getNbBlocs() { return nbBlocs; }
+	public long getNbSousAlimentations() { return nbSousAlimentations; }
+	public long getNbSousAlimentationsMusique() { return nbSousAlimentationsMusique; }
+	public int getRemplissage() { return remplissage; }
+	public int getRemplissageMin() { return remplissageMin; }
+	/** Remplissage du tampon de sortie dans [0 ; 1], -1 si la sortie ne le mesure pas **/
+	public double getTauxRemplissage() { final int r = remplissage; return (r < 0 || capacite <= 0) ? -1 : r / (double) capacite; }
+	public Latences getMixages() { return mixages; }
+	public Latences getEcritures() { return ecritures; }
+	public Latences getCommandes() { return commandes; }
+
+	/** Autres méthodes (thread du mixeur uniquement) **/
+	void enregistrerBloc(long mixageNs, long ecritureNs, int remplissageAvant) {
+		mixages.enregistrer(mixageNs);
+		ecritures.enregistrer(ecritureNs);
+		final long n = nbBlocs;
+		nbBlocs = n + 1;
+		if (remplissageAvant >= 0) {
+			remplissage = remplissageAvant;
+			if (remplissageMin < 0 || remplissageAvant < remplissageMin) remplissageMin = remplissageAvant;
+			if (remplissageAvant == 0 && n > 0) enregistrerSousAlimentation(false); // la sortie a tout joué : trou audible
+		}
+
+		final EvenementsAudio.Bloc e = new EvenementsAudio.Bloc();
+		if (e.shouldCommit()) {
+			e.mixage = mixageNs;
+			e.ecriture = ecritureNs;
+			e.remplissage = remplissageAvant;
+			e.commit();
+		}
+	}
+
+	void enregistrerSousAlimentation(boolean musique) {
+		if (musique) nbSousAlimentationsMusique++;
+		else nbSousAlimentations++;
+
+		final EvenementsAudio.SousAlimentation e = new EvenementsAudio.SousAlimentation();
+		if (e.shouldCommit()) {
+			e.musique = musique;
+			e.commit();
+		}
+	}
+
+	/** Demande (System.nanoTime()) -> premier échantillon du son joué par la sortie (estimation) **/
+	void enregistrerCommande(long latenceNs) {
+		commandes.enregistrer(latenceNs);
+
+		final EvenementsAudio.LatenceCommande e = new EvenementsAudio.LatenceCommande();
+		if (e.shouldCommit()) {
+			e.latence = latenceNs;
+			e.commit();
+		}
+	}
+
+	public String rapport() {
+		final String nl = System.lineSeparator();
+		return String.format(Locale.ROOT, "Audio : %d blocs, %d sous-alimentations de la sortie, %d de la musique, tampon %s%n",
+				nbBlocs, nbSousAlimentations, nbSousAlimentationsMusique,
+				(capacite > 0) ? String.format(Locale.ROOT, "%d octets (minimum atteint : %d)", capacite, remplissageMin) : "non mesuré")
+			+ mixages.resume("Mixage d'un bloc") + nl
+			+ ecritures.resume("Écriture d'un bloc") + nl
+			+ commandes.resume("Commande -> son") + nl;
+	}
+}
\ No newline at end of file
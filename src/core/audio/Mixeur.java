@@ -0,0 +1,361 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import core.Config;
+import java.util.Arrays;
+import java.util.Objects;
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Mixeur logiciel du jeu : une seule sortie ({@link SortieAudio}), un seul thread temps réel.
+ *
+ * Le thread du mixeur additionne, par blocs de taille fixe ({@link Config#TAILLE_BLOC_AUDIO} trames),
+ * le flux de la musique (avec fondu enchaîné lors d'un changement) et les voix des bruitages
+ * (gain et panoramique par voix), puis écrit le bloc sur la sortie.
+ * Chaque son joue au plus {@link PoolVoix#getPolyphonie()} voix à la fois ; au-delà, une de ses voix est volée
+ * selon la politique de son pool. Quand toutes les voix du mixeur sont occupées, la voix de plus faible priorité
+ * (puis la plus faible, puis la plus ancienne) cède sa place, sauf si le nouveau son est lui-même moins prioritaire.
+ * Chaque bloc est mesuré ({@link MetriquesAudio}) : remplissage de la sortie, sous-alimentations, durées, latences.
+ * Les autres threads (jeu, AWT) ne touchent jamais aux voix : ils déposent des commandes dans une file
+ * sans verrou, lue au début de chaque bloc.
+ */
+public final class Mixeur {
+
+	public static final float FREQUENCE = 44100f;
+	public static final AudioFormat FORMAT = new AudioFormat(FREQUENCE, 16, 2, true, false); // PCM 16 bits stéréo little-endian
+	private static final int CAPACITE_COMMANDES = 256;
+	private static final int ARRET_TIMEOUT_MS = 500;
+	private static final int MAX_SORTANTES = 4; // musiques encore en fondu sortant (changements rapprochés)
+
+	private static Mixeur instance = null;
+
+	private final int tailleBloc;
+	private final Voix[] voix;
+	private final FileCommandes commandes = new FileCommandes(CAPACITE_COMMANDES);
+	private final SortieAudio sortie; // muette : mixeur inactif
+	private final Thread thread;
+	private volatile boolean enMarche = true;
+	private volatile int nbVoixActives = 0;
+	private volatile long nbVoixVolees = 0L;
+	private volatile long nbSonsIgnores = 0L; // budget de voix plein de sons plus prioritaires
+	private final Latences latencesMusique = new Latences(); // demande de changement -> premier bloc écrit
+	private final MetriquesAudio metriques;
+
+	// état du thread du mixeur uniquement
+	private FluxAudio musique;
+	private float gainMusique = 1f;
+	private int fonduTotal = 0, fonduPosition = 0; // fondu entrant de la musique, en trames
+	private final FluxAudio[] sortantes = new FluxAudio[MAX_SORTANTES]; // chacune s'efface depuis le gain qu'elle avait atteint
+	private final float[] gainsSortantes = new float[MAX_SORTANTES];
+	private final int[] fondusSortants = new int[MAX_SORTANTES], positionsSortantes = new int[MAX_SORTANTES];
+	private int nbSortantes = 0;
+	private long horodatageMusique = 0L; // demande de la musique dont le premier bloc n'est pas encore écrit
+	private boolean musiqueEnPause = false;
+	private long ordreVoix = 0L;
+	private long horodatageCommande = 0L; // plus ancien son demandé pendant ce bloc (0 : aucun)
+
+	/** Méthodes static **/
+	public static synchronized Mixeur getInstance() {
+		if (instance == null) {
+			final SortieAudio sortie = SortieAudio.ouvrir(Config.SORTIE_AUDIO, Config.CAPTURE_AUDIO, Config.TAILLE_BLOC_AUDIO);
+			instance = new Mixeur(sortie, Config.TAILLE_BLOC_AUDIO, Config.NB_VOIX_AUDIO);
+		}
+		return instance;
+	}
+
+	/** Arrête le mixeur s'il a été démarré (fermeture du jeu) **/
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			instance.fermer();
+			instance = null;
+		}
+	}
+
+	/** Gains gauche / droite pour un panoramique dans [-1 ; 1] : le centre garde le gain entier sur les deux canaux **/
+	static float gainGauche(float gain, float pan) { return gain * Math.min(1f, 1f - pan); }
+	static float gainDroite(float gain, float pan) { return gain * Math.min(1f, 1f + pan); }
+
+	/** Constructeur **/
+	private Mixeur(SortieAudio sortie, int tailleBloc, int nbVoix) {
+		if (tailleBloc <= 0 || nbVoix <= 0) throw new IllegalArgumentException("Paramètres du mixeur invalides : bloc " + tailleBloc + ", voix " + nbVoix);
+		this.tailleBloc = tailleBloc;
+		voix = new Voix[nbVoix];
+		for (int v = 0; v < nbVoix; v++) voix[v] = new Voix();
+
+		this.sortie = Objects.requireNonNull(sortie, "Sortie audio null");
+		this.metriques = new MetriquesAudio(sortie.getCapacite());
+		thread = new Thread(this::boucle, "Audio-Mixeur");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MAX_PRIORITY);
+		if (!sortie.estMuette()) thread.start();
+	}
+
+	/** Getters **/
+	public boolean estActif() { return !sortie.estMuette() && enMarche; }
+	public String getNomSortie() { return sortie.getNom(); }
+	public Thread.State getEtatThread() { return thread.getState(); }
+	public int getTailleBloc() { return tailleBloc; }
+	public int getNbVoix() { return voix.length; }
+	public int getNbVoixActives() { return nbVoixActives; }
+	public long getNbVoixVolees() { return nbVoixVolees; }
+	public long getNbSonsIgnores() { return nbSonsIgnores; }
+	public Latences getLatencesMusique() { return latencesMusique; }
+	public MetriquesAudio getMetriques() { return metriques; }
+
+	/** Autres méthodes (appelables depuis n'importe quel thread, sans blocage ni allocation) **/
+	/**
+	 * Joue le son du pool sur une nouvelle voix (gain >= 0, panoramique dans [-1 ; 1]) : false si la commande n'a pas pu être déposée.
+	 * priorite : départage les sons quand toutes les voix du mixeur sont occupées (plus grand = plus important)
+	 */
+	public boolean jouer(PoolVoix pool, float gain, float pan, boolean boucle, int priorite) {
+		Objects.requireNonNull(pool, "Pool de voix null à jouer");
+		return estActif() && commandes.offrir(FileCommandes.JOUER, pool, Math.max(0f, gain), Math.clamp(pan, -1f, 1f), boucle, priorite, 0, System.nanoTime());
+	}
+
+	/** Change le gain et le panoramique des voix du pool en cours de lecture (transition sur un bloc, sans craquement) **/
+	public void ajuster(PoolVoix pool, float gain, float pan) {
+		Objects.requireNonNull(pool, "Pool de voix null à ajuster");
+		if (estActif()) commandes.offrir(FileCommandes.AJUSTER, pool, Math.max(0f, gain), Math.clamp(pan, -1f, 1f), false, 0, 0, 0L);
+	}
+
+	/** Arrête toutes les voix du pool **/
+	public void arreter(PoolVoix pool) {
+		Objects.requireNonNull(pool, "Pool de voix null à arrêter");
+		if (estActif()) commandes.offrir(FileCommandes.ARRETER, pool, 0f, 0f, false, 0, 0, 0L);
+	}
+
+	/** Remplace immédiatement le flux de musique en cours **/
+	public void jouerMusique(FluxAudio flux, float gain) {
+		Objects.requireNonNull(flux, "Flux de musique null");
+		changerMusique(flux, gain, 0, System.nanoTime());
+	}
+
+	/**
+	 * Enchaîne vers le flux (null : silence) avec un fondu de dureeFonduMs millisecondes.
+	 * horodatage : System.nanoTime() de la demande, pour mesurer la latence jusqu'au premier bloc écrit.
+	 */
+	public void changerMusique(FluxAudio flux, float gain, int dureeFonduMs, long horodatage) {
+		final int fondu = (int) (Math.max(0, dureeFonduMs) * FREQUENCE / 1000f);
+		if (estActif()) commandes.offrir(FileCommandes.MUSIQUE, flux, Math.max(0f, gain), 0f, false, 0, fondu, horodatage);
+	}
+
+	/** Arrête la musique si c'est ce flux qui est joué (ou en train de s'effacer) **/
+	public void arreterMusique(FluxAudio flux) { if (estActif()) commandes.offrir(FileCommandes.ARRETER_MUSIQUE, flux, 0f, 0f, false, 0, 0, 0L); }
+	public void pauseMusique() { if (estActif()) commandes.offrir(FileCommandes.PAUSE_MUSIQUE, null, 0f, 0f, false, 0, 0, 0L); }
+	public void reprendreMusique() { if (estActif()) commandes.offrir(FileCommandes.REPRENDRE_MUSIQUE, null, 0f, 0f, false, 0, 0, 0L); }
+
+	/** Thread du mixeur **/
+	private void boucle() {
+		final float[] bloc = new float[tailleBloc * 2];
+		final short[] tamponMusique = new short[tailleBloc * 2];
+		final byte[] octets = new byte[tailleBloc * FORMAT.getFrameSize()];
+
+		final int octetsParTrame = FORMAT.getFrameSize();
+		while (enMarche) {
+			final long debutMixage = System.nanoTime();
+			traiterCommandes();
+			Arrays.fill(bloc, 0f);
+			mixerMusique(bloc, tamponMusique);
+
+			int actives = 0;
+			for (Voix v : voix) {
+				if (!v.estActive()) continue;
+				v.mixer(bloc, tailleBloc);
+				actives++;
+			}
+			nbVoixActives = actives;
+
+			for (int i = 0; i < bloc.length; i++) { // saturation puis conversion en 16 bits little-endian
+				final int s = (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, bloc[i]));
+				octets[i * 2] = (byte) s;
+				octets[i * 2 + 1] = (byte) (s >> 8);
+			}
+			final int remplissage = sortie.getOctetsEnAttente();
+			final long debutEcriture = System.nanoTime();
+			sortie.ecrire(octets, octets.length); // bloque tant que la sortie est pleine : cadence le mixeur
+			final long finEcriture = System.nanoTime();
+			metriques.enregistrerBloc(debutEcriture - debutMixage, finEcriture - debutEcriture, remplissage);
+
+			if (horodatageCommande != 0L) { // le son commence après ce qui attend encore devant lui dans la sortie
+				final int devant = Math.max(0, sortie.getOctetsEnAttente() - octets.length);
+				metriques.enregistrerCommande(finEcriture - horodatageCommande + (long) (devant / octetsParTrame * 1e9 / FREQUENCE));
+				horodatageCommande = 0L;
+			}
+			if (horodatageMusique != 0L) {
+				latencesMusique.enregistrer(finEcriture - horodatageMusique);
+				horodatageMusique = 0L;
+			}
+		}
+	}
+
+	private void traiterCommandes() {
+		FileCommandes.Commande c;
+		while ((c = commandes.prendre()) != null) {
+			switch (c.type) {
+				case FileCommandes.JOUER -> {
+					final PoolVoix pool = (PoolVoix) c.cible;
+					final Voix v = choisirVoix(pool, c.priorite, c.gain);
+					if (v != null) v.demarrer(pool, c.gain, c.pan, c.boucle, c.priorite, ordreVoix++);
+					else nbSonsIgnores++;
+					if (horodatageCommande == 0L || c.horodatage < horodatageCommande) horodatageCommande = c.horodatage;
+				}
+				case FileCommandes.ARRETER -> { for (Voix v : voix) if (v.getPool() == c.cible) v.arreter(); }
+				case FileCommandes.AJUSTER -> { for (Voix v : voix) if (v.getPool() == c.cible) v.ajuster(c.gain, c.pan); }
+				case FileCommandes.MUSIQUE -> appliquerMusique((FluxAudio) c.cible, c.gain, c.duree, c.horodatage);
+				case FileCommandes.ARRETER_MUSIQUE -> {
+					if (c.cible == null || c.cible == musique) musique = null;
+					if (c.cible == null) viderSortantes();
+					else retirerSortante((FluxAudio) c.cible);
+				}
+				case FileCommandes.PAUSE_MUSIQUE -> musiqueEnPause = true;
+				case FileCommandes.REPRENDRE_MUSIQUE -> musiqueEnPause = false;
+				default -> {}
+			}
+			commandes.liberer();
+		}
+	}
+
+	/**
+	 * Voix libre, ou voix volée si le pool a atteint sa polyphonie ou si toutes les voix sont occupées.
+	 * null si toutes les voix jouent des sons plus importants que celui-ci (il est alors ignoré).
+	 */
+	private Voix choisirVoix(PoolVoix pool, int priorite, float gain) {
+		Voix libre = null;
+		int nbDuPool = 0;
+		for (Voix v : voix) {
+			if (!v.estActive()) { if (libre == null) libre = v; }
+			else if (v.getPool() == pool) nbDuPool++;
+		}
+		if (nbDuPool < pool.getPolyphonie() && libre != null) return libre;
+
+		Voix victime = null;
+		if (nbDuPool >= pool.getPolyphonie()) { // polyphonie atteinte : une voix du même son cède sa place
+			for (Voix v : voix) {
+				if (v.getPool() == pool && (victime == null || estAVoler(v, victime, pool.getVol()))) victime = v;
+			}
+		} else { // toutes les voix du mixeur sont occupées : budget partagé par priorité
+			for (Voix v : voix) {
+				if (victime == null || estMoinsImportante(v, victime)) victime = v;
+			}
+			if (victime.getPriorite() > priorite || (victime.getPriorite() == priorite && victime.getGain() > gain)) return null;
+		}
+		nbVoixVolees++;
+		return victime;
+	}
+
+	private static boolean estAVoler(Voix v, Voix victime, PoolVoix.Vol vol) {
+		if (vol == PoolVoix.Vol.PLUS_FAIBLE && v.getGain() != victime.getGain()) return v.getGain() < victime.getGain();
+		return v.getOrdre() < victime.getOrdre(); // plus ancienne (et départage des voix de même gain)
+	}
+
+	private static boolean estMoinsImportante(Voix v, Voix victime) {
+		if (v.getPriorite() != victime.getPriorite()) return v.getPriorite() < victime.getPriorite();
+		if (v.getGain() != victime.getGain()) return v.getGain() < victime.getGain();
+		return v.getOrdre() < victime.getOrdre();
+	}
+
+	private void appliquerMusique(FluxAudio nouvelle, float gain, int fondu, long horodatage) {
+		musiqueEnPause = false;
+		if (nouvelle == musique) { gainMusique = gain; return; }
+
+		retirerSortante(nouvelle); // revenue pendant son fondu sortant : elle repart en fondu entrant
+		if (fondu <= 0) viderSortantes();
+		else if (musique != null) { // l'ancienne s'efface pendant que la nouvelle monte, depuis le gain déjà atteint
+			final float atteint = (fonduPosition < fonduTotal) ? fonduPosition / (float) fonduTotal : 1f;
+			ajouterSortante(musique, gainMusique * atteint, fondu);
+		}
+		musique = nouvelle;
+		gainMusique = gain;
+		fonduTotal = fondu;
+		fonduPosition = 0;
+		horodatageMusique = (nouvelle != null) ? horodatage : 0L;
+	}
+
+	private void mixerMusique(float[] bloc, short[] tampon) {
+		if (musiqueEnPause) return;
+		float debut = 1f, fin = 1f; // progression du fondu au début et à la fin du bloc
+		if (fonduPosition < fonduTotal) {
+			debut = fonduPosition / (float) fonduTotal;
+			fin = Math.min(1f, (fonduPosition + tailleBloc) / (float) fonduTotal);
+			fonduPosition += tailleBloc;
+		}
+		if (musique != null && !mixerFlux(musique, bloc, tampon, gainMusique * debut, gainMusique * fin)) musique = null;
+		for (int k = nbSortantes - 1; k >= 0; k--) {
+			final int total = fondusSortants[k], position = positionsSortantes[k];
+			final float g = gainsSortantes[k];
+			positionsSortantes[k] += tailleBloc;
+			if (position >= total || !mixerFlux(sortantes[k], bloc, tampon, g * (1f - position / (float) total),
+					g * (1f - Math.min(1f, (position + tailleBloc) / (float) total)))) {
+				retirerSortante(k);
+			}
+		}
+	}
+
+	/** Confie le flux au fondu sortant (plein : la plus faible des sortantes cède sa place) **/
+	private void ajouterSortante(FluxAudio flux, float gain, int fondu) {
+		int k = nbSortantes;
+		if (k == MAX_SORTANTES) {
+			k = 0;
+			for (int i = 1; i < nbSortantes; i++) if (gainRestant(i) < gainRestant(k)) k = i;
+		} else nbSortantes++;
+		sortantes[k] = flux;
+		gainsSortantes[k] = gain;
+		fondusSortants[k] = fondu;
+		positionsSortantes[k] = 0;
+	}
+
+	private float gainRestant(int k) { return gainsSortantes[k] * (1f - Math.min(1f, positionsSortantes[k] / (float) fondusSortants[k])); }
+
+	private void retirerSortante(FluxAudio flux) {
+		for (int k = nbSortantes - 1; k >= 0; k--) if (sortantes[k] == flux) retirerSortante(k);
+	}
+
+	private void retirerSortante(int k) {
+		nbSortantes--;
+		sortantes[k] = sortantes[nbSortantes];
+		gainsSortantes[k] = gainsSortantes[nbSortantes];
+		fondusSortants[k] = fondusSortants[nbSortantes];
+		positionsSortantes[k] = positionsSortantes[nbSortantes];
+		sortantes[nbSortantes] = null;
+	}
+
+	private void viderSortantes() {
+		while (nbSortantes > 0) sortantes[--nbSortantes] = null;
+	}
+
+	/** Ajoute le flux au bloc avec un gain variant linéairement de gainDebut à gainFin : false si le flux est terminé **/
+	private boolean mixerFlux(FluxAudio flux, float[] bloc, short[] tampon, float gainDebut, float gainFin) {
+		final int n = flux.lire(tampon, tailleBloc);
+		if (n < 0) return false;
+		if (n < tailleBloc && flux.estEnDecodage()) metriques.enregistrerSousAlimentation(true); // décodage en retard (pas la fin de piste ni le démarrage)
+		final float pas = (gainFin - gainDebut) / tailleBloc;
+		for (int t = 0; t < n; t++) { // trames manquantes (décodage en retard) : silence
+			final float g = gainDebut + pas * t;
+			bloc[t * 2] += tampon[t * 2] * g;
+			bloc[t * 2 + 1] += tampon[t * 2 + 1] * g;
+		}
+		return true;
+	}
+
+	private void fermer() {
+		enMarche = false;
+		if (thread.isAlive()) {
+			try { thread.join(ARRET_TIMEOUT_MS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+		}
+		sortie.close();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Piste de musique entièrement décodée (PCM 16 bits stéréo entrelacé, à la fréquence du mixeur),
+ * conservée dans le tas ou dans un fichier temporaire projeté en mémoire (mmap).
+ * Immuable une fois créée : peut être lue par le mixeur pendant qu'un autre thread l'évince du cache.
+ */
+public final class PisteDecodee {
+
+	private final String nom;
+	private final ShortBuffer pcm;
+	private final int nbTrames;
+	private final Path fichier; // null si la piste est dans le tas
+
+	/** Méthodes static **/
+	/** Crée la piste à partir des nbTrames premières trames de pcm (recopiées dans un fichier temporaire si enFichier) **/
+	static PisteDecodee creer(String nom, short[] pcm, int nbTrames, boolean enFichier) throws IOException {
+		if (!enFichier) return new PisteDecodee(nom, ShortBuffer.wrap(Arrays.copyOf(pcm, nbTrames * 2)).asReadOnlyBuffer(), nbTrames, null); // sans la marge de capture
+
+		final Path fichier = Files.createTempFile("slayers-pcm-", ".raw");
+		fichier.toFile().deleteOnExit(); // si la suppression à l'éviction échoue (fichier encore projeté sous Windows)
+		try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final ByteBuffer octets = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.nativeOrder());
+			for (int i = 0; i < nbTrames * 2; ) {
+				octets.clear();
+				while (octets.remaining() >= Short.BYTES && i < nbTrames * 2) octets.putShort(pcm[i++]);
+				octets.flip();
+				while (octets.hasRemaining()) canal.write(octets);
+			}
+			final MappedByteBuffer projection = canal.map(FileChannel.MapMode.READ_ONLY, 0, (long) nbTrames * 2 * Short.BYTES);
+			return new PisteDecodee(nom, projection.order(ByteOrder.nativeOrder()).asShortBuffer(), nbTrames, fichier);
+		}
+	}
+
+	/** Constructeur **/
+	private PisteDecodee(String nom, ShortBuffer pcm, int nbTrames, Path fichier) {
+		this.nom = nom;
+		this.pcm = pcm;
+		this.nbTrames = nbTrames;
+		this.fichier = fichier;
+	}
+
+	/** Getters **/
+	public String getNom() { return nom; }
+	public int getNbTrames() { return nbTrames; }
+	public long getTailleMemoire() { return (long) nbTrames * 2 * Short.BYTES; }
+	public boolean estEnFichier() { return fichier != null; }
+
+	/** Autres méthodes **/
+	/** Copie nbTrames trames à partir de la trame position dans dst (à partir de la trame debut), sans allocation **/
+	public void copier(int position, short[] dst, int debut, int nbTrames) {
+		pcm.get(position * 2, dst, debut * 2, nbTrames * 2);
+	}
+
+	/** Supprime le fichier temporaire (la projection reste lisible jusqu'à sa libération par le GC) **/
+	void liberer() {
+		if (fichier == null) return;
+		try { Files.deleteIfExists(fichier); }
+		catch (IOException e) { /* supprimé à l'arrêt du programme (deleteOnExit) */ }
+	}
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Groupe de voix d'un même son : au plus {@code polyphonie} lectures simultanées de ses échantillons (partagés).
+ * Au-delà, une de ses voix est volée selon la politique choisie : la plus ancienne ou la plus faible.
+ */
+public final class PoolVoix {
+
+	public enum Vol {
+		PLUS_ANCIENNE, PLUS_FAIBLE;
+
+		/** "ancienne" ou "faible" (insensible à la casse), PLUS_ANCIENNE par défaut **/
+		public static Vol depuis(String valeur) {
+			if (valeur != null && valeur.trim().toLowerCase(Locale.ROOT).equals("faible")) return PLUS_FAIBLE;
+			return PLUS_ANCIENNE;
+		}
+	}
+
+	private final Echantillons son;
+	private final int polyphonie;
+	private final Vol vol;
+
+	/** Constructeur **/
+	public PoolVoix(Echantillons son, int polyphonie, Vol vol) {
+		this.son = Objects.requireNonNull(son, "Échantillons du pool null");
+		if (polyphonie <= 0) throw new IllegalArgumentException("Polyphonie invalide : " + polyphonie);
+		this.polyphonie = polyphonie;
+		this.vol = Objects.requireNonNull(vol, "Politique de vol null");
+	}
+
+	/** Getters **/
+	public Echantillons getSon() { return son; }
+	public int getPolyphonie() { return polyphonie; }
+	public Vol getVol() { return vol; }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Sortie du mixeur : reçoit les blocs mixés au format {@link Mixeur#FORMAT}.
+ * Choisie au lancement ({@link core.Config#SORTIE_AUDIO}) : carte son (Java Sound), sortie nulle (aucun son,
+ * aucun thread, aucun coût : machines sans périphérique audio), sortie vide (mixage cadencé puis jeté : bancs d'endurance)
+ * ou capture dans un fichier WAV (vérifications).
+ */
+public interface SortieAudio extends AutoCloseable {
+
+	/** Méthodes static **/
+	/**
+	 * type : "javasound" (par défaut), "nulle", "vide" ou "wav" (capture dans fichierCapture).
+	 * Si la carte son est indisponible, la sortie nulle est utilisée.
+	 */
+	static SortieAudio ouvrir(String type, String fichierCapture, int tailleBloc) {
+		final String t = (type == null) ? "" : type.trim().toLowerCase(Locale.ROOT);
+		switch (t) {
+			case "nulle", "null", "aucune" -> { return SortieNulle.INSTANCE; }
+			case "vide" -> { return new SortieVide(tailleBloc); }
+			case "wav" -> {
+				try { return new SortieCaptureWav(Path.of(fichierCapture), tailleBloc); }
+				catch (IOException e) {
+					System.err.println("[AVERTISSEMENT] Capture audio impossible dans " + fichierCapture + " (" + e.getMessage() + ") -> son désactivé");
+					return SortieNulle.INSTANCE;
+				}
+			}
+			default -> {
+				if (!t.isEmpty() && !t.equals("javasound")) System.err.println("[AVERTISSEMENT] Sortie audio inconnue : " + type + " -> javasound");
+				final SortieAudio sortie = SortieJavaSound.ouvrir(tailleBloc);
+				return (sortie != null) ? sortie : SortieNulle.INSTANCE;
+			}
+		}
+	}
+
+	/** Getters **/
+	String getNom();
+
+	/** true : rien n'est jamais écrit, le mixeur ne démarre pas son thread **/
+	default boolean estMuette() { return false; }
+
+	/** Taille du tampon de la sortie en octets, -1 si elle n'en a pas **/
+	default int getCapacite() { return -1; }
+
+	/** Octets écrits pas encore joués, -1 si la sortie ne le mesure pas **/
+	default int getOctetsEnAttente() { return -1; }
+
+	/** Autres méthodes **/
+	/** Écrit longueur octets du bloc mixé, en bloquant si besoin : c'est la sortie qui cadence le mixeur **/
+	void ecrire(byte[] octets, int longueur);
+
+	@Override void close();
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sortie vers un fichier WAV (PCM 16 bits stéréo 44,1 kHz) : le mixage est enregistré tel qu'il serait joué,
+ * pour être réécouté ou comparé. Cadencée en temps réel comme une carte son, pour que la capture
+ * suive le déroulement du jeu. Les tailles de l'en-tête sont écrites à la fermeture.
+ */
+final class SortieCaptureWav implements SortieAudio {
+
+	private static final int TAILLE_EN_TETE = 44;
+
+	private final Path fichier;
+	private final OutputStream sortie;
+	private final Cadence cadence;
+	private long octetsEcrits = 0L;
+	private boolean ferme = false;
+
+	/** Constructeur **/
+	SortieCaptureWav(Path fichier, int tailleBloc) throws IOException {
+		this.fichier = fichier;
+		final Path parent = fichier.toAbsolutePath().getParent();
+		if (parent != null) Files.createDirectories(parent);
+		this.sortie = new BufferedOutputStream(Files.newOutputStream(fichier), 1 << 16);
+		this.sortie.write(new byte[TAILLE_EN_TETE]); // réservé, écrit à la fermeture
+		this.cadence = new Cadence(tailleBloc);
+		System.out.println("Capture audio dans " + fichier.toAbsolutePath());
+	}
+
+	/** Getters **/
+	@Override public String getNom() { return "wav (" + fichier + ")"; }
+	long getOctetsEcrits() { return octetsEcrits; }
+
+	/** Autres méthodes **/
+	@Override
+	public void ecrire(byte[] octets, int longueur) {
+		try {
+			sortie.write(octets, 0, longueur);
+			octetsEcrits += longueur;
+		} catch (IOException e) {
+			System.err.println("[ERREUR] Capture audio : " + e.getMessage());
+		}
+		cadence.attendre();
+	}
+
+	@Override
+	public synchronized void close() {
+		if (ferme) return;
+		ferme = true;
+		try {
+			sortie.close();
+			try (RandomAccessFile raf = new RandomAccessFile(fichier.toFile(), "rw")) { raf.write(enTete(octetsEcrits)); }
+		} catch (IOException e) {
+			System.err.println("[ERREUR] Finalisation de la capture audio " + fichier + " : " + e.getMessage());
+		}
+	}
+
+	private static byte[] enTete(long tailleDonnees) {
+		final int canaux = Mixeur.FORMAT.getChannels(), frequence = (int) Mixeur.FREQUENCE, tailleTrame = Mixeur.FORMAT.getFrameSize();
+		final int donnees = (int) Math.min(tailleDonnees, Integer.MAX_VALUE - TAILLE_EN_TETE);
+		final byte[] b = new byte[TAILLE_EN_TETE];
+		ecrireTexte(b, 0, "RIFF");
+		ecrireEntier(b, 4, 36 + donnees, 4);
+		ecrireTexte(b, 8, "WAVE");
+		ecrireTexte(b, 12, "fmt ");
+		ecrireEntier(b, 16, 16, 4); // taille du bloc fmt
+		ecrireEntier(b, 20, 1, 2); // PCM
+		ecrireEntier(b, 22, canaux, 2);
+		ecrireEntier(b, 24, frequence, 4);
+		ecrireEntier(b, 28, frequence * tailleTrame, 4); // octets par seconde
+		ecrireEntier(b, 32, tailleTrame, 2);
+		ecrireEntier(b, 34, Mixeur.FORMAT.getSampleSizeInBits(), 2);
+		ecrireTexte(b, 36, "data");
+		ecrireEntier(b, 40, donnees, 4);
+		return b;
+	}
+
+	private static void ecrireTexte(byte[] b, int pos, String texte) {
+		for (int i = 0; i < texte.length(); i++) b[pos + i] = (byte) texte.charAt(i);
+	}
+
+	private static void ecrireEntier(byte[] b, int pos, int valeur, int nbOctets) { // little-endian
+		for (int i = 0; i < nbOctets; i++) b[pos + i] = (byte) (valeur >>> (8 * i));
+	}
+}
\ No newline at end of file
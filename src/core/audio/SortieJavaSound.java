@@ -0,0 +1,61 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+import core.Config;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Sortie sur la carte son : une seule SourceDataLine, dont le tampon ({@link Config#BLOCS_LIGNE_AUDIO} blocs) fixe la latence.
+ */
+final class SortieJavaSound implements SortieAudio {
+
+	private final SourceDataLine ligne;
+
+	/** Méthodes static **/
+	/** null si aucune sortie audio n'est disponible **/
+	static SortieJavaSound ouvrir(int tailleBloc) {
+		try {
+			SourceDataLine ligne = AudioSystem.getSourceDataLine(Mixeur.FORMAT);
+			ligne.open(Mixeur.FORMAT, tailleBloc * Mixeur.FORMAT.getFrameSize() * Math.max(2, Config.BLOCS_LIGNE_AUDIO));
+			ligne.start();
+			return new SortieJavaSound(ligne);
+		} catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+			System.err.println("[AVERTISSEMENT] Aucune sortie audio disponible (" + e.getMessage() + ") -> son désactivé");
+			return null;
+		}
+	}
+
+	/** Constructeur **/
+	private SortieJavaSound(SourceDataLine ligne) { this.ligne = ligne; }
+
+	/** Getters **/
+	@Override public String getNom() { return "javasound"; }
+	@Override public int getCapacite() { return ligne.getBufferSize(); }
+	@Override public int getOctetsEnAttente() { return ligne.getBufferSize() - ligne.available(); }
+
+	/** Autres méthodes **/
+	@Override public void ecrire(byte[] octets, int longueur) { ligne.write(octets, 0, longueur); } // bloque tant que la ligne est pleine
+
+	@Override
+	public void close() {
+		ligne.stop();
+		ligne.flush();
+		ligne.close();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+/**
+ * Sortie sans périphérique : le mixeur reste inactif, les commandes de son sont ignorées et aucun échantillon
+ * n'est mixé (serveurs d'intégration continue, bancs de mesure).
+ */
+final class SortieNulle implements SortieAudio {
+
+	static final SortieNulle INSTANCE = new SortieNulle();
+
+	/** Constructeur **/
+	private SortieNulle() {}
+
+	/** Getters **/
+	@Override public String getNom() { return "nulle"; }
+	@Override public boolean estMuette() { return true; }
+
+	/** Autres méthodes **/
+	@Override public void ecrire(byte[] octets, int longueur) {}
+	@Override public void close() {}
+}
\ No newline at end of file
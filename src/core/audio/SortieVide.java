@@ -0,0 +1,38 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+/**
+ * Sortie sans périphérique mais active : le mixeur tourne, cadencé en temps réel, et les blocs mixés sont jetés.
+ * Musiques (décodage, cache PCM, fondus) et bruitages suivent le même chemin qu'avec une carte son
+ * (bancs d'endurance, serveurs sans carte son).
+ */
+final class SortieVide implements SortieAudio {
+
+	private final Cadence cadence;
+
+	/** Constructeur **/
+	SortieVide(int tailleBloc) {
+		this.cadence = new Cadence(tailleBloc);
+	}
+
+	/** Getters **/
+	@Override public String getNom() { return "vide"; }
+
+	/** Autres méthodes **/
+	@Override public void ecrire(byte[] octets, int longueur) { cadence.attendre(); }
+	@Override public void close() {}
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package audio;
+
+/**
+ * Voix du mixeur : lecture d'un son décodé avec son gain et son panoramique.
+ * Préallouée et manipulée uniquement par le thread du mixeur.
+ */
+final class Voix {
+
+	private PoolVoix pool;
+	private int position; // en trames
+	private long ordre; // numéro de démarrage (plus petit = plus ancienne)
+	private int priorite;
+	private float gainGauche, gainDroite;
+	private float cibleGauche, cibleDroite; // gains atteints à la fin du prochain bloc (ajustement progressif)
+	private boolean boucle;
+
+	/** Getters **/
+	boolean estActive() { return pool != null; }
+	PoolVoix getPool() { return pool; }
+	long getOrdre() { return ordre; }
+	int getPriorite() { return priorite; }
+	float getGain() { return Math.max(cibleGauche, cibleDroite); }
+
+	/** Autres méthodes **/
+	void demarrer(PoolVoix pool, float gain, float pan, boolean boucle, int priorite, long ordre) {
+		this.pool = pool;
+		this.position = 0;
+		this.ordre = ordre;
+		this.priorite = priorite;
+		this.boucle = boucle;
+		gainGauche = cibleGauche = Mixeur.gainGauche(gain, pan);
+		gainDroite = cibleDroite = Mixeur.gainDroite(gain, pan);
+	}
+
+	void ajuster(float gain, float pan) {
+		cibleGauche = Mixeur.gainGauche(gain, pan);
+		cibleDroite = Mixeur.gainDroite(gain, pan);
+	}
+
+	void arreter() { pool = null; }
+
+	/** Ajoute nbTrames trames de la voix au bloc (stéréo entrelacé), la voix s'arrête d'elle-même en fin de son **/
+	void mixer(float[] bloc, int nbTrames) {
+		final Echantillons son = pool.getSon();
+		final short[] pcm = son.pcm();
+		final int total = son.getNbTrames();
+		final float pasGauche = (cibleGauche - gainGauche) / nbTrames, pasDroite = (cibleDroite - gainDroite) / nbTrames;
+		float g = gainGauche, d = gainDroite;
+		gainGauche = cibleGauche;
+		gainDroite = cibleDroite;
+		for (int t = 0; t < nbTrames; t++) {
+			if (position >= total) {
+				if (!boucle || total == 0) { pool = null; return; }
+				position = 0;
+			}
+			final int k = position++ * 2;
+			bloc[t * 2] += pcm[k] * g;
+			bloc[t * 2 + 1] += pcm[k + 1] * d;
+			g += pasGauche;
+			d += pasDroite;
+		}
+	}
+}
\ No newline at end of file
@@ -22,7 +22,7 @@ import java.util.Objects;
 public final class Event_TP extends Event {
 
 	private final int xDst, yDst;
-	private final Carte carteDst;
+	private Carte carteDst; // non final : redirigé vers la nouvelle instance lors d'un rechargement à chaud de la carte
 
 	/** Méthodes static **/
 	private static void validerArguments(int xCaseDst, int yCaseDst, Carte carteDst) {
@@ -46,6 +46,11 @@ public final class Event_TP extends Event {
 	public Carte getCarteDst() { return carteDst; }
 
 	/** Autres méthodes **/
+	public void redirigerVers(Carte nouvelleCarteDst) { // nouvelle version de la même carte (rechargement à chaud)
+		validerArguments(xDst / Config.TAILLE_CASES, yDst / Config.TAILLE_CASES, nouvelleCarteDst);
+		carteDst = nouvelleCarteDst;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -0,0 +1,206 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Chien de garde du thread de jeu : détecte les sections (tick, frame) qui dépassent leur budget
+ * et, tant que le dépassement dure, échantillonne la pile du thread de jeu (~1 kHz).
+ * À la fin du dépassement, il affiche un résumé des piles repliées (folded stacks) les plus fréquentes,
+ * qui attribue l'arrêt (téléportation, changement de musique, rafale d'affichages console...),
+ * et ajoute toutes les piles à arrets-&lt;date&gt;.folded (format de flamegraph.pl) dans le dossier perf.
+ *
+ * Conçu pour rester actif en production : hors dépassement, le thread de jeu n'écrit que deux champs volatile par section
+ * et le chien de garde se réveille au plus une fois par section ; les échantillons (qui passent par un safepoint) sont bornés
+ * en nombre et en profondeur, et les rapports sont espacés d'au moins {@link #INTERVALLE_RAPPORTS_NS} (dépassements suivants comptés seulement).
+ */
+public final class ChienDeGarde implements AutoCloseable {
+
+	public static final String TICK = "tick", FRAME = "frame";
+	private static final long PERIODE_ECHANTILLON_NS = 1_000_000L; // ~1 kHz pendant un dépassement
+	private static final long PERIODE_REPOS_NS = 20_000_000L; // thread de jeu au repos : vérification toutes les 20 ms
+	private static final long INTERVALLE_RAPPORTS_NS = 5_000_000_000L; // au plus un rapport détaillé toutes les 5 s
+	private static final int ECHANTILLONS_MAX = 2000; // par dépassement (~2 s)
+	private static final int PROFONDEUR_MAX = 64; // cadres de pile par échantillon
+	private static final int NB_PILES_RAPPORT = 5, CADRES_RAPPORT = 6;
+	private static final DateTimeFormatter FORMAT_FICHIER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final long budgetNs;
+	private final String dossier; // vide : pas de fichier .folded
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final Map<String, Integer> piles = new HashMap<>(); // pile repliée -> nombre d'échantillons (thread du chien de garde uniquement)
+	private Path fichier;
+	private Thread cible, thread;
+	private volatile boolean actif;
+
+	// --- Écrits par le thread de jeu ---
+	private volatile long debut = 0L; // début de la section en cours (0 : au repos)
+	private volatile String section = TICK;
+	private volatile long dernierDebut, derniereDuree; // dernière section terminée
+
+	/** Constructeur **/
+	/**
+	 * @param budgetMs durée au-delà de laquelle une section est échantillonnée (0 ou moins : désactivé)
+	 * @param dossier dossier du fichier .folded (vide : rapport console seulement)
+	 */
+	public ChienDeGarde(int budgetMs, String dossier) {
+		this.budgetNs = Math.max(0, budgetMs) * 1_000_000L;
+		this.dossier = Objects.requireNonNull(dossier, "Dossier null");
+	}
+
+	/** Getters **/
+	public boolean estActif() { return actif; }
+
+	/** Autres méthodes **/
+	/** Commence la surveillance du thread (le thread de jeu appelant), sans effet si le budget est nul ou si elle est déjà en cours **/
+	public synchronized void demarrer(Thread cible) {
+		if (budgetNs == 0 || thread != null) return;
+		this.cible = Objects.requireNonNull(cible, "Thread cible null");
+		actif = true;
+		thread = new Thread(this::surveiller, "ChienDeGarde");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	// --- Appelées par le thread de jeu (sans allocation) ---
+	public void debut(String section) {
+		this.section = section;
+		debut = System.nanoTime();
+	}
+
+	public void fin() {
+		final long d = debut;
+		derniereDuree = System.nanoTime() - d;
+		dernierDebut = d;
+		debut = 0L;
+	}
+
+	private void surveiller() {
+		long dernierRapport = System.nanoTime() - INTERVALLE_RAPPORTS_NS, nbIgnores = 0;
+		try {
+			while (actif) {
+				final long d = debut;
+				if (d == 0L) { LockSupport.parkNanos(PERIODE_REPOS_NS); continue; }
+				final long reste = d + budgetNs - System.nanoTime();
+				if (reste > 0) { LockSupport.parkNanos(reste); continue; } // réveil à l'échéance de la section en cours
+				if (debut != d) continue; // section terminée entre-temps
+
+				final String nom = section;
+				final boolean detaille = System.nanoTime() - dernierRapport >= INTERVALLE_RAPPORTS_NS;
+				int nbEchantillons = 0;
+				while (debut == d && actif) {
+					if (detaille && nbEchantillons < ECHANTILLONS_MAX && echantillonner(nom)) nbEchantillons++;
+					LockSupport.parkNanos(PERIODE_ECHANTILLON_NS);
+				}
+				final long duree = (dernierDebut == d) ? derniereDuree : System.nanoTime() - d; // approximation si la section suivante a déjà commencé
+
+				if (!detaille) { nbIgnores++; continue; }
+				rapporter(nom, duree, nbEchantillons, nbIgnores);
+				dernierRapport = System.nanoTime();
+				nbIgnores = 0;
+			}
+		} catch (Throwable t) { // ne doit jamais gêner le jeu
+			System.err.println("[AVERTISSEMENT] Chien de garde arrêté : " + t);
+		}
+	}
+
+	/** Ajoute la pile actuelle du thread de jeu (de la racine à la feuille, état du thread en dernier s'il n'est pas RUNNABLE) **/
+	private boolean echantillonner(String nom) {
+		final ThreadInfo info = threads.getThreadInfo(cible.threadId(), PROFONDEUR_MAX);
+		if (info == null) return false; // thread terminé
+		final StackTraceElement[] cadres = info.getStackTrace();
+		final StringBuilder sb = new StringBuilder(cadres.length * 40);
+		sb.append(nom);
+		if (cadres.length == PROFONDEUR_MAX) sb.append(";[tronquée]");
+		for (int i = cadres.length - 1; i >= 0; i--) sb.append(';').append(cadres[i].getClassName()).append('.').append(cadres[i].getMethodName());
+		if (info.getThreadState() != Thread.State.RUNNABLE) sb.append(";[").append(info.getThreadState()).append(']');
+		piles.merge(sb.toString(), 1, Integer::sum);
+		return true;
+	}
+
+	private void rapporter(String nom, long duree, int nbEchantillons, long nbIgnores) {
+		final List<Map.Entry<String, Integer>> tri = new ArrayList<>(piles.entrySet());
+		tri.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+		final StringBuilder sb = new StringBuilder(1024);
+		sb.append(String.format(Locale.ROOT, "[AVERTISSEMENT] %s de %.1f ms (budget %d ms) : %d échantillons", nom, duree / 1e6, budgetNs / 1_000_000L, nbEchantillons));
+		if (nbIgnores > 0) sb.append(String.format(Locale.ROOT, " (+ %d dépassements non détaillés depuis le rapport précédent)", nbIgnores));
+		for (int i = 0; i < Math.min(NB_PILES_RAPPORT, tri.size()); i++) {
+			final Map.Entry<String, Integer> e = tri.get(i);
+			sb.append(String.format(Locale.ROOT, "%n  %5.1f %%  %s", 100.0 * e.getValue() / nbEchantillons, abreger(e.getKey())));
+		}
+		System.err.println(sb);
+
+		if (!dossier.isBlank() && !piles.isEmpty()) ecrire();
+		piles.clear();
+	}
+
+	/** Garde les {@link #CADRES_RAPPORT} cadres les plus proches de la feuille, sans les noms de paquets **/
+	private static String abreger(String pile) {
+		final String[] cadres = pile.split(";");
+		final StringBuilder sb = new StringBuilder(256);
+		if (cadres.length > CADRES_RAPPORT) sb.append("...");
+		for (int i = Math.max(0, cadres.length - CADRES_RAPPORT); i < cadres.length; i++) {
+			if (!sb.isEmpty()) sb.append(';');
+			final int methode = cadres[i].lastIndexOf('.');
+			sb.append(cadres[i], (methode > 0) ? cadres[i].lastIndexOf('.', methode - 1) + 1 : 0, cadres[i].length());
+		}
+		return sb.toString();
+	}
+
+	/** Ajoute les piles du dépassement au fichier .folded de la session (une ligne par pile : "pile nombre") **/
+	private void ecrire() {
+		try {
+			if (fichier == null) {
+				Files.createDirectories(Path.of(dossier));
+				fichier = Path.of(dossier).resolve("arrets-" + LocalDateTime.now().format(FORMAT_FICHIER) + ".folded");
+			}
+			try (Writer w = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				for (Map.Entry<String, Integer> e : piles.entrySet()) w.write(e.getKey().replace(' ', '_') + " " + e.getValue() + "\n");
+			}
+		} catch (IOException e) {
+			System.err.println("[AVERTISSEMENT] Écriture des piles du chien de garde impossible : " + e.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		actif = false;
+		if (thread != null) {
+			LockSupport.unpark(thread);
+			try { thread.join(100); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+			thread = null;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Événements JFR du moteur (ticks, frames, events des cartes, téléportations, chargements des ressources),
+ * enregistrés seulement si un enregistrement est en cours (ex : java -XX:StartFlightRecording=filename=jeu.jfr ...).
+ *
+ * Sans enregistrement, {@code shouldCommit()} renvoie false et l'objet événement, qui ne s'échappe pas,
+ * est éliminé par le JIT : les champs ne sont remplis (et les noms calculés) qu'à l'intérieur de ce test.
+ */
+public final class EvenementsJeu {
+
+	private EvenementsJeu() { throw new AssertionError("La classe EvenementsJeu ne doit pas être instanciée."); } // Empêche toute instanciation
+
+	@Name("slayers.Tick")
+	@Label("Tick")
+	@Category({ "Slayers", "Boucle de jeu" })
+	@Description("Update logique (updateUPS)")
+	@StackTrace(false)
+	public static final class Tick extends Event {
+		@Label("Carte") public String carte;
+	}
+
+	@Name("slayers.Frame")
+	@Label("Frame")
+	@Category({ "Slayers", "Boucle de jeu" })
+	@Description("Frame rendue puis présentée, avec le coût de chaque couche du chipset")
+	@StackTrace(false)
+	public static final class Frame extends Event {
+		@Label("Carte") public String carte;
+		@Label("Rendu") @Timespan(Timespan.NANOSECONDS) public long rendu;
+		@Label("Présentation") @Timespan(Timespan.NANOSECONDS) public long presentation;
+		@Label("Couche 0") @Timespan(Timespan.NANOSECONDS) public long couche0;
+		@Label("Couche 1") @Timespan(Timespan.NANOSECONDS) public long couche1;
+		@Label("Couche 2") @Timespan(Timespan.NANOSECONDS) public long couche2;
+		@Label("Tuiles dessinées") public int tuilesDessinees;
+		@Label("Updates depuis la frame précédente") public int nbUpdates;
+	}
+
+	@Name("slayers.ExecutionEvent")
+	@Label("Exécution d'un event")
+	@Category({ "Slayers", "Events" })
+	@Description("Event d'une carte exécuté par le héros (executeEvent)")
+	@StackTrace(false)
+	public static final class ExecutionEvent extends Event {
+		@Label("Type") public String type;
+		@Label("Carte") public String carte;
+	}
+
+	@Name("slayers.Teleportation")
+	@Label("Téléportation")
+	@Category({ "Slayers", "Events" })
+	@Description("Changement de carte (executeEvent_TP), rendu forcé de la nouvelle carte compris")
+	@StackTrace(false)
+	public static final class Teleportation extends Event {
+		@Label("Carte source") public String source;
+		@Label("Carte destination") public String destination;
+		@Label("X destination") public int xDst;
+		@Label("Y destination") public int yDst;
+	}
+
+	@Name("slayers.Chargement")
+	@Label("Chargement de ressources")
+	@Category({ "Slayers", "Ressources" })
+	@Description("Étape de chargement (Charger*), initialisation des ressources comprise")
+	public static final class Chargement extends Event {
+		@Label("Étape") public String etape;
+		@Label("Éléments") public int nbElements;
+	}
+
+	/** Méthodes static **/
+	/** Exécute une étape de chargement dans un événement {@link Chargement} (nombre d'éléments : taille de la Map ou Collection obtenue) **/
+	public static <T> T chargement(String etape, Supplier<T> chargeur) {
+		final Chargement e = new Chargement();
+		e.begin();
+		final T resultat = chargeur.get();
+		e.end();
+		if (e.shouldCommit()) {
+			e.etape = etape;
+			if (resultat instanceof Map<?, ?> map) e.nbElements = map.size();
+			else if (resultat instanceof Collection<?> collection) e.nbElements = collection.size();
+			else e.nbElements = (resultat == null) ? 0 : 1;
+			e.commit();
+		}
+		return resultat;
+	}
+
+	public static void chargement(String etape, Runnable chargeur) {
+		chargement(etape, () -> { chargeur.run(); return null; });
+	}
+}
\ No newline at end of file
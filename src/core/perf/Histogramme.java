@@ -0,0 +1,117 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import java.util.Arrays;
+
+/**
+ * Histogramme de durées à seaux logarithmiques (principe de HdrHistogram) : résolution de 1 ns jusqu'à
+ * 2 * {@link #SOUS_SEAUX} ns, puis {@link #SOUS_SEAUX} seaux linéaires par puissance de 2, soit une erreur
+ * relative inférieure à 1 / {@link #SOUS_SEAUX} (< 0,8 %) sur toute la plage.
+ *
+ * Tableau de compteurs alloué une fois pour toutes : enregistrer une valeur ne fait qu'incrémenter un compteur.
+ * Classe non thread-safe : un seul thread enregistre et lit (le thread de jeu).
+ */
+public final class Histogramme {
+
+	private static final int PRECISION = 7; // log2 du nombre de sous-seaux
+	public static final int SOUS_SEAUX = 1 << PRECISION; // 128
+	public static final long VALEUR_MAX = (1L << 40) - 1; // ~18 min en ns, au-delà : comptée dans le dernier seau
+	private static final int NB_SEAUX = indice(VALEUR_MAX) + 1;
+
+	private final String nom;
+	private final long[] compteurs = new long[NB_SEAUX];
+	private long nb = 0L, somme = 0L, min = Long.MAX_VALUE, max = 0L;
+
+	/** Méthodes static **/
+	/** Indice du seau contenant la valeur (valeur dans [0, VALEUR_MAX]) **/
+	static int indice(long valeur) {
+		if (valeur < 2 * SOUS_SEAUX) return (int) valeur; // zone linéaire, résolution 1
+		final int decalage = (63 - Long.numberOfLeadingZeros(valeur)) - PRECISION;
+		return decalage * SOUS_SEAUX + (int) (valeur >>> decalage);
+	}
+
+	/** Plus petite valeur du seau **/
+	static long borneBasse(int indice) {
+		final int decalage = Math.max(0, indice / SOUS_SEAUX - 1);
+		return (long) (indice - decalage * SOUS_SEAUX) << decalage;
+	}
+
+	/** Plus grande valeur du seau **/
+	static long borneHaute(int indice) {
+		final int decalage = Math.max(0, indice / SOUS_SEAUX - 1);
+		return borneBasse(indice) + (1L << decalage) - 1;
+	}
+
+	/** Constructeur **/
+	public Histogramme(String nom) {
+		this.nom = nom;
+	}
+
+	/** Getters **/
+	public String getNom() { return nom; }
+	public long getNb() { return nb; }
+	public long getMin() { return (nb == 0) ? 0L : min; }
+	public long getMax() { return max; }
+	public double getMoyenne() { return (nb == 0) ? 0 : (double) somme / nb; }
+	public int getNbSeaux() { return NB_SEAUX; }
+	public long getCompteur(int indice) { return compteurs[indice]; }
+	public long getBorneBasse(int indice) { return borneBasse(indice); }
+	public long getBorneHaute(int indice) { return borneHaute(indice); }
+
+	/**
+	 * Valeur (borne haute de son seau, plafonnée au maximum observé) sous laquelle se trouvent {@code percentile} %
+	 * des valeurs enregistrées, 0 si l'histogramme est vide
+	 */
+	public long getPercentile(double percentile) {
+		if (nb == 0) return 0L;
+		final long rang = Math.max(1L, (long) Math.ceil(Math.clamp(percentile, 0.0, 100.0) / 100.0 * nb));
+		long cumul = 0L;
+		for (int i = 0; i < NB_SEAUX; i++) {
+			cumul += compteurs[i];
+			if (cumul >= rang) return Math.min(borneHaute(i), max);
+		}
+		return max;
+	}
+
+	/** Autres méthodes **/
+	/** Enregistre une durée en nanosecondes (sans allocation), les valeurs négatives sont ignorées **/
+	public void enregistrer(long nanos) {
+		if (nanos < 0) return;
+		compteurs[indice(Math.min(nanos, VALEUR_MAX))]++;
+		nb++;
+		somme += nanos;
+		if (nanos < min) min = nanos;
+		if (nanos > max) max = nanos;
+	}
+
+	/** Copie de l'histogramme à cet instant (export hors du thread qui l'alimente) **/
+	public Histogramme copie() {
+		final Histogramme copie = new Histogramme(nom);
+		System.arraycopy(compteurs, 0, copie.compteurs, 0, NB_SEAUX);
+		copie.nb = nb;
+		copie.somme = somme;
+		copie.min = min;
+		copie.max = max;
+		return copie;
+	}
+
+	public void reinitialiser() {
+		Arrays.fill(compteurs, 0L);
+		nb = somme = max = 0L;
+		min = Long.MAX_VALUE;
+	}
+}
\ No newline at end of file
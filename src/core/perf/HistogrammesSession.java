@@ -0,0 +1,146 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Histogrammes tenus pendant toute la session (intervalles entre frames, durées des ticks et du rendu,
+ * latences entrée → écran par boucle de jeu et pipeline de rendu),
+ * exportables à la fermeture ou à la demande pour comparer machines et versions :
+ * un fichier JSON (percentiles et seaux non vides) et un fichier CSV (seaux non vides et pourcentage cumulé).
+ */
+public final class HistogrammesSession {
+
+	private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+	private static final String[] NOMS_PERCENTILES = {"p50", "p90", "p99", "p99_9"};
+	private static final DateTimeFormatter FORMAT_FICHIER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+	/** Contenu du fichier JSON (durées en ns ; seaux non vides : [borne basse, borne haute, nombre]) **/
+	private record SessionJson(String debut, String fin, String boucle, String java, String os, int processeurs,
+		@SerializedName("memoire_max") long memoireMax, String unite, Map<String, HistogrammeJson> histogrammes) {}
+	private record HistogrammeJson(long nb, long min, double moyenne, long p50, long p90, long p99,
+		@SerializedName("p99_9") long p999, long max, List<long[]> seaux) {}
+
+	private final Histogramme intervalles, ticks, rendus;
+	private final List<Histogramme> histogrammes; // intervalles, ticks, rendus + latences, ajoutées à la demande
+	private final LocalDateTime debut;
+
+	/** Constructeur **/
+	public HistogrammesSession() {
+		this(List.of(new Histogramme("intervalles_frame"), new Histogramme("ticks"), new Histogramme("rendus")), LocalDateTime.now());
+	}
+
+	private HistogrammesSession(List<Histogramme> histogrammes, LocalDateTime debut) {
+		this.histogrammes = new ArrayList<>(histogrammes);
+		this.intervalles = histogrammes.get(0);
+		this.ticks = histogrammes.get(1);
+		this.rendus = histogrammes.get(2);
+		this.debut = debut;
+	}
+
+	/** Getters **/
+	public Histogramme getIntervalles() { return intervalles; }
+	public Histogramme getTicks() { return ticks; }
+	public Histogramme getRendus() { return rendus; }
+	public List<Histogramme> getHistogrammes() { return Collections.unmodifiableList(histogrammes); }
+
+	/** Histogramme des latences entrée → écran pour cette boucle de jeu et ce pipeline de rendu (créé au premier appel) **/
+	public Histogramme getLatence(String boucle, String pipeline) {
+		final String nom = "latence_entree_" + boucle + "_" + pipeline;
+		for (Histogramme histo : histogrammes) if (histo.getNom().equals(nom)) return histo;
+		final Histogramme histo = new Histogramme(nom);
+		histogrammes.add(histo);
+		return histo;
+	}
+
+	/** Autres méthodes **/
+	/** Copie de tous les histogrammes à cet instant : à exporter hors du thread de jeu, qui continue d'alimenter l'original **/
+	public HistogrammesSession instantane() {
+		final List<Histogramme> copies = new ArrayList<>(histogrammes.size());
+		for (Histogramme histo : histogrammes) copies.add(histo.copie());
+		return new HistogrammesSession(copies, debut);
+	}
+
+	/**
+	 * Écrit session-&lt;date&gt;.json et session-&lt;date&gt;.csv dans le dossier (créé si besoin).
+	 * @param boucle boucle de jeu utilisée (jouer ou jouer2), reportée dans le JSON
+	 * @return le fichier JSON écrit
+	 */
+	public Path exporter(Path dossier, String boucle) throws IOException {
+		Files.createDirectories(dossier);
+		final String nom = "session-" + LocalDateTime.now().format(FORMAT_FICHIER);
+		final Path json = dossier.resolve(nom + ".json");
+		try (Writer w = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) { ecrireJson(w, boucle); }
+		try (Writer w = Files.newBufferedWriter(dossier.resolve(nom + ".csv"), StandardCharsets.UTF_8)) { ecrireCsv(w); }
+		return json;
+	}
+
+	private void ecrireJson(Writer w, String boucle) throws IOException {
+		final Map<String, HistogrammeJson> contenus = new LinkedHashMap<>();
+		for (Histogramme histo : histogrammes) {
+			final List<long[]> seaux = new ArrayList<>();
+			for (int i = 0; i < histo.getNbSeaux(); i++) {
+				if (histo.getCompteur(i) != 0) seaux.add(new long[] { histo.getBorneBasse(i), histo.getBorneHaute(i), histo.getCompteur(i) });
+			}
+			contenus.put(histo.getNom(), new HistogrammeJson(histo.getNb(), histo.getMin(), Math.round(histo.getMoyenne() * 10.0) / 10.0,
+				histo.getPercentile(PERCENTILES[0]), histo.getPercentile(PERCENTILES[1]), histo.getPercentile(PERCENTILES[2]), histo.getPercentile(PERCENTILES[3]), histo.getMax(), seaux));
+		}
+		final Runtime rt = Runtime.getRuntime();
+		GSON.toJson(new SessionJson(debut.toString(), LocalDateTime.now().toString(), boucle, System.getProperty("java.version"),
+			System.getProperty("os.name") + " " + System.getProperty("os.arch"), rt.availableProcessors(), rt.maxMemory(), "ns", contenus), w);
+	}
+
+	private void ecrireCsv(Writer w) throws IOException {
+		w.write("histogramme;borne_basse_ns;borne_haute_ns;nb;cumul_pct\n");
+		for (Histogramme histo : histogrammes) {
+			long cumul = 0L;
+			for (int i = 0; i < histo.getNbSeaux(); i++) {
+				final long nb = histo.getCompteur(i);
+				if (nb == 0) continue;
+				cumul += nb;
+				w.write(String.format(Locale.ROOT, "%s;%d;%d;%d;%.4f\n", histo.getNom(), histo.getBorneBasse(i), histo.getBorneHaute(i), nb, 100.0 * cumul / histo.getNb()));
+			}
+		}
+	}
+
+	/** Percentiles de chaque histogramme, en ms **/
+	public String rapport() {
+		StringBuilder sb = new StringBuilder(256);
+		for (Histogramme histo : histogrammes) {
+			sb.append(String.format(Locale.ROOT, "%-18s %8d mesures", histo.getNom(), histo.getNb()));
+			for (int p = 0; p < PERCENTILES.length; p++) sb.append(String.format(Locale.ROOT, "  %s %.2f", NOMS_PERCENTILES[p], histo.getPercentile(PERCENTILES[p]) / 1e6));
+			sb.append(String.format(Locale.ROOT, "  max %.2f ms%n", histo.getMax() / 1e6));
+		}
+		return sb.toString();
+	}
+}
\ No newline at end of file
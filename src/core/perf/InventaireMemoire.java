@@ -0,0 +1,276 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import audio.CachePCM;
+import audio.PisteDecodee;
+import core.Bruitage;
+import core.Carte;
+import core.Chipset;
+import core.EnsembleEvents;
+import core.Fichiers;
+import core.Musique;
+import core.Skin;
+import core.SourceSonore;
+import core.Util;
+import events.Event;
+import events.Event_JM;
+import events.Event_TP;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inventaire de la mémoire occupée par chaque ressource chargée : tuiles décodées des chipsets, régions des skins,
+ * images d'affichage, couches/murs/events/entités des cartes, échantillons des bruitages, anneau PCM et piste en cache des musiques.
+ *
+ * Les images sont comptées par raster (DataBuffer) : un raster partagé entre plusieurs images (getSubimage)
+ * n'est compté qu'une fois, les images suivantes sont reportées en octets partagés.
+ * Sont signalées les ressources en double (même fichier, par empreinte, sous deux noms)
+ * et les ressources inutilisées (référencées ni par une carte ni par le moteur, cartes inaccessibles depuis les cartes de départ).
+ *
+ * Instantané établi à la demande (touches F4 et F2) sur le thread de jeu, sans lire de fichier : les doublons, qui demandent
+ * les empreintes des fichiers, sont recherchés ensuite par {@link #rechercherDoublons}, hors du thread de jeu.
+ */
+public final class InventaireMemoire {
+
+	public static final String CHIPSET = "chipset", SKIN = "skin", AFFICHAGE = "affichage", CARTE = "carte", BRUITAGE = "bruitage", MUSIQUE = "musique";
+	public static final List<String> CATEGORIES = List.of(CHIPSET, SKIN, AFFICHAGE, CARTE, BRUITAGE, MUSIQUE);
+	private static final int OCTETS_PAR_EVENT = 64; // estimation : entrée de la map, position, listes des pages et event
+	private static final DateTimeFormatter FORMAT_FICHIER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	/**
+	 * Une ressource : octets comptés (rasters déjà comptés exclus) et octets partagés avec une ressource déjà comptée.
+	 * doublonDe : "catégorie nom" de la première ressource au contenu identique, null sinon.
+	 */
+	public record Entree(String categorie, String nom, long octets, long octetsPartages, boolean utilise, String doublonDe, String detail) {
+		public boolean estSignalee() { return !utilise || doublonDe != null; }
+	}
+
+	private final List<Entree> entrees = new ArrayList<>();
+	private final List<String> chemins = new ArrayList<>(); // fichier source de chaque entrée (null : sans fichier), pour les doublons
+	private final Set<DataBuffer> rastersComptes = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Map<String, String> empreintes = new HashMap<>(); // empreinte du fichier -> première ressource lue
+	private final Set<Object> referencees = new HashSet<>();
+	private final Set<String> cartesAccessibles = new HashSet<>();
+	private final LocalDateTime date = LocalDateTime.now();
+
+	/** Méthodes static **/
+	/**
+	 * @param cartesDepart cartes d'où partent les téléportations (départ du héros, carte actuelle), null ignorées
+	 * @param utilisesParLeMoteur ressources utilisées directement par le code (skin du héros, bruitages, affichages), null ignorées
+	 */
+	public static InventaireMemoire etablir(Map<String, Chipset> chipsets, Map<String, Skin> skins, Map<String, BufferedImage> affichages,
+		Map<String, Carte> cartes, Map<String, Bruitage> bruitages, Map<String, Musique> musiques,
+		Collection<Carte> cartesDepart, Collection<?> utilisesParLeMoteur) {
+
+		final InventaireMemoire inventaire = new InventaireMemoire();
+		for (Object ressource : utilisesParLeMoteur) if (ressource != null) inventaire.referencees.add(ressource);
+		cartes.values().forEach(inventaire::referencer);
+		inventaire.parcourirTeleportations(cartesDepart);
+
+		new TreeMap<>(chipsets).forEach((nom, chipset) -> inventaire.chipset(chipset));
+		new TreeMap<>(skins).forEach((nom, skin) -> inventaire.images(SKIN, nom, skin.getRegions(), inventaire.estReferencee(skin), skin.getChemin(), ""));
+		new TreeMap<>(affichages).forEach((nom, image) -> inventaire.images(AFFICHAGE, nom, new BufferedImage[] {image}, inventaire.estReferencee(image), null, ""));
+		new TreeMap<>(cartes).forEach((nom, carte) -> inventaire.carte(carte));
+		new TreeMap<>(bruitages).forEach((nom, bruitage) -> inventaire.bruitage(bruitage));
+		new TreeMap<>(musiques).forEach((nom, musique) -> inventaire.musique(musique));
+		return inventaire;
+	}
+
+	private static String ko(long octets) { return (octets + 512) / 1024 + " Ko"; }
+
+	/** Constructeur **/
+	private InventaireMemoire() {}
+
+	/** Getters **/
+	public List<Entree> getEntrees() { return Collections.unmodifiableList(entrees); }
+	public LocalDateTime getDate() { return date; }
+	public long getTotal() { return entrees.stream().mapToLong(Entree::octets).sum(); }
+	public long getTotal(String categorie) { return entrees.stream().filter(e -> e.categorie().equals(categorie)).mapToLong(Entree::octets).sum(); }
+	public List<Entree> getSignalees() { return entrees.stream().filter(Entree::estSignalee).toList(); }
+	public List<Entree> getPlusGrosses(int nb) { return entrees.stream().sorted(Comparator.comparingLong(Entree::octets).reversed()).limit(nb).toList(); }
+
+	/** Autres méthodes **/
+	/** Signale les ressources en double en calculant les empreintes de leurs fichiers : lit les fichiers, hors du thread de jeu **/
+	public void rechercherDoublons() {
+		for (int k = 0; k < entrees.size(); k++) {
+			final Entree e = entrees.get(k);
+			final String doublonDe = doublon(e.categorie(), e.nom(), chemins.get(k));
+			if (doublonDe != null) entrees.set(k, new Entree(e.categorie(), e.nom(), e.octets(), e.octetsPartages(), e.utilise(), doublonDe, e.detail()));
+		}
+	}
+
+	private boolean estReferencee(Object ressource) { return referencees.contains(ressource); }
+
+	private void ajouter(Entree entree, String chemin) {
+		entrees.add(entree);
+		chemins.add(chemin);
+	}
+
+	/** Chipset, musique, sources sonores, skins des entités et musiques jouées par les events de la carte **/
+	private void referencer(Carte carte) {
+		referencees.add(carte.getChipset());
+		if (carte.getMusique() != null) referencees.add(carte.getMusique());
+		for (SourceSonore source : carte.getSourcesSonores()) referencees.add(source.getBruitage());
+		referencees.addAll(carte.getEntites().getSkins());
+		for (EnsembleEvents ensemble : carte.getEvents().values()) {
+			for (List<Event> page : ensemble.getPageEvents()) {
+				for (Event ev : page) if (ev instanceof Event_JM jm) referencees.add(jm.getMusique());
+			}
+		}
+	}
+
+	/** Cartes accessibles depuis les cartes de départ en suivant les téléportations (par nom : survit au rechargement à chaud) **/
+	private void parcourirTeleportations(Collection<Carte> cartesDepart) {
+		final ArrayDeque<Carte> aVisiter = new ArrayDeque<>();
+		for (Carte carte : cartesDepart) if (carte != null && cartesAccessibles.add(carte.getNom())) aVisiter.add(carte);
+		while (!aVisiter.isEmpty()) {
+			for (EnsembleEvents ensemble : aVisiter.poll().getEvents().values()) {
+				for (List<Event> page : ensemble.getPageEvents()) {
+					for (Event ev : page) {
+						if (ev instanceof Event_TP tp && cartesAccessibles.add(tp.getCarteDst().getNom())) aVisiter.add(tp.getCarteDst());
+					}
+				}
+			}
+		}
+	}
+
+	/** Première ressource de même empreinte de fichier (null si aucune ou empreinte illisible) **/
+	private String doublon(String categorie, String nom, String chemin) {
+		if (chemin == null) return null;
+		try {
+			return empreintes.putIfAbsent(Fichiers.empreinte(chemin), categorie + " " + nom);
+		} catch (IOException e) {
+			System.err.println("[AVERTISSEMENT] Empreinte de " + chemin + " illisible : " + e.getMessage());
+			return null;
+		}
+	}
+
+	private void chipset(Chipset chipset) {
+		final BufferedImage[] tuiles = chipset.getTuilesDecodees();
+		if (tuiles == null) {
+			ajouter(new Entree(CHIPSET, chipset.getNom(), 0L, 0L, estReferencee(chipset), null, "non décodé (" + chipset.getNbTuiles() + " tuiles)"),
+				chipset.getChemin());
+		}
+		else images(CHIPSET, chipset.getNom(), tuiles, estReferencee(chipset), chipset.getChemin(), ", références " + chipset.getNbReferences());
+	}
+
+	/** Images comptées par raster : une image dont le raster est déjà compté (sous-image, ou image d'une autre ressource) est partagée **/
+	private void images(String categorie, String nom, BufferedImage[] images, boolean utilise, String chemin, String complement) {
+		long octets = 0L, partages = 0L;
+		int nbRasters = 0, nbPartagees = 0, nbSousImages = 0;
+		for (BufferedImage image : images) {
+			if (image == null) continue;
+			final long propre = (long) image.getWidth() * image.getHeight() * image.getColorModel().getPixelSize() / 8;
+			final long raster = Util.tailleMemoireImage(image); // raster entier (celui de l'image mère pour une sous-image)
+			if (raster > propre) nbSousImages++;
+			if (rastersComptes.add(image.getRaster().getDataBuffer())) {
+				octets += raster;
+				nbRasters++;
+			} else {
+				partages += propre;
+				nbPartagees++;
+			}
+		}
+		String detail = images.length + " images, " + nbRasters + " rasters";
+		if (nbSousImages == 0 && nbPartagees == 0) detail += " copiés";
+		if (nbSousImages > 0) detail += ", " + nbSousImages + " sous-images (getSubimage)";
+		if (nbPartagees > 0) detail += ", " + nbPartagees + " sur un raster déjà compté";
+		ajouter(new Entree(categorie, nom, octets, partages, utilise, null, detail + complement), chemin);
+	}
+
+	private void carte(Carte carte) {
+		final long couches = carte.getTailleMemoireCouches(), murs = carte.getTailleMemoireMurs(), entites = carte.getEntites().getTailleMemoire();
+		final long chemins = carte.getTailleMemoireChemins();
+		final int nbEvents = carte.getNbEvents();
+		final String detail = String.format(Locale.ROOT, "%dx%d, couches %s, murs %s, %d events, %d entités %s, chemins %s (estimation)",
+			carte.getLargeur(), carte.getHauteur(), ko(couches), ko(murs), nbEvents, carte.getEntites().getNb(), ko(entites), ko(chemins));
+		ajouter(new Entree(CARTE, carte.getNom(), couches + murs + entites + chemins + (long) nbEvents * OCTETS_PAR_EVENT, 0L,
+			cartesAccessibles.contains(carte.getNom()), null, detail), null);
+	}
+
+	private void bruitage(Bruitage bruitage) {
+		ajouter(new Entree(BRUITAGE, bruitage.getNom(), bruitage.getEchantillons().getTailleMemoire(), 0L, estReferencee(bruitage),
+			null, "polyphonie " + bruitage.getPolyphonie()), bruitage.getChemin());
+	}
+
+	/** Anneau de décodage et piste en cache (comptée seulement si elle est sur le tas, pas en fichier projeté) **/
+	private void musique(Musique musique) {
+		final long anneau = musique.getTailleMemoireAnneau();
+		final PisteDecodee piste = CachePCM.consulter(musique.getChemin());
+		String detail = "anneau " + ko(anneau) + ", ";
+		long octets = anneau;
+		if (piste == null) detail += "PCM non mis en cache";
+		else if (piste.estEnFichier()) detail += "PCM en cache " + ko(piste.getTailleMemoire()) + " (fichier projeté, hors tas)";
+		else { detail += "PCM en cache " + ko(piste.getTailleMemoire()); octets += piste.getTailleMemoire(); }
+		ajouter(new Entree(MUSIQUE, musique.getNom(), octets, 0L, estReferencee(musique), null, detail), musique.getChemin());
+	}
+
+	/** Totaux par catégorie, ressources signalées puis détail de chaque ressource **/
+	public String rapport() {
+		StringBuilder sb = new StringBuilder(4096);
+		sb.append(String.format(Locale.ROOT, "Mémoire des ressources : %s (%d ressources, %d signalées)%n", ko(getTotal()), entrees.size(), getSignalees().size()));
+		for (String categorie : CATEGORIES) sb.append(String.format(Locale.ROOT, "  %-10s %10s%n", categorie, ko(getTotal(categorie))));
+		for (Entree e : entrees) {
+			sb.append(String.format(Locale.ROOT, "  %-10s %-32s %10s", e.categorie(), e.nom(), ko(e.octets())));
+			if (e.octetsPartages() > 0) sb.append(" (+ ").append(ko(e.octetsPartages())).append(" partagés)");
+			sb.append("  ").append(e.detail());
+			if (!e.utilise()) sb.append("  [INUTILISÉ]");
+			if (e.doublonDe() != null) sb.append("  [DOUBLON de ").append(e.doublonDe()).append(']');
+			sb.append(System.lineSeparator());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Écrit memoire-&lt;date&gt;.csv dans le dossier (créé si besoin), une ligne par ressource.
+	 * @return le fichier écrit
+	 */
+	public Path exporter(Path dossier) throws IOException {
+		Files.createDirectories(dossier);
+		final Path csv = dossier.resolve("memoire-" + date.format(FORMAT_FICHIER) + ".csv");
+		try (Writer w = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+			w.write("categorie;nom;octets;octets_partages;utilise;doublon_de;detail\n");
+			for (Entree e : entrees) {
+				w.write(String.format(Locale.ROOT, "%s;%s;%d;%d;%b;%s;%s\n", e.categorie(), champ(e.nom()), e.octets(), e.octetsPartages(), e.utilise(),
+					(e.doublonDe() == null) ? "" : champ(e.doublonDe()), champ(e.detail())));
+			}
+		}
+		return csv;
+	}
+
+	private static String champ(String s) { return s.replace(';', ','); }
+}
\ No newline at end of file
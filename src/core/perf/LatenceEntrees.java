@@ -0,0 +1,75 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import core.Controles;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Latence entrée → écran : délai entre l'arrivée d'un appui de touche (callback AWT de {@link Controles})
+ * et la fin du {@code BufferStrategy.show()} de la première frame qui le reflète.
+ *
+ * Un appui est pris par le tick qui démarre après son arrivée ; la frame présentée après la fin de ce tick
+ * est la première à en montrer l'effet. Chaque latence est enregistrée dans l'histogramme de la session
+ * propre à la boucle de jeu et au pipeline de rendu en cours ({@link HistogrammesSession#getLatence}).
+ * Classe non thread-safe : thread de jeu uniquement, sans allocation.
+ */
+public final class LatenceEntrees {
+
+	private static final int CAPACITE = 32; // appuis en attente d'une frame (au-delà : ignorés)
+
+	private final long[] arrivees = new long[CAPACITE]; // [0, nbPris) : pris par un tick terminé, [nbPris, nb) : par le tick en cours
+	private int nb = 0, nbPris = 0;
+	private Histogramme histogramme; // null : latences non enregistrées (boucle de jeu pas encore lancée)
+
+	/** Méthodes static **/
+	/**
+	 * Nom court du pipeline de rendu Java2D, déduit de la configuration graphique (ex : XR, GLX, D3D, MTL, Win32)
+	 * et du mode de présentation de la BufferStrategy (flip : échange de pages, blit : copie)
+	 */
+	public static String nomPipeline(GraphicsConfiguration configuration, BufferStrategy bs) {
+		String nom = (configuration == null) ? "inconnu" : configuration.getClass().getSimpleName();
+		if (nom.endsWith("GraphicsConfig")) nom = nom.substring(0, nom.length() - "GraphicsConfig".length());
+		if (nom.isEmpty()) nom = "inconnu";
+		if (bs != null) nom += bs.getCapabilities().isPageFlipping() ? "-flip" : "-blit";
+		return nom;
+	}
+
+	/** Getters **/
+	public Histogramme getHistogramme() { return histogramme; }
+
+	/** Setters **/
+	public void setHistogramme(Histogramme histogramme) { this.histogramme = histogramme; }
+
+	/** Autres méthodes **/
+	/** Début d'un tick : prend les appuis arrivés depuis le tick précédent **/
+	public void debutTick(Controles controles) { nb = controles.prendreAppuis(arrivees, nb); }
+
+	/** Fin du tick : ses appuis seront reflétés par la prochaine frame présentée **/
+	public void finTick() { nbPris = nb; }
+
+	/** Frame présentée (fin de BufferStrategy.show()) : enregistre la latence des appuis pris par les ticks terminés **/
+	public void presentee(long finPresentation) {
+		if (nbPris == 0) return;
+		if (histogramme != null) {
+			for (int i = 0; i < nbPris; i++) histogramme.enregistrer(finPresentation - arrivees[i]);
+		}
+		System.arraycopy(arrivees, nbPris, arrivees, 0, nb - nbPris); // appuis d'un tick en cours (rendu appelé pendant un tick)
+		nb -= nbPris;
+		nbPris = 0;
+	}
+}
\ No newline at end of file
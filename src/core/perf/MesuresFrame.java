@@ -0,0 +1,195 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Mesures des dernières frames du jeu, enregistrées par le thread de jeu dans des tampons circulaires préalloués :
+ * intervalle entre deux frames, temps des updates (UPS), du rendu et de la présentation, coût de chaque couche,
+ * tuiles dessinées, collectes du GC et octets alloués par le thread de jeu, latence entrée → écran ({@link LatenceEntrees}).
+ * Intervalles, ticks et rendus alimentent aussi les histogrammes de toute la session ({@link HistogrammesSession}).
+ *
+ * L'enregistrement est permanent et sans allocation : afficher les mesures ({@link PanneauPerf}) ne change pas
+ * ce qui est mesuré. Le coût du panneau lui-même (temps et allocations) est mesuré à part et exclu des autres valeurs.
+ * Classe non thread-safe : enregistrement et lecture se font sur le thread de jeu.
+ */
+public final class MesuresFrame {
+
+	public static final int NB_FRAMES = 256; // historique (puissance de 2)
+	public static final int NB_COUCHES = 3;
+	private static final int MASQUE = NB_FRAMES - 1;
+
+	// tampons circulaires (indice = numéro de frame & MASQUE), durées en nanosecondes
+	private final long[] intervalles = new long[NB_FRAMES];
+	private final long[] updates = new long[NB_FRAMES];
+	private final int[] nbUpdates = new int[NB_FRAMES];
+	private final long[] rendus = new long[NB_FRAMES];
+	private final long[] presentations = new long[NB_FRAMES];
+	private final long[] panneaux = new long[NB_FRAMES];
+	private final long[][] couches = new long[NB_COUCHES][NB_FRAMES];
+	private final int[] tuilesDessinees = new int[NB_FRAMES];
+	private final int[] tuilesIgnorees = new int[NB_FRAMES];
+	private final long[] allocations = new long[NB_FRAMES]; // octets alloués par le thread de jeu (hors panneau)
+	private final int[] collectes = new int[NB_FRAMES];
+	private final long[] pausesGC = new long[NB_FRAMES]; // en ms (résolution des MXBeans)
+
+	private final HistogrammesSession session = new HistogrammesSession();
+	private final LatenceEntrees latences = new LatenceEntrees();
+	private final GarbageCollectorMXBean[] gcs;
+	private final com.sun.management.ThreadMXBean threads; // null si la mesure des allocations n'est pas disponible
+
+	private long nbFrames = 0L; // frames enregistrées depuis le lancement
+	private long totalCollectes = 0L, totalPausesGC = 0L;
+
+	// frame en cours
+	private long debutFrame = 0L, finDerniereFrame = 0L, finRendu = 0L, debutPanneau = 0L, panneauEnCours = 0L;
+	private long updatesEnCours = 0L;
+	private int nbUpdatesEnCours = 0;
+	private final long[] couchesEnCours = new long[NB_COUCHES];
+	private int dessineesEnCours = 0, ignoreesEnCours = 0;
+	private long allocDebut = 0L, allocPanneau = 0L, collectesPrec = 0L, pausesGCPrec = 0L;
+
+	/** Constructeur **/
+	public MesuresFrame() {
+		final List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+		gcs = beans.toArray(new GarbageCollectorMXBean[0]); // copie figée : pas d'itérateur à chaque frame
+
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean t = null;
+		if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+			if (!sun.isThreadAllocatedMemoryEnabled()) sun.setThreadAllocatedMemoryEnabled(true);
+			t = sun;
+		}
+		threads = t;
+		collectesPrec = lireCollectes();
+		pausesGCPrec = lirePausesGC();
+		allocDebut = lireAllocations();
+	}
+
+	/** Getters **/
+	public long getNbFrames() { return nbFrames; }
+	public HistogrammesSession getSession() { return session; }
+	public LatenceEntrees getLatences() { return latences; }
+	public boolean mesureAllocations() { return threads != null; }
+	public long getTotalCollectes() { return totalCollectes; }
+	public long getTotalPausesGCMs() { return totalPausesGC; }
+
+	/** Valeurs de la frame enregistrée il y a {@code age} frames (0 = la plus récente), age < {@link #NB_FRAMES} **/
+	public long getIntervalle(int age) { return intervalles[indice(age)]; }
+	public long getUpdates(int age) { return updates[indice(age)]; }
+	public int getNbUpdates(int age) { return nbUpdates[indice(age)]; }
+	public long getRendu(int age) { return rendus[indice(age)]; }
+	public long getPresentation(int age) { return presentations[indice(age)]; }
+	public long getPanneau(int age) { return panneaux[indice(age)]; }
+	public long getCouche(int couche, int age) { return couches[couche][indice(age)]; }
+	public int getTuilesDessinees(int age) { return tuilesDessinees[indice(age)]; }
+	public int getTuilesIgnorees(int age) { return tuilesIgnorees[indice(age)]; }
+	public long getAllocations(int age) { return allocations[indice(age)]; }
+	public int getCollectes(int age) { return collectes[indice(age)]; }
+	public long getPausesGCMs(int age) { return pausesGC[indice(age)]; }
+
+	/** Nombre de frames disponibles dans l'historique **/
+	public int getNbDisponibles() { return (int) Math.min(nbFrames, NB_FRAMES); }
+
+	private int indice(int age) { return (int) ((nbFrames - 1 - age) & MASQUE); }
+
+	/** Autres méthodes (thread de jeu uniquement, sans allocation) **/
+	/** Durée d'une update logique (UPS), rattachée à la prochaine frame **/
+	public void ajouterUpdate(long dureeNs) {
+		updatesEnCours += dureeNs;
+		session.getTicks().enregistrer(dureeNs);
+		nbUpdatesEnCours++;
+	}
+
+	public void debutFrame() { debutFrame = System.nanoTime(); }
+
+	/** Coût d'une couche du chipset : durée, tuiles dessinées et nombre de cases de la couche **/
+	public void couche(int couche, long dureeNs, int dessinees, int nbCases) {
+		couchesEnCours[couche] += dureeNs;
+		dessineesEnCours += dessinees;
+		ignoreesEnCours += nbCases - dessinees; // hors de la vue de la caméra ou vides
+	}
+
+	public void finRendu() { finRendu = System.nanoTime(); }
+
+	/** Encadre le dessin du panneau de performances, exclu du rendu et des allocations **/
+	public void debutPanneau() {
+		debutPanneau = System.nanoTime();
+		allocPanneau = lireAllocations();
+	}
+
+	public void finPanneau() {
+		final long fin = System.nanoTime();
+		allocPanneau = lireAllocations() - allocPanneau;
+		panneauEnCours = fin - debutPanneau;
+	}
+
+	/** Fin de la frame (après la présentation du tampon) : enregistre la frame dans les tampons circulaires **/
+	public void finFrame() {
+		final long fin = System.nanoTime();
+		final int i = (int) (nbFrames & MASQUE);
+
+		intervalles[i] = (finDerniereFrame == 0L) ? 0L : fin - finDerniereFrame;
+		updates[i] = updatesEnCours;
+		nbUpdates[i] = nbUpdatesEnCours;
+		rendus[i] = (finRendu >= debutFrame) ? finRendu - debutFrame : 0L;
+		panneaux[i] = panneauEnCours;
+		presentations[i] = Math.max(0L, fin - Math.max(finRendu, debutFrame) - panneauEnCours);
+		if (finDerniereFrame != 0L) session.getIntervalles().enregistrer(intervalles[i]);
+		latences.presentee(fin);
+		session.getRendus().enregistrer(rendus[i]);
+		for (int c = 0; c < NB_COUCHES; c++) { couches[c][i] = couchesEnCours[c]; couchesEnCours[c] = 0L; }
+		tuilesDessinees[i] = dessineesEnCours;
+		tuilesIgnorees[i] = ignoreesEnCours;
+
+		final long alloc = lireAllocations();
+		allocations[i] = Math.max(0L, alloc - allocDebut - allocPanneau);
+		allocDebut = alloc;
+
+		final long c = lireCollectes(), p = lirePausesGC();
+		collectes[i] = (int) (c - collectesPrec);
+		pausesGC[i] = p - pausesGCPrec;
+		totalCollectes += c - collectesPrec;
+		totalPausesGC += p - pausesGCPrec;
+		collectesPrec = c;
+		pausesGCPrec = p;
+
+		finDerniereFrame = fin;
+		updatesEnCours = 0L;
+		nbUpdatesEnCours = 0;
+		dessineesEnCours = ignoreesEnCours = 0;
+		allocPanneau = panneauEnCours = 0L;
+		nbFrames++;
+	}
+
+	private long lireAllocations() { return (threads == null) ? 0L : threads.getCurrentThreadAllocatedBytes(); }
+
+	private long lireCollectes() {
+		long total = 0L;
+		for (GarbageCollectorMXBean gc : gcs) total += Math.max(0L, gc.getCollectionCount());
+		return total;
+	}
+
+	private long lirePausesGC() {
+		long total = 0L;
+		for (GarbageCollectorMXBean gc : gcs) total += Math.max(0L, gc.getCollectionTime());
+		return total;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Panneau mémoire des ressources (touche F4) : totaux par catégorie, ressources les plus lourdes
+ * et ressources signalées (inutilisées ou en double) d'un {@link InventaireMemoire}.
+ *
+ * Les lignes sont composées une seule fois à la réception de l'inventaire : l'affichage ne fait que les dessiner.
+ */
+public final class PanneauMemoire {
+
+	private static final int NB_PLUS_GROSSES = 8, NB_SIGNALEES_MAX = 10;
+	private static final int MARGE = 8;
+	private static final Color FOND = new Color(0, 0, 0, 170);
+	private static final Color SIGNALEE = new Color(255, 150, 60);
+	private static final DateTimeFormatter FORMAT_HEURE = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+	private final Font police;
+	private final List<String> lignes = new ArrayList<>();
+	private int debutSignalees = Integer.MAX_VALUE; // indice de la première ligne signalée (affichée en orange)
+
+	/** Constructeur **/
+	public PanneauMemoire(Font police) {
+		this.police = Objects.requireNonNull(police, "Police null");
+	}
+
+	/** Setters **/
+	public void setInventaire(InventaireMemoire inventaire) {
+		Objects.requireNonNull(inventaire, "Inventaire null");
+		lignes.clear();
+		final List<InventaireMemoire.Entree> signalees = inventaire.getSignalees();
+		lignes.add(String.format(Locale.ROOT, "Mémoire des ressources : %d Ko  (%d ressources, instantané de %s)",
+			inventaire.getTotal() / 1024, inventaire.getEntrees().size(), inventaire.getDate().format(FORMAT_HEURE)));
+
+		final StringBuilder sb = new StringBuilder(128);
+		for (String categorie : InventaireMemoire.CATEGORIES) {
+			sb.append(sb.isEmpty() ? "" : "  ").append(categorie).append(' ').append(inventaire.getTotal(categorie) / 1024).append(" Ko");
+		}
+		lignes.add(sb.toString());
+
+		lignes.add("Plus lourdes :");
+		for (InventaireMemoire.Entree e : inventaire.getPlusGrosses(NB_PLUS_GROSSES)) {
+			lignes.add(String.format(Locale.ROOT, "  %-9s %-28s %7d Ko  %s", e.categorie(), e.nom(), e.octets() / 1024, e.detail()));
+		}
+
+		lignes.add("Signalées : " + signalees.size());
+		debutSignalees = lignes.size();
+		for (int i = 0; i < Math.min(NB_SIGNALEES_MAX, signalees.size()); i++) {
+			final InventaireMemoire.Entree e = signalees.get(i);
+			lignes.add(String.format(Locale.ROOT, "  %-9s %-28s %s", e.categorie(), e.nom(),
+				(e.doublonDe() != null) ? "doublon de " + e.doublonDe() : "inutilisée"));
+		}
+		if (signalees.size() > NB_SIGNALEES_MAX) lignes.add("  ... (détail complet : F2)");
+	}
+
+	/** Autres méthodes **/
+	/** Contenu affiché en attendant l'inventaire, établi hors du thread de jeu **/
+	public void attendreInventaire() {
+		lignes.clear();
+		lignes.add("Mémoire des ressources : inventaire en cours...");
+		debutSignalees = Integer.MAX_VALUE;
+	}
+
+	/** Dessine le panneau avec son coin supérieur droit en (xDroit, y) **/
+	public void afficher(Graphics g, int xDroit, int y) {
+		g.setFont(police);
+		final FontMetrics fm = g.getFontMetrics(police);
+		int largeur = 0;
+		for (String ligne : lignes) largeur = Math.max(largeur, fm.stringWidth(ligne));
+		largeur += 2 * MARGE;
+		final int x = xDroit - largeur;
+
+		g.setColor(FOND);
+		g.fillRect(x, y, largeur, lignes.size() * fm.getHeight() + 2 * MARGE);
+		int yTexte = y + MARGE + fm.getAscent();
+		for (int l = 0; l < lignes.size(); l++) {
+			g.setColor(l >= debutSignalees ? SIGNALEE : Color.WHITE);
+			g.drawString(lignes.get(l), x + MARGE, yTexte);
+			yTexte += fm.getHeight();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package perf;
+
+import audio.MetriquesAudio;
+import audio.Mixeur;
+import core.Config;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.util.Objects;
+
+/**
+ * Panneau de performances (touche F1) : graphe glissant des temps de frame et détail des mesures de {@link MesuresFrame}
+ * (update/rendu, coût par couche, tuiles, GC, allocations, état du thread audio, latence entrée → écran).
+ *
+ * Les textes sont recomposés tous les {@link #RAFRAICHISSEMENT_FRAMES} frames dans des tampons de caractères préalloués
+ * (pas de String.format à chaque frame) ; le graphe est tracé directement depuis les tampons circulaires.
+ */
+public final class PanneauPerf {
+
+	private static final int RAFRAICHISSEMENT_FRAMES = 15; // textes recalculés ~4 fois par seconde à 60 FPS
+	private static final int FENETRE_MOYENNE = 60; // frames prises en compte pour les moyennes
+	private static final int NB_LIGNES = 9, LONGUEUR_LIGNE = 120;
+	private static final int MARGE = 8, HAUTEUR_GRAPHE = 80;
+	private static final double PIXELS_PAR_MS = HAUTEUR_GRAPHE / 40.0; // graphe plafonné à 40 ms
+	private static final long NS_PAR_FRAME_CIBLE = 1_000_000_000L / Config.FPS;
+
+	private static final Color FOND = new Color(0, 0, 0, 170);
+	private static final Color INTERVALLE = new Color(120, 120, 120);
+	private static final Color INTERVALLE_DEPASSE = new Color(200, 40, 40);
+	private static final Color UPDATE = new Color(70, 130, 230);
+	private static final Color RENDU = new Color(60, 200, 90);
+	private static final Color CIBLE = new Color(255, 220, 0);
+
+	private final MesuresFrame mesures;
+	private final Font police;
+	private final char[][] lignes = new char[NB_LIGNES][LONGUEUR_LIGNE];
+	private final int[] longueurs = new int[NB_LIGNES];
+	private final StringBuilder sb = new StringBuilder(LONGUEUR_LIGNE * 2);
+	private long derniereComposition = -RAFRAICHISSEMENT_FRAMES;
+
+	/** Constructeur **/
+	public PanneauPerf(MesuresFrame mesures, Font police) {
+		this.mesures = Objects.requireNonNull(mesures, "Mesures null");
+		this.police = Objects.requireNonNull(police, "Police null");
+	}
+
+	/** Autres méthodes **/
+	/** Dessine le panneau en (x, y), coin supérieur gauche **/
+	public void afficher(Graphics g, int x, int y) {
+		if (mesures.getNbFrames() - derniereComposition >= RAFRAICHISSEMENT_FRAMES) {
+			composer();
+			derniereComposition = mesures.getNbFrames();
+		}
+
+		g.setFont(police);
+		final FontMetrics fm = g.getFontMetrics(police);
+		final int hauteurLigne = fm.getHeight();
+		int largeur = MesuresFrame.NB_FRAMES;
+		for (int l = 0; l < NB_LIGNES; l++) largeur = Math.max(largeur, fm.charsWidth(lignes[l], 0, longueurs[l]));
+		largeur += 2 * MARGE;
+		final int hauteur = HAUTEUR_GRAPHE + NB_LIGNES * hauteurLigne + 3 * MARGE;
+
+		g.setColor(FOND);
+		g.fillRect(x, y, largeur, hauteur);
+		graphe(g, x + MARGE, y + MARGE);
+
+		g.setColor(Color.WHITE);
+		int yTexte = y + 2 * MARGE + HAUTEUR_GRAPHE + fm.getAscent();
+		for (int l = 0; l < NB_LIGNES; l++) {
+			if (longueurs[l] > 0) g.drawChars(lignes[l], 0, longueurs[l], x + MARGE, yTexte);
+			yTexte += hauteurLigne;
+		}
+	}
+
+	/** Une colonne par frame (la plus récente à droite) : intervalle en gris (rouge au-delà de la cible), update + rendu empilés **/
+	private void graphe(Graphics g, int x, int y) {
+		final int bas = y + HAUTEUR_GRAPHE;
+		final int n = mesures.getNbDisponibles();
+		for (int age = 0; age < n; age++) {
+			final int colonne = x + MesuresFrame.NB_FRAMES - 1 - age;
+			final long intervalle = mesures.getIntervalle(age);
+			final int hIntervalle = hauteur(intervalle);
+			g.setColor(intervalle > NS_PAR_FRAME_CIBLE * 3 / 2 ? INTERVALLE_DEPASSE : INTERVALLE);
+			g.fillRect(colonne, bas - hIntervalle, 1, hIntervalle);
+
+			final int hUpdate = hauteur(mesures.getUpdates(age));
+			final int hRendu = Math.min(HAUTEUR_GRAPHE - hUpdate, hauteur(mesures.getRendu(age)));
+			g.setColor(UPDATE);
+			g.fillRect(colonne, bas - hUpdate, 1, hUpdate);
+			g.setColor(RENDU);
+			g.fillRect(colonne, bas - hUpdate - hRendu, 1, hRendu);
+		}
+		g.setColor(CIBLE);
+		final int yCible = bas - hauteur(NS_PAR_FRAME_CIBLE);
+		g.drawLine(x, yCible, x + MesuresFrame.NB_FRAMES - 1, yCible);
+	}
+
+	private static int hauteur(long nanos) { return (int) Math.min(HAUTEUR_GRAPHE, Math.round(nanos / 1e6 * PIXELS_PAR_MS)); }
+
+	/** Recompose les lignes de texte à partir des FENETRE_MOYENNE dernières frames (sans allocation) **/
+	private void composer() {
+		final int n = Math.min(FENETRE_MOYENNE, mesures.getNbDisponibles());
+		if (n == 0) return;
+
+		long sIntervalles = 0, maxIntervalle = 0, sUpdates = 0, sRendus = 0, sPresentations = 0, sPanneaux = 0, sAllocations = 0, sPausesGC = 0;
+		long sCouche0 = 0, sCouche1 = 0, sCouche2 = 0, sDessinees = 0, sIgnorees = 0;
+		int sNbUpdates = 0, sCollectes = 0;
+		for (int age = 0; age < n; age++) {
+			final long intervalle = mesures.getIntervalle(age);
+			sIntervalles += intervalle;
+			if (intervalle > maxIntervalle) maxIntervalle = intervalle;
+			sUpdates += mesures.getUpdates(age);
+			sNbUpdates += mesures.getNbUpdates(age);
+			sRendus += mesures.getRendu(age);
+			sPresentations += mesures.getPresentation(age);
+			sPanneaux += mesures.getPanneau(age);
+			sCouche0 += mesures.getCouche(0, age);
+			sCouche1 += mesures.getCouche(1, age);
+			sCouche2 += mesures.getCouche(2, age);
+			sDessinees += mesures.getTuilesDessinees(age);
+			sIgnorees += mesures.getTuilesIgnorees(age);
+			sAllocations += mesures.getAllocations(age);
+			sCollectes += mesures.getCollectes(age);
+			sPausesGC += mesures.getPausesGCMs(age);
+		}
+
+		sb.setLength(0);
+		sb.append("Frame : moy ");
+		ms(sIntervalles / n).append("  max ");
+		ms(maxIntervalle).append("  (");
+		sb.append(sIntervalles > 0 ? Math.round(n * 1e9 / sIntervalles) : 0).append(" fps)");
+		ligne(0);
+
+		sb.append("Update : ");
+		ms(sUpdates / n).append(" (").append(sNbUpdates).append(" ticks)  Rendu : ");
+		ms(sRendus / n).append("  Présentation : ");
+		ms(sPresentations / n);
+		ligne(1);
+
+		sb.append("Couches : 0 = ");
+		ms(sCouche0 / n).append("  1 = ");
+		ms(sCouche1 / n).append("  2 = ");
+		ms(sCouche2 / n);
+		ligne(2);
+
+		sb.append("Tuiles : ").append(sDessinees / n).append(" dessinées, ").append(sIgnorees / n).append(" ignorées (hors vue ou vides)");
+		ligne(3);
+
+		sb.append("GC : ").append(mesures.getTotalCollectes()).append(" collectes, ").append(mesures.getTotalPausesGCMs())
+			.append(" ms  (").append(n).append(" frames : ").append(sCollectes).append(", ").append(sPausesGC).append(" ms)");
+		ligne(4);
+
+		sb.append("Allocations (thread de jeu) : ");
+		if (!mesures.mesureAllocations()) sb.append("non mesurées");
+		else sb.append(sIntervalles > 0 ? Math.round(sAllocations * 1e9 / sIntervalles / 1024) : 0).append(" Ko/s");
+		ligne(5);
+
+		final Mixeur mixeur = Mixeur.getInstance();
+		final MetriquesAudio audio = mixeur.getMetriques();
+		final double taux = audio.getTauxRemplissage();
+		sb.append("Audio : ").append(mixeur.getNomSortie()).append(' ').append(mixeur.getEtatThread().name())
+			.append("  voix ").append(mixeur.getNbVoixActives()).append('/').append(mixeur.getNbVoix()).append("  tampon ");
+		if (taux < 0) sb.append('-');
+		else sb.append(Math.round(taux * 100)).append('%');
+		sb.append("  sous-alim. ").append(audio.getNbSousAlimentations()).append(" (musique ").append(audio.getNbSousAlimentationsMusique()).append(')');
+		ligne(6);
+
+		final Histogramme latences = mesures.getLatences().getHistogramme();
+		sb.append("Entrée -> écran : ");
+		if (latences == null || latences.getNb() == 0) sb.append("aucun appui mesuré");
+		else {
+			sb.append("p50 ");
+			ms(latences.getPercentile(50.0)).append("  p99 ");
+			ms(latences.getPercentile(99.0)).append("  max ");
+			ms(latences.getMax()).append("  (").append(latences.getNb()).append(" appuis)");
+		}
+		ligne(7);
+
+		sb.append("Panneau : ");
+		ms(sPanneaux / n).append(" (exclu des mesures)");
+		ligne(8);
+	}
+
+	/** Ajoute une durée en ms avec 2 décimales **/
+	private StringBuilder ms(long nanos) {
+		final long centiemes = (nanos + 5_000L) / 10_000L;
+		sb.append(centiemes / 100).append('.');
+		if (centiemes % 100 < 10) sb.append('0');
+		return sb.append(centiemes % 100).append(" ms");
+	}
+
+	private void ligne(int l) {
+		final int n = Math.min(sb.length(), LONGUEUR_LIGNE);
+		sb.getChars(0, n, lignes[l], 0);
+		longueurs[l] = n;
+		sb.setLength(0);
+	}
+}
\ No newline at end of file
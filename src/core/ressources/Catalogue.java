@@ -0,0 +1,35 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package ressources;
+
+import core.Bruitage;
+import core.Carte;
+import core.Chipset;
+import core.Musique;
+import core.Skin;
+
+/**
+ * Ressources déjà chargées auxquelles se réfèrent les fichiers de cartes et d'events (par leur nom) :
+ * le jeu, ou tout outil qui charge le monde sans fenêtre (bancs de mesure, tests de non-régression).
+ * null si la ressource est inconnue.
+ */
+public interface Catalogue {
+	Chipset getChipset(String nom);
+	Musique getMusique(String nom);
+	Bruitage getBruitage(String nom);
+	Skin getSkin(String nom);
+	Carte getCarte(String nom);
+}
\ No newline at end of file
@@ -16,20 +16,26 @@
 package ressources;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import core.Bruitage;
 import core.Carte;
 import core.Chipset;
-import core.Jeu;
+import core.Entites;
 import core.Musique;
-import java.io.FileReader;
+import core.Fichiers;
+import core.Skin;
+import core.SourceSonore;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
@@ -41,7 +47,13 @@ public final class ChargerCartes {
 	private ChargerCartes() { throw new AssertionError("La classe ChargerCartes ne doit pas être instanciée."); } // Empêche toute instanciation
 
 	/** Structure de données pour une carte **/
-	private record CarteData(String nomCarte, int largeur, int hauteur, String nomChipset, String nomMusique, int[][] c0, int[][] c1, int[][] c2, boolean[][] murs) {}
+	private record CarteData(String nomCarte, int largeur, int hauteur, String nomChipset, String nomMusique, int[][] c0, int[][] c1, int[][] c2, boolean[][] murs, List<SonData> sons, List<EntiteData> entites) {}
+
+	/** Source sonore ambiante (clé optionnelle "sons" : [{ "bruitage", "x", "y", "gain" }]) **/
+	private record SonData(String nomBruitage, int xCase, int yCase, float gain) {}
+
+	/** PNJ ou monstre (clé optionnelle "entites" : [{ "skin", "x", "y", "pv", "ia" }], ia : immobile, errance ou poursuite) **/
+	private record EntiteData(String nomSkin, int xCase, int yCase, int pv, Entites.IA ia) {}
 
 	private static final String DOSSIER = "cartes";
 	private static final Gson gson = new Gson();
@@ -50,12 +62,7 @@ public final class ChargerCartes {
 	private static List<CarteData> getCartes() {
 		final List<CarteData> cartes = new ArrayList<>();
 		try {
-			Path dossierCartes = Path.of(DOSSIER);
-			if (!Files.exists(dossierCartes)) return List.of();
-
-			try (DirectoryStream<Path> fichiers = Files.newDirectoryStream(dossierCartes, "*_BC.json")) {
-				for (Path fichier : fichiers) lireFichierJSON(fichier, cartes);
-			}
+			for (String fichier : Fichiers.lister(DOSSIER, "_BC.json")) lireFichierJSON(Path.of(fichier), cartes); // archive des ressources ou dossier
 		} catch (IOException e) { throw new IllegalArgumentException("[ERREUR] Lecture des fichiers de cartes : " + e.getMessage(), e); }
 
 		return cartes;
@@ -89,9 +96,9 @@ public final class ChargerCartes {
 
 	private static boolean[][] lireMurs(String nomCarte, int hauteur, int largeur) {
 		Path fichierME = Path.of(DOSSIER, nomCarte + "_ME.json");
-		if (!Files.exists(fichierME)) return new boolean[hauteur][largeur];
+		if (!Fichiers.existe(fichierME.toString())) return new boolean[hauteur][largeur];
 
-		try (FileReader reader = new FileReader(fichierME.toFile())) { // try-with-ressources
+		try (Reader reader = new InputStreamReader(Fichiers.ouvrir(fichierME.toString()), StandardCharsets.UTF_8)) { // try-with-ressources
 			JsonObject racine = JsonParser.parseReader(reader).getAsJsonObject();
 			final int[][] mursInt = verifierMatrice(gson.fromJson(racine.get("murs"), int[][].class), hauteur, largeur, nomCarte, "murs");
 			return convertirMurs(mursInt, hauteur, largeur);
@@ -101,6 +108,38 @@ public final class ChargerCartes {
 		}
 	}
 
+	private static List<SonData> lireSons(JsonObject racine, String nomCarte) {
+		if (!racine.has("sons")) return List.of();
+		final List<SonData> sons = new ArrayList<>();
+		for (JsonElement elem : racine.getAsJsonArray("sons")) {
+			JsonObject son = elem.getAsJsonObject();
+			if (!isStringKey(son, "bruitage") || !isIntKey(son, "x") || !isIntKey(son, "y")) {
+				throw new IllegalArgumentException("[ERREUR] " + nomCarte + " : source sonore incomplète (bruitage, x et y requis)");
+			}
+			final float gain = isIntKey(son, "gain") ? son.get("gain").getAsFloat() : 1f;
+			sons.add(new SonData(son.get("bruitage").getAsString(), son.get("x").getAsInt(), son.get("y").getAsInt(), gain));
+		}
+		return sons;
+	}
+
+	private static List<EntiteData> lireEntites(JsonObject racine, String nomCarte) {
+		if (!racine.has("entites")) return List.of();
+		final List<EntiteData> entites = new ArrayList<>();
+		for (JsonElement elem : racine.getAsJsonArray("entites")) {
+			JsonObject entite = elem.getAsJsonObject();
+			if (!isStringKey(entite, "skin") || !isIntKey(entite, "x") || !isIntKey(entite, "y") || !isIntKey(entite, "pv")) {
+				throw new IllegalArgumentException("[ERREUR] " + nomCarte + " : entité incomplète (skin, x, y et pv requis)");
+			}
+			Entites.IA ia = Entites.IA.IMMOBILE;
+			if (isStringKey(entite, "ia")) {
+				try { ia = Entites.IA.valueOf(entite.get("ia").getAsString().toUpperCase(Locale.ROOT)); }
+				catch (IllegalArgumentException e) { throw new IllegalArgumentException("[ERREUR] " + nomCarte + " : IA d'entité inconnue \"" + entite.get("ia").getAsString() + "\""); }
+			}
+			entites.add(new EntiteData(entite.get("skin").getAsString(), entite.get("x").getAsInt(), entite.get("y").getAsInt(), entite.get("pv").getAsInt(), ia));
+		}
+		return entites;
+	}
+
 	private static String extraireNomCarte(Path chemin, String suffixe) {
 		String nomFichier = chemin.getFileName().toString();
 		return nomFichier.endsWith(suffixe) ? nomFichier.substring(0, nomFichier.length() - suffixe.length()) : nomFichier;
@@ -126,7 +165,7 @@ public final class ChargerCartes {
 	private static void lireFichierJSON(Path chemin, List<CarteData> cartes) {
 		String nomCarte = extraireNomCarte(chemin, "_BC.json");
 
-		try (FileReader reader = new FileReader(chemin.toFile())) { // try-with-ressources
+		try (Reader reader = new InputStreamReader(Fichiers.ouvrir(chemin.toString()), StandardCharsets.UTF_8)) { // try-with-ressources
 			JsonObject racine = JsonParser.parseReader(reader).getAsJsonObject();
 
 			if (racine == null || !isIntKey(racine, "largeur") || !isIntKey(racine, "hauteur") || !isStringKey(racine, "chipset") || !isStringKey(racine, "musique")) {
@@ -142,31 +181,58 @@ public final class ChargerCartes {
 			final int[][] c1 = verifierMatrice(gson.fromJson(racine.get("couche1"), int[][].class), hauteur, largeur, nomCarte, "couche1");
 			final int[][] c2 = verifierMatrice(gson.fromJson(racine.get("couche2"), int[][].class), hauteur, largeur, nomCarte, "couche2");
 			final boolean[][] murs = lireMurs(nomCarte, hauteur, largeur);
+			final List<SonData> sons = lireSons(racine, nomCarte);
+			final List<EntiteData> entites = lireEntites(racine, nomCarte);
 
-			cartes.add(new CarteData(nomCarte, largeur, hauteur, nomChipset, nomMusique, c0, c1, c2, murs));
+			cartes.add(new CarteData(nomCarte, largeur, hauteur, nomChipset, nomMusique, c0, c1, c2, murs, sons, entites));
 
 		} catch (Exception e) {
 			System.err.println("[ERREUR] Fichier " + chemin.getFileName() + " : " + e.getMessage());
 		}
 	}
 
-	private static void ajouterCarte(CarteData elem, Map<String, Carte> cartes, Jeu jeu) {
-		final Chipset chipset = jeu.getChipset(elem.nomChipset);
+	private static void ajouterCarte(CarteData elem, Map<String, Carte> cartes, Catalogue catalogue) {
+		final Chipset chipset = catalogue.getChipset(elem.nomChipset);
 		if (chipset == null) throw new IllegalArgumentException("[ERREUR] Chipset \"" + elem.nomChipset + "\" introuvable pour la carte \"" + elem.nomCarte + "\"");
 
-		final Musique musique = jeu.getMusique(elem.nomMusique);
+		final Musique musique = catalogue.getMusique(elem.nomMusique);
 		if (musique == null) throw new IllegalArgumentException("[ERREUR] Musique \"" + elem.nomMusique + "\" introuvable pour la carte \"" + elem.nomCarte + "\"");
 
 		Carte carte = new Carte(elem.nomCarte, elem.largeur, elem.hauteur, chipset, musique, elem.c0, elem.c1, elem.c2, elem.murs);
+		for (SonData son : elem.sons) {
+			final Bruitage bruitage = catalogue.getBruitage(son.nomBruitage);
+			if (bruitage == null) throw new IllegalArgumentException("[ERREUR] Bruitage \"" + son.nomBruitage + "\" introuvable pour la carte \"" + elem.nomCarte + "\"");
+			carte.ajouterSourceSonore(new SourceSonore(bruitage, son.xCase, son.yCase, son.gain));
+		}
+		for (EntiteData entite : elem.entites) {
+			final Skin skin = catalogue.getSkin(entite.nomSkin);
+			if (skin == null) throw new IllegalArgumentException("[ERREUR] Skin \"" + entite.nomSkin + "\" introuvable pour la carte \"" + elem.nomCarte + "\"");
+			carte.ajouterEntite(skin, entite.xCase, entite.yCase, entite.pv, entite.ia);
+		}
 		cartes.put(elem.nomCarte, carte);
 	}
 
 	/** Getters **/
-	public static Map<String, Carte> get(Jeu jeu) {
-		Objects.requireNonNull(jeu, "Le jeu ne peut pas être null");
+	/** Charge une seule carte depuis ses fichiers (rechargement à chaud), sans ses events : null si le fichier est invalide **/
+	public static Carte charger(String nomCarte, Catalogue catalogue) {
+		Objects.requireNonNull(catalogue, "Le catalogue ne peut pas être null");
+		final Path fichierBC = Path.of(DOSSIER, nomCarte + "_BC.json");
+		if (!Fichiers.existe(fichierBC.toString())) return null;
+
+		final List<CarteData> dataCartes = new ArrayList<>(1);
+		lireFichierJSON(fichierBC, dataCartes);
+		if (dataCartes.isEmpty()) return null;
+
+		final Map<String, Carte> cartes = new HashMap<>(1);
+		ajouterCarte(dataCartes.get(0), cartes, catalogue);
+		return cartes.get(nomCarte);
+	}
+
+	public static Map<String, Carte> get(Catalogue catalogue) {
+		Objects.requireNonNull(catalogue, "Le catalogue ne peut pas être null");
 		final List<CarteData> dataCartes = getCartes();
 		final Map<String, Carte> cartes = new HashMap<>(dataCartes.size());
-		dataCartes.forEach(elem -> ajouterCarte(elem, cartes, jeu));
+		dataCartes.forEach(elem -> ajouterCarte(elem, cartes, catalogue));
 		return Map.copyOf(cartes);
 	}
 }
\ No newline at end of file
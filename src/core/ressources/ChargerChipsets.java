@@ -22,6 +22,7 @@ import java.util.HashMap;
 
 /**
  * Construit et retourne la map complète (nom -> chipset) des chipsets du jeu.
+ * Seul l'en-tête des images est lu ici : les tuiles sont décodées à la première activation d'une carte qui les utilise.
  */
 public final class ChargerChipsets {
 
@@ -20,12 +20,12 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import core.Carte;
-import core.Jeu;
 import events.*;
-import java.io.FileReader;
+import core.Fichiers;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,15 +44,10 @@ public final class ChargerEvents {
 	private static final String DOSSIER = "cartes";
 
 	/** Méthodes static **/
-	private static List<EventData> getEvents(Jeu jeu) {
+	private static List<EventData> getEvents(Catalogue catalogue) {
 		final List<EventData> events = new ArrayList<>();
 		try {
-			Path dossierCartes = Path.of(DOSSIER);
-			if (!Files.exists(dossierCartes)) return List.of();
-
-			try (DirectoryStream<Path> fichiers = Files.newDirectoryStream(dossierCartes, "*_ME.json")) {
-				for (Path fichier : fichiers) lireFichierJSON(fichier, jeu, events);
-			}
+			for (String fichier : Fichiers.lister(DOSSIER, "_ME.json")) lireFichierJSON(Path.of(fichier), catalogue, events); // archive des ressources ou dossier
 		} catch (IOException e) { throw new IllegalArgumentException("[ERREUR] Lecture des fichiers d'événements : " + e.getMessage(), e); }
 		return events;
 	}
@@ -80,8 +75,8 @@ public final class ChargerEvents {
 			&& obj.get(key).isJsonArray();
 	}
 
-	private static void lireFichierJSON(Path chemin, Jeu jeu, List<EventData> events) {
-		try (FileReader reader = new FileReader(chemin.toFile())) { // try-with-ressources
+	private static void lireFichierJSON(Path chemin, Catalogue catalogue, List<EventData> events) {
+		try (Reader reader = new InputStreamReader(Fichiers.ouvrir(chemin.toString()), StandardCharsets.UTF_8)) { // try-with-ressources
 			JsonObject racine = JsonParser.parseReader(reader).getAsJsonObject();
 			JsonArray ensemblesEvents = racine.getAsJsonArray("ensemblesEvents");
 			if (ensemblesEvents == null || ensemblesEvents.isEmpty()) return;
@@ -123,7 +118,7 @@ public final class ChargerEvents {
 							int xCaseDst = ev.get("xDst").getAsInt();
 							int yCaseDst = ev.get("yDst").getAsInt();
 							String nomCarteDst = ev.get("carteDst").getAsString();
-							events.add(new EventData(nomCarte, xCase, yCase, new Event_TP(xCaseDst, yCaseDst, jeu.getCarte(nomCarteDst))));
+							events.add(new EventData(nomCarte, xCase, yCase, new Event_TP(xCaseDst, yCaseDst, catalogue.getCarte(nomCarteDst))));
 						}
 						case "JouerMusique" -> {
 							if (!isStringKey(ev, "nom")) {
@@ -131,7 +126,7 @@ public final class ChargerEvents {
 								continue;
 							}
 							String nomMusique = ev.get("nom").getAsString();
-							events.add(new EventData(nomCarte, xCase, yCase, new Event_JM(jeu.getMusique(nomMusique))));
+							events.add(new EventData(nomCarte, xCase, yCase, new Event_JM(catalogue.getMusique(nomMusique))));
 						}
 						case "ArretMusique" -> events.add(new EventData(nomCarte, xCase, yCase, new Event_AM()));
 						case "PV" -> {
@@ -160,14 +155,26 @@ public final class ChargerEvents {
 		}
 	}
 
-	private static void ajouterEvent(EventData elem, Jeu jeu) {
-		Carte carte = jeu.getCarte(elem.nomCarte);
+	private static void ajouterEvent(EventData elem, Catalogue catalogue) {
+		Carte carte = catalogue.getCarte(elem.nomCarte);
 		if (carte == null) throw new IllegalArgumentException("[ERREUR] Carte introuvable : \"" +  elem.nomCarte + "\" pour y insérer un event");
 		carte.ajouterEvent(elem.xCase, elem.yCase, elem.event);
 	}
 
-	public static void inject(Jeu jeu) {
-		Objects.requireNonNull(jeu, "Le jeu ne peut pas être null");
-		getEvents(jeu).forEach(elem -> ajouterEvent(elem, jeu));
+	public static void inject(Catalogue catalogue) {
+		Objects.requireNonNull(catalogue, "Le catalogue ne peut pas être null");
+		getEvents(catalogue).forEach(elem -> ajouterEvent(elem, catalogue));
+	}
+
+	/** Injecte uniquement les events du fichier _ME.json de cette carte (rechargement à chaud d'une carte pas encore enregistrée dans le jeu) **/
+	public static void inject(Catalogue catalogue, Carte carte) {
+		Objects.requireNonNull(catalogue, "Le catalogue ne peut pas être null");
+		Objects.requireNonNull(carte, "La carte ne peut pas être null");
+		final Path fichier = Path.of(DOSSIER, carte.getNom() + "_ME.json");
+		if (!Fichiers.existe(fichier.toString())) return;
+
+		final List<EventData> events = new ArrayList<>();
+		lireFichierJSON(fichier, catalogue, events);
+		events.forEach(elem -> carte.ajouterEvent(elem.xCase, elem.yCase, elem.event));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+/**
+ * @author Alain Barbier alias "Metroidzeta"
+ * Copyright © 2025 Alain Barbier (Metroidzeta) - All rights reserved.
+ *
+ * This file is part of the project covered by the
+ * "Educational and Personal Use License / Licence d’Utilisation Personnelle et Éducative".
+ *
+ * Permission is granted to fork and use this code for educational and personal purposes only.
+ *
+ * Commercial use, redistribution, or public republishing of modified versions
+ * is strictly prohibited without the express written consent of the author.
+ *
+ * Created by Metroidzeta.
+ */
+
+package ressources;
+
+import core.Carte;
+import core.Fichiers;
+import core.Jeu;
+import perf.EvenementsJeu;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rechargement à chaud des cartes (mode développement, -Dslayers.dev=true).
+ *
+ * Un thread surveille le dossier "cartes" : à chaque sauvegarde d'un fichier X_BC.json ou X_ME.json,
+ * seule la carte X est relue et reconstruite (avec ses events) hors du thread de jeu.
+ * La nouvelle carte est ensuite échangée de façon atomique entre deux ticks par {@link #appliquer()}.
+ */
+public final class RechargeurCartes implements AutoCloseable {
+
+	private static final String DOSSIER = "cartes";
+	private static final long DELAI_REGROUPEMENT_MS = 10; // un éditeur émet souvent plusieurs événements par sauvegarde
+
+	/** Carte reconstruite, en attente d'échange au prochain tick **/
+	private record CartePrete(Carte carte, long debutNanos, long analyseNanos) {}
+
+	private final Jeu jeu;
+	private final WatchService surveillance;
+	private final Thread thread;
+	private final Queue<CartePrete> cartesPretes = new ConcurrentLinkedQueue<>();
+
+	/** Méthodes static **/
+	private static String extraireNomCarte(String nomFichier) {
+		if (nomFichier.endsWith("_BC.json")) return nomFichier.substring(0, nomFichier.length() - "_BC.json".length());
+		if (nomFichier.endsWith("_ME.json")) return nomFichier.substring(0, nomFichier.length() - "_ME.json".length());
+		return null;
+	}
+
+	/** Constructeur **/
+	public RechargeurCartes(Jeu jeu) {
+		this.jeu = Objects.requireNonNull(jeu, "Le jeu ne peut pas être null");
+		try {
+			surveillance = FileSystems.getDefault().newWatchService();
+			Fichiers.resoudre(DOSSIER).register(surveillance, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			throw new IllegalStateException("[ERREUR] Surveillance du dossier " + DOSSIER + " impossible : " + e.getMessage(), e);
+		}
+		thread = new Thread(this::surveiller, "Rechargeur-Cartes");
+		thread.setDaemon(true);
+		thread.start();
+		System.out.println("Mode développement : rechargement à chaud du dossier " + DOSSIER + " actif");
+	}
+
+	/** Autres méthodes **/
+	private void surveiller() {
+		try {
+			while (true) {
+				WatchKey cle = surveillance.take();
+				final long debut = System.nanoTime();
+				final Map<String, Boolean> cartesModifiees = new LinkedHashMap<>();
+				do { // regroupe les événements d'une même sauvegarde
+					for (WatchEvent<?> ev : cle.pollEvents()) {
+						if (ev.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+						String nomCarte = extraireNomCarte(((Path) ev.context()).getFileName().toString());
+						if (nomCarte != null) cartesModifiees.put(nomCarte, Boolean.TRUE);
+					}
+					cle.reset();
+				} while ((cle = surveillance.poll(DELAI_REGROUPEMENT_MS, TimeUnit.MILLISECONDS)) != null);
+
+				cartesModifiees.keySet().forEach(nomCarte -> reconstruire(nomCarte, debut));
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			Thread.currentThread().interrupt(); // arrêt du rechargeur
+		}
+	}
+
+	private void reconstruire(String nomCarte, long debut) {
+		try {
+			final long debutAnalyse = System.nanoTime();
+			final Carte carte = EvenementsJeu.chargement("carte " + nomCarte, () -> ChargerCartes.charger(nomCarte, jeu)); // seuls les fichiers de cette carte sont relus
+			if (carte == null) return; // fichier en cours d'écriture ou invalide : la prochaine sauvegarde relancera le rechargement
+			ChargerEvents.inject(jeu, carte);
+			cartesPretes.add(new CartePrete(carte, debut, System.nanoTime() - debutAnalyse));
+		} catch (Exception e) {
+			System.err.println("[ERREUR] Rechargement de la carte " + nomCarte + " : " + e.getMessage());
+		}
+	}
+
+	/** Échange les cartes reconstruites (à appeler depuis le thread de jeu, entre deux ticks) **/
+	public void appliquer() {
+		CartePrete prete;
+		while ((prete = cartesPretes.poll()) != null) {
+			jeu.remplacerCarte(prete.carte());
+			System.out.printf(Locale.ROOT, "Carte %s rechargée en %.1f ms (analyse : %.1f ms)%n",
+				prete.carte().getNom(), (System.nanoTime() - prete.debutNanos()) / 1e6, prete.analyseNanos() / 1e6);
+		}
+	}
+
+	@Override
+	public void close() {
+		try { surveillance.close(); } catch (IOException e) { System.err.println("[ERREUR] Fermeture de la surveillance : " + e.getMessage()); }
+		thread.interrupt();
+	}
+}
\ No newline at end of file